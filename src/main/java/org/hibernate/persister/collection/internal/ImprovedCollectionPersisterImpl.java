@@ -57,6 +57,8 @@ public class ImprovedCollectionPersisterImpl extends AbstractAttribute implement
 	private PluralAttributeIndex indexDescriptor;
 
 	private Table separateCollectionTable;
+	// "<table expression> as " for the collection table, pre-rendered for its TableBindings
+	private String separateCollectionTableReferenceFragment;
 
 	public ImprovedCollectionPersisterImpl(
 			JoinableAttributeContainer declaringType,
@@ -89,7 +91,7 @@ public class ImprovedCollectionPersisterImpl extends AbstractAttribute implement
 		else {
 			collectionTable = makeCollectionTable( databaseModel, this.persister.getTableName() );
 			this.separateCollectionTable = collectionTable;
-
+			this.separateCollectionTableReferenceFragment = collectionTable.getTableExpression() + " as ";
 		}
 
 		if ( persister.getIdentifierType() == null ) {
@@ -275,7 +277,13 @@ public class ImprovedCollectionPersisterImpl extends AbstractAttribute implement
 		fromClauseIndex.crossReference( sqmFrom, group );
 
 		if ( separateCollectionTable != null ) {
-			group.setRootTableBinding( new TableBinding( separateCollectionTable, group.getAliasBase() ) );
+			group.setRootTableBinding(
+					new TableBinding(
+							separateCollectionTable,
+							group.getAliasBase(),
+							separateCollectionTableReferenceFragment
+					)
+			);
 		}
 
 		if ( getElementReference() instanceof PluralAttributeElementEntity ) {
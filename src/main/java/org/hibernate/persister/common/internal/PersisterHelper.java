@@ -58,6 +58,8 @@ public class PersisterHelper {
 	private final Method subclassPropertyTableNumberMethod;
 	private final Method subclassPropertyColumnsMethod;
 	private final Method subclassPropertyFormulasMethod;
+	private final Method classOrSuperclassTableMethod;
+	private final Method nullableSubclassTableMethod;
 
 	/**
 	 * Singleton access
@@ -77,6 +79,12 @@ public class PersisterHelper {
 
 			subclassPropertyFormulasMethod = AbstractEntityPersister.class.getDeclaredMethod( "getSubclassPropertyFormulaTemplateClosure" );
 			subclassPropertyFormulasMethod.setAccessible( true );
+
+			classOrSuperclassTableMethod = AbstractEntityPersister.class.getDeclaredMethod( "isClassOrSuperclassTable", int.class );
+			classOrSuperclassTableMethod.setAccessible( true );
+
+			nullableSubclassTableMethod = AbstractEntityPersister.class.getDeclaredMethod( "isNullableSubclassTable", int.class );
+			nullableSubclassTableMethod.setAccessible( true );
 		}
 		catch (Exception e) {
 			throw new HibernateException( "Unable to initialize access to AbstractEntityPersister#getSubclassTableSpan", e );
@@ -119,6 +127,49 @@ public class PersisterHelper {
 		}
 	}
 
+	/**
+	 * Is the subclass table at the given position a table of the entity itself or one of
+	 * its super-types (as opposed to a table of one of its subclasses)?
+	 */
+	public boolean isClassOrSuperclassTable(EntityPersister persister, int subclassTableNumber) {
+		try {
+			return (Boolean) classOrSuperclassTableMethod.invoke( persister, subclassTableNumber );
+		}
+		catch (InvocationTargetException e) {
+			throw new HibernateException(
+					"Unable to access AbstractEntityPersister#isClassOrSuperclassTable [" + persister.toString() + "]",
+					e.getTargetException()
+			);
+		}
+		catch (Exception e) {
+			throw new HibernateException(
+					"Unable to access AbstractEntityPersister#isClassOrSuperclassTable [" + persister.toString() + "]",
+					e
+			);
+		}
+	}
+
+	/**
+	 * Is the subclass table at the given position optional (an optional secondary table)?
+	 */
+	public boolean isNullableSubclassTable(EntityPersister persister, int subclassTableNumber) {
+		try {
+			return (Boolean) nullableSubclassTableMethod.invoke( persister, subclassTableNumber );
+		}
+		catch (InvocationTargetException e) {
+			throw new HibernateException(
+					"Unable to access AbstractEntityPersister#isNullableSubclassTable [" + persister.toString() + "]",
+					e.getTargetException()
+			);
+		}
+		catch (Exception e) {
+			throw new HibernateException(
+					"Unable to access AbstractEntityPersister#isNullableSubclassTable [" + persister.toString() + "]",
+					e
+			);
+		}
+	}
+
 	public Table getPropertyTable(EntityPersister persister, String attributeName, Table[] tables) {
 		final String tableName = ( ( OuterJoinLoadable) persister ).getPropertyTableName( attributeName );
 		for ( Table table : tables ) {
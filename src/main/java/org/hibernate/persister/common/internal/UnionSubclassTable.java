@@ -8,7 +8,10 @@ package org.hibernate.persister.common.internal;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
@@ -23,13 +26,29 @@ public class UnionSubclassTable implements Table {
 	private final PhysicalTable physicalTable;
 	private final UnionSubclassTable superTable;
 
+	// the select for each concrete table making up the union query, keyed by table name (in union order)
+	private final Map<String,String> concreteTableSelects;
+	private final String unionSeparator;
+
+	/**
+	 * @param unionQuery The full union query
+	 * @param physicalTable The entity's own (physical) table
+	 * @param superTable The table of the super-entity, if one
+	 * @param concreteTableSelects The select against each concrete table making up the union query,
+	 * keyed by table name (in union order); empty if the entity has no subclasses
+	 * @param unionSeparator The separator between those selects, e.g. {@code " union all "}
+	 */
 	public UnionSubclassTable(
 			String unionQuery,
 			PhysicalTable physicalTable,
-			UnionSubclassTable superTable) {
+			UnionSubclassTable superTable,
+			Map<String,String> concreteTableSelects,
+			String unionSeparator) {
 		this.unionQuery = unionQuery;
 		this.physicalTable = physicalTable;
 		this.superTable = superTable;
+		this.concreteTableSelects = concreteTableSelects;
+		this.unionSeparator = unionSeparator;
 	}
 
 	@Override
@@ -37,6 +56,59 @@ public class UnionSubclassTable implements Table {
 		return unionQuery;
 	}
 
+	/**
+	 * Renders the table expression restricted to just the given concrete tables : a union of
+	 * the selects against those tables, or simply the physical table when only one remains
+	 * and the concrete type (the union's {@code clazz_} column) is not needed.
+	 *
+	 * @param concreteTableNames The names of the concrete tables in play, or {@code null} for all of them
+	 * @param concreteTypeRequired Whether the query refers to the {@code clazz_} column
+	 *
+	 * @return The (possibly restricted) table expression
+	 */
+	public String getTableExpression(Set<String> concreteTableNames, boolean concreteTypeRequired) {
+		if ( concreteTableNames == null || concreteTableNames.isEmpty() ) {
+			// nothing in play means we could not determine the concrete tables, use the full union
+			return unionQuery;
+		}
+
+		if ( concreteTableSelects.isEmpty() || concreteTableNames.containsAll( concreteTableSelects.keySet() ) ) {
+			return unionQuery;
+		}
+
+		final List<String> selects = new ArrayList<>();
+		String singleTableName = null;
+		for ( Map.Entry<String,String> entry : concreteTableSelects.entrySet() ) {
+			if ( concreteTableNames.contains( entry.getKey() ) ) {
+				selects.add( entry.getValue() );
+				singleTableName = entry.getKey();
+			}
+		}
+
+		if ( selects.isEmpty() ) {
+			return unionQuery;
+		}
+
+		if ( selects.size() == 1 && !concreteTypeRequired ) {
+			return singleTableName;
+		}
+
+		return "( " + String.join( unionSeparator, selects ) + " )";
+	}
+
+	/**
+	 * The names of the concrete tables making up this table's union query, in union order.  For
+	 * a union-subclass with no subclasses of its own this is just its physical table.
+	 *
+	 * @return The concrete table names
+	 */
+	public Set<String> getConcreteTableNames() {
+		if ( concreteTableSelects.isEmpty() ) {
+			return Collections.singleton( physicalTable.getTableExpression() );
+		}
+		return concreteTableSelects.keySet();
+	}
+
 	@Override
 	public PhysicalColumn makeColumn(String columnName, int jdbcType) {
 		if ( superTable != null ) {
@@ -116,6 +188,11 @@ public class UnionSubclassTable implements Table {
 			return true;
 		}
 
+		// the union selects every column of the subclass tables as well
+		if ( concreteTableSelects.containsKey( tableExpression ) ) {
+			return true;
+		}
+
 		if ( superTable != null ) {
 			return superTable.includes( tableExpression );
 		}
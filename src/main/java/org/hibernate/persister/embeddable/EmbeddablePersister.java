@@ -7,10 +7,10 @@
 package org.hibernate.persister.embeddable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.hibernate.persister.common.internal.CompositeContainer;
 import org.hibernate.persister.common.internal.DatabaseModel;
@@ -41,6 +41,7 @@ public class EmbeddablePersister
 
 	private final Map<String, AbstractAttribute> attributeMap = new HashMap<>();
 	private final List<AbstractAttribute> attributeList = new ArrayList<>();
+	private final List<Attribute> nonIdentifierAttributes;
 
 	public EmbeddablePersister(
 			CompositeContainer compositeContainer,
@@ -84,6 +85,8 @@ public class EmbeddablePersister
 
 			columnSpanStart = columnSpanEnd;
 		}
+
+		this.nonIdentifierAttributes = Collections.unmodifiableList( attributeList );
 	}
 
 	public List<Column> collectColumns() {
@@ -98,7 +101,7 @@ public class EmbeddablePersister
 
 	@Override
 	public List<Attribute> getNonIdentifierAttributes() {
-		return attributeList.stream().collect( Collectors.toList() );
+		return nonIdentifierAttributes;
 	}
 
 	@Override
@@ -7,15 +7,23 @@
 package org.hibernate.persister.entity.internal;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.hibernate.HibernateException;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.persister.common.internal.DatabaseModel;
@@ -63,6 +71,7 @@ import org.hibernate.sqm.query.JoinType;
 import org.hibernate.sqm.query.from.SqmFrom;
 import org.hibernate.type.BasicType;
 import org.hibernate.type.CompositeType;
+import org.hibernate.type.DiscriminatorType;
 import org.hibernate.type.ForeignKeyDirection;
 import org.hibernate.type.OneToOneType;
 
@@ -78,13 +87,28 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 
 	private Table[] tables;
 
+	// for each of the (non-root) tables, the JoinType used to join it into a TableGroup, or
+	// null if the table is a subclass table (only joined when needed)
+	private JoinType[] tableJoinTypes;
+	// "<table expression> as " for each of the tables, pre-rendered for the TableBindings
+	private String[] tableReferenceFragments;
+
 	private ImprovedEntityPersisterImpl superType;
 	private IdentifierDescriptor identifierDescriptor;
 	private RowIdDescriptor rowIdDescriptor;
 	private DiscriminatorDescriptor discriminatorDescriptor;
 
+	// the persisters for this entity and each of its subclasses, by discriminator value and by
+	// entity name; replaced by a (unmodifiable) copy as the persister of each subclass finishes
+	// its initialization (after this one) and not changed afterwards
+	private Map<Object, ImprovedEntityPersister> concreteTypesByDiscriminatorValue = Collections.emptyMap();
+	private Map<String, ImprovedEntityPersister> concreteTypesByEntityName = Collections.emptyMap();
+	private ImprovedEntityPersister notNullDiscriminatorConcreteType;
+
 	private final Map<String, AbstractAttribute> attributeMap = new HashMap<>();
 	private final List<AbstractAttribute> attributeList = new ArrayList<>();
+	// the attributes of the super types followed by our own; flattened once the attributes are built
+	private List<Attribute> nonIdentifierAttributes;
 
 	public ImprovedEntityPersisterImpl(EntityPersister persister) {
 		this.persister = persister;
@@ -139,7 +163,13 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 			//		this approach has one drawback - it forces us to duplicate the Column definition
 			//		in both sets of Tables for UnionSubclassEntityPersister to account for Column#getSourceTable
 			tables = new Table[1];
-			tables[0] = resolveUnionSubclassTables( this, databaseModel );
+			tables[0] = resolveUnionSubclassTables(
+					this,
+					(PersistentClass) typeSource,
+					databaseModel,
+					domainMetamodel.getSessionFactory()
+			);
+			tableJoinTypes = new JoinType[1];
 		}
 		else {
 			// for now we treat super, self and sub attributes here just as EntityPersister does
@@ -147,12 +177,26 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 			final int subclassTableCount = PersisterHelper.INSTANCE.extractSubclassTableCount( persister );
 			this.tables = new Table[subclassTableCount];
 
+			this.tableJoinTypes = new JoinType[subclassTableCount];
+
 			tables[0] = makeTableReference( databaseModel, queryable.getSubclassTableName( 0 ) );
 			for ( int i = 1; i < subclassTableCount; i++ ) {
 				tables[i] = makeTableReference( databaseModel, queryable.getSubclassTableName( i ) );
+				if ( PersisterHelper.INSTANCE.isClassOrSuperclassTable( persister, i ) ) {
+					// every row of this entity has a row in its own (and its super-types') tables,
+					// except for optional secondary tables
+					tableJoinTypes[i] = PersisterHelper.INSTANCE.isNullableSubclassTable( persister, i )
+							? JoinType.LEFT
+							: JoinType.INNER;
+				}
 			}
 		}
 
+		tableReferenceFragments = new String[tables.length];
+		for ( int i = 0; i < tables.length; i++ ) {
+			tableReferenceFragments[i] = tables[i].getTableExpression() + " as ";
+		}
+
 		final ImprovedEntityPersister rootEntityPersister = findRootEntityPersister();
 		if ( rootEntityPersister == null || rootEntityPersister == this ) {
 			final List<Column> idColumns = PersisterHelper.makeValues(
@@ -211,6 +255,7 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 
 		if ( loadable.getDiscriminatorType() != null ) {
 			this.discriminatorDescriptor = new DiscriminatorDescriptorImpl( this );
+			registerConcreteType( (PersistentClass) typeSource );
 		}
 
 //		final int fullAttributeCount = ( ojlPersister ).countSubclassProperties();
@@ -278,9 +323,109 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 			attributeList.add( attribute );
 		}
 
+		nonIdentifierAttributes = buildNonIdentifierAttributes();
+
 		initComplete = true;
 	}
 
+	/**
+	 * Register this persister with itself and each of its super types as the persister for
+	 * its discriminator value
+	 */
+	private void registerConcreteType(PersistentClass entityBinding) {
+		final boolean notNullDiscriminator = entityBinding.isDiscriminatorValueNotNull();
+		final Object discriminatorValue = notNullDiscriminator ? null : resolveDiscriminatorValue( entityBinding );
+
+		for ( ImprovedEntityPersisterImpl type = this; type != null; type = type.superType ) {
+			if ( type.discriminatorDescriptor == null ) {
+				break;
+			}
+
+			type.concreteTypesByEntityName = withConcreteType( type.concreteTypesByEntityName, getEntityName(), this );
+			if ( notNullDiscriminator ) {
+				type.notNullDiscriminatorConcreteType = this;
+			}
+			else if ( discriminatorValue != UNRESOLVED_DISCRIMINATOR_VALUE ) {
+				type.concreteTypesByDiscriminatorValue = withConcreteType(
+						type.concreteTypesByDiscriminatorValue,
+						discriminatorValue,
+						this
+				);
+			}
+		}
+	}
+
+	private static <K> Map<K, ImprovedEntityPersister> withConcreteType(
+			Map<K, ImprovedEntityPersister> concreteTypes,
+			K key,
+			ImprovedEntityPersister concreteType) {
+		final Map<K, ImprovedEntityPersister> copy = new HashMap<>( concreteTypes );
+		copy.put( key, concreteType );
+		return Collections.unmodifiableMap( copy );
+	}
+
+	private static final Object UNRESOLVED_DISCRIMINATOR_VALUE = new Object();
+
+	/**
+	 * Determine the value (as read from JDBC) of this entity's discriminator.  The legacy persisters
+	 * use either the explicit discriminator value or (for joined and union subclasses without one)
+	 * the subclass id - the candidate is verified against the legacy persister's own resolution
+	 */
+	private Object resolveDiscriminatorValue(PersistentClass entityBinding) {
+		if ( entityBinding.isDiscriminatorValueNull() ) {
+			return null;
+		}
+
+		final Loadable loadable = (Loadable) persister;
+
+		if ( entityBinding.getDiscriminatorValue() != null
+				&& loadable.getDiscriminatorType() instanceof DiscriminatorType ) {
+			try {
+				final Object value = ( (DiscriminatorType) loadable.getDiscriminatorType() ).stringToObject(
+						entityBinding.getDiscriminatorValue()
+				);
+				if ( getEntityName().equals( loadable.getSubclassForDiscriminatorValue( value ) ) ) {
+					return value;
+				}
+			}
+			catch (Exception ignore) {
+				// not the form of discriminator value used for this entity
+			}
+		}
+
+		final Integer subclassId = entityBinding.getSubclassId();
+		if ( getEntityName().equals( loadable.getSubclassForDiscriminatorValue( subclassId ) ) ) {
+			return subclassId;
+		}
+
+		log.debugf(
+				"Unable to determine discriminator value for entity [%s]; it will be resolved through its EntityPersister",
+				getEntityName()
+		);
+		return UNRESOLVED_DISCRIMINATOR_VALUE;
+	}
+
+	@Override
+	public ImprovedEntityPersister resolveConcreteEntityPersister(Object discriminatorValue) {
+		final ImprovedEntityPersister concreteType = concreteTypesByDiscriminatorValue.get( discriminatorValue );
+		if ( concreteType != null ) {
+			return concreteType;
+		}
+
+		if ( discriminatorValue != null && notNullDiscriminatorConcreteType != null ) {
+			return notNullDiscriminatorConcreteType;
+		}
+
+		// the value was not in the form expected (a String rather than Character e.g.)
+		final String entityName = ( (Loadable) persister ).getSubclassForDiscriminatorValue( discriminatorValue );
+		return entityName == null ? null : concreteTypesByEntityName.get( entityName );
+	}
+
+	@Override
+	public Collection<ImprovedEntityPersister> getConcreteEntityPersisters() {
+		return concreteTypesByEntityName.values();
+	}
+
 	@Override
 	public ImprovedEntityPersister getSuperEntityPersister() {
 		return superType;
@@ -298,7 +443,9 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 
 	private UnionSubclassTable resolveUnionSubclassTables(
 			ImprovedEntityPersisterImpl persister,
-			DatabaseModel databaseModel) {
+			PersistentClass entityBinding,
+			DatabaseModel databaseModel,
+			SessionFactoryImplementor factory) {
 		assert persister.getEntityPersister() instanceof UnionSubclassEntityPersister;
 
 		// UnionSubclassEntityPersister#getTableName returns the union query
@@ -308,16 +455,23 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 				( (UnionSubclassEntityPersister) persister.getEntityPersister() ).getRootTableName()
 		);
 
+		final Map<String,String> concreteTableSelects = buildConcreteTableSelects( entityBinding, factory );
+		final String unionSeparator = factory.getJdbcServices().getJdbcEnvironment().getDialect().supportsUnionAll()
+				? " union all "
+				: " union ";
+
 		if ( persister.superType == null ) {
 			// we have reached the root
-			return new UnionSubclassTable( unionQuery, physicalTable, null );
+			return new UnionSubclassTable( unionQuery, physicalTable, null, concreteTableSelects, unionSeparator );
 		}
 
 		if ( persister.superType .getEntityPersister()instanceof UnionSubclassEntityPersister ) {
 			return new UnionSubclassTable(
 					unionQuery,
 					physicalTable,
-					resolveUnionSubclassTables( persister.superType, databaseModel )
+					resolveUnionSubclassTables( persister.superType, entityBinding.getSuperclass(), databaseModel, factory ),
+					concreteTableSelects,
+					unionSeparator
 			);
 		}
 
@@ -327,6 +481,71 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 		);
 	}
 
+	/**
+	 * Builds the select against each concrete table making up the union query of the given
+	 * union-subclass entity, from its mapping : the same selects UnionSubclassEntityPersister
+	 * renders, selecting null for the columns a table does not have.
+	 *
+	 * @return The selects keyed by (physical) table name, in union order; empty if the entity
+	 * has no subclasses (and so no union query)
+	 */
+	private static Map<String,String> buildConcreteTableSelects(
+			PersistentClass entityBinding,
+			SessionFactoryImplementor factory) {
+		if ( !entityBinding.hasSubclasses() ) {
+			return Collections.emptyMap();
+		}
+
+		final Dialect dialect = factory.getJdbcServices().getJdbcEnvironment().getDialect();
+
+		// the columns of all of the tables, each selected by every one of the selects
+		final Set<org.hibernate.mapping.Column> columns = new LinkedHashSet<>();
+		final Iterator tableItr = entityBinding.getSubclassTableClosureIterator();
+		while ( tableItr.hasNext() ) {
+			final org.hibernate.mapping.Table table = (org.hibernate.mapping.Table) tableItr.next();
+			if ( !table.isAbstractUnionTable() ) {
+				final Iterator columnItr = table.getColumnIterator();
+				while ( columnItr.hasNext() ) {
+					columns.add( (org.hibernate.mapping.Column) columnItr.next() );
+				}
+			}
+		}
+
+		final List<PersistentClass> entityBindings = new ArrayList<>();
+		entityBindings.add( entityBinding );
+		final Iterator subclassItr = entityBinding.getSubclassIterator();
+		while ( subclassItr.hasNext() ) {
+			entityBindings.add( (PersistentClass) subclassItr.next() );
+		}
+
+		final Map<String,String> selects = new LinkedHashMap<>();
+		for ( PersistentClass concreteBinding : entityBindings ) {
+			final org.hibernate.mapping.Table table = concreteBinding.getTable();
+			if ( table.isAbstractUnionTable() ) {
+				continue;
+			}
+
+			// the name the persister uses for the table, and so the one used for its PhysicalTable
+			final String tableName = ( (UnionSubclassEntityPersister) factory.getMetamodel()
+					.entityPersister( concreteBinding.getEntityName() ) ).getRootTableName();
+
+			final StringBuilder select = new StringBuilder( "select " );
+			for ( org.hibernate.mapping.Column column : columns ) {
+				if ( !table.containsColumn( column ) ) {
+					select.append( dialect.getSelectClauseNullString( column.getSqlTypeCode( factory ) ) )
+							.append( " as " );
+				}
+				select.append( column.getQuotedName( dialect ) ).append( ", " );
+			}
+			select.append( concreteBinding.getSubclassId() )
+					.append( " as clazz_ from " )
+					.append( tableName );
+
+			selects.put( tableName, select.toString() );
+		}
+		return Collections.unmodifiableMap( selects );
+	}
+
 	private AbstractTable makeTableReference(DatabaseModel databaseModel, String tableExpression) {
 		if ( tableExpression.trim().startsWith( "select" ) || tableExpression.trim().contains( "( select" ) ) {
 			// fugly, but when moved into persister we would know from mapping metamodel which type.
@@ -369,22 +588,10 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 			SqlAliasBaseManager sqlAliasBaseManager,
 			FromClauseIndex fromClauseIndex) {
 
-		// todo : limit inclusion of subclass tables.
-		// 		we should only include subclass tables in very specific circumstances (such
-		// 		as handling persister reference in select clause, JPQL TYPE cast, subclass attribute
-		// 		de-reference, etc).  In other cases it is an unnecessary overhead to include those
-		// 		table joins
-		//
-		// however... the easiest way to accomplish this is during the SQM building to have each FromElement
-		//		keep track of all needed subclass references.  The problem is that that gets tricky with the
-		// 		design goal of having SQM be completely independent from ORM.  It basically means we will end
-		// 		up needing to expose more model and mapping information in the org.hibernate.sqm.domain.ModelMetadata
-		// 		contracts
-		//
-		// Another option would be to have exposed methods on TableSpecificationGroup to "register"
-		//		path dereferences as we interpret SQM.  The idea being that we'd capture the need for
-		//		certain subclasses as we interpret the SQM into SQL-AST via this registration.  However
-		//		since
+		// Only the tables of the entity itself and its super-types are joined up front.
+		//		The subclass tables are only joined once something refers to them (a subclass
+		//		attribute de-reference, selecting the entity which needs its concrete type, etc)
+		//		as the SQM is interpreted into SQL-AST - see EntityTableGroup#addDeferredTableJoin
 
 		final EntityTableGroup group = new EntityTableGroup(
 				tableSpace,
@@ -397,12 +604,28 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 		fromClauseIndex.crossReference( fromElement, group );
 
 
-		final TableBinding drivingTableBinding = new TableBinding( tables[0], group.getAliasBase() );
+		final TableBinding drivingTableBinding = new TableBinding( tables[0], group.getAliasBase(), tableReferenceFragments[0] );
 		group.setRootTableBinding( drivingTableBinding );
 
-		// todo : determine proper join type
-		JoinType joinType = JoinType.LEFT;
-		addNonRootTables( group, joinType, 0, drivingTableBinding );
+		for ( int i = 1; i < tables.length; i++ ) {
+			final TableBinding tableBinding = new TableBinding(
+					tables[i],
+					group.getAliasBase() + '_' + ( i - 1 ),
+					tableReferenceFragments[i]
+			);
+			if ( tableJoinTypes[i] == null ) {
+				group.addDeferredTableJoin( new TableJoin( JoinType.LEFT, tableBinding, null ) );
+			}
+			else {
+				group.addTableSpecificationJoin( new TableJoin( tableJoinTypes[i], tableBinding, null ) );
+			}
+		}
+
+		// a down-cast from-element (TREAT) only needs the rows of the subclass
+		if ( fromElement.getIntrinsicSubclassIndicator() instanceof ImprovedEntityPersister
+				&& fromElement.getIntrinsicSubclassIndicator() != this ) {
+			group.restrictToSubclass( (ImprovedEntityPersister) fromElement.getIntrinsicSubclassIndicator() );
+		}
 
 		return group;
 	}
@@ -415,7 +638,8 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 		for ( int i = 1; i < tables.length; i++ ) {
 			final TableBinding tableBinding = new TableBinding(
 					tables[i],
-					group.getAliasBase() + '_' + ( i + ( baseAdjust - 1 ) )
+					group.getAliasBase() + '_' + ( i + ( baseAdjust - 1 ) ),
+					tableReferenceFragments[i]
 			);
 			group.addTableSpecificationJoin( new TableJoin( joinType, tableBinding, null ) );
 		}
@@ -428,17 +652,24 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 
 	@Override
 	public List<Attribute> getNonIdentifierAttributes() {
-		final List<Attribute> rtn = new ArrayList<>();
-		collectNonIdentifierAttributes( rtn );
-		return rtn;
+		return nonIdentifierAttributes;
 	}
 
-	private void collectNonIdentifierAttributes(List<Attribute> list) {
-		if ( superType != null ) {
-			superType.collectNonIdentifierAttributes( list );
-		}
+	private List<Attribute> buildNonIdentifierAttributes() {
+		// the super type has always completed its initialization before ours
+		final List<Attribute> superAttributes = superType == null
+				? Collections.emptyList()
+				: superType.nonIdentifierAttributes;
 
-		list.addAll( attributeList );
+		final Attribute[] attributes = new Attribute[ superAttributes.size() + attributeList.size() ];
+		int i = 0;
+		for ( Attribute attribute : superAttributes ) {
+			attributes[i++] = attribute;
+		}
+		for ( Attribute attribute : attributeList ) {
+			attributes[i++] = attribute;
+		}
+		return Collections.unmodifiableList( Arrays.asList( attributes ) );
 	}
 
 	public void addTableJoins(
@@ -453,14 +684,14 @@ public class ImprovedEntityPersisterImpl implements ImprovedEntityPersister {
 			assert fkColumns == null && fkTargetColumns == null;
 
 			baseAdjust = 0;
-			drivingTableBinding = new TableBinding( tables[0], group.getAliasBase() );
+			drivingTableBinding = new TableBinding( tables[0], group.getAliasBase(), tableReferenceFragments[0] );
 			group.setRootTableBinding( drivingTableBinding );
 		}
 		else {
 			assert fkColumns.size() == fkTargetColumns.size();
 
 			baseAdjust = 1;
-			drivingTableBinding = new TableBinding( tables[0], group.getAliasBase() + '_' + 0 );
+			drivingTableBinding = new TableBinding( tables[0], group.getAliasBase() + '_' + 0, tableReferenceFragments[0] );
 
 			final Junction joinPredicate = new Junction( Junction.Nature.CONJUNCTION );
 			for ( int i = 0; i < fkColumns.size(); i++ ) {
@@ -6,6 +6,7 @@
  */
 package org.hibernate.persister.entity.spi;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.hibernate.persister.common.internal.CompositeContainer;
@@ -67,6 +68,23 @@ public interface ImprovedEntityPersister
 	DiscriminatorDescriptor getDiscriminatorDescriptor();
 	RowIdDescriptor getRowIdDescriptor();
 
+	/**
+	 * Resolve the persister for the concrete type (this entity or one of its subclasses)
+	 * identified by the given discriminator value.
+	 *
+	 * @return The persister, or {@code null} if the value does not identify this entity or
+	 * one of its subclasses
+	 */
+	ImprovedEntityPersister resolveConcreteEntityPersister(Object discriminatorValue);
+
+	/**
+	 * The persisters for the types (this entity and each of its subclasses) an instance of
+	 * this entity can be, as resolved by {@link #resolveConcreteEntityPersister}
+	 *
+	 * @return The persisters; empty if the entity has no discriminator
+	 */
+	Collection<ImprovedEntityPersister> getConcreteEntityPersisters();
+
 	@Override
 	EntityTableGroup buildTableGroup(
 			SqmFrom fromElement,
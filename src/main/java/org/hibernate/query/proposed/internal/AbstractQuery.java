@@ -60,6 +60,7 @@ import org.hibernate.query.proposed.QueryParameter;
 import org.hibernate.query.proposed.ResultListTransformer;
 import org.hibernate.query.proposed.TupleTransformer;
 import org.hibernate.query.proposed.TypedParameterValue;
+import org.hibernate.query.proposed.spi.CloseableIterator;
 import org.hibernate.query.proposed.spi.ExecutionContext;
 import org.hibernate.query.proposed.spi.MutableQueryOptions;
 import org.hibernate.query.proposed.spi.QueryImplementor;
@@ -1300,12 +1301,14 @@ public abstract class AbstractQuery<R> implements QueryImplementor<R> {
 	@Override
 	@SuppressWarnings("unchecked")
 	public Stream<R> stream() {
-		final ScrollableResultsImplementor scrollableResults = scroll( ScrollMode.FORWARD_ONLY );
-		final ScrollableResultsIterator<R> iterator = new ScrollableResultsIterator<>( scrollableResults );
+		// the iterator reads the rows lazily, so the stream is processed in constant memory
+		final Iterator<R> iterator = iterate();
 		final Spliterator<R> spliterator = Spliterators.spliteratorUnknownSize( iterator, Spliterator.NONNULL );
 
 		final Stream<R> stream = StreamSupport.stream( spliterator, false );
-		stream.onClose( scrollableResults::close );
+		if ( iterator instanceof CloseableIterator ) {
+			return stream.onClose( ( (CloseableIterator) iterator )::close );
+		}
 
 		return stream;
 	}
@@ -0,0 +1,194 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
+
+import org.hibernate.query.proposed.internal.sqm.AggregatedSelectQueryPlanImpl;
+import org.hibernate.query.proposed.internal.sqm.ConcreteSqmSelectQueryPlan;
+import org.hibernate.query.proposed.spi.NonSelectQueryPlan;
+import org.hibernate.query.proposed.spi.QueryInterpretations;
+import org.hibernate.query.proposed.spi.SelectQueryPlan;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Standard QueryInterpretations implementation.  Safe for concurrent use by
+ * many Sessions and bounded both in terms of number of entries and in terms of
+ * (estimated) weight of the cached plans.  Eviction follows a segmented-LRU
+ * policy - see {@link SegmentedLruCache}.
+ *
+ * @author Steve Ebersole
+ */
+public class QueryInterpretationsImpl implements QueryInterpretations {
+	private static final Logger log = Logger.getLogger( QueryInterpretationsImpl.class );
+
+	public static final int DEFAULT_MAX_ENTRIES = 2048;
+	// allows for an average plan selecting around a dozen columns from a few tables
+	public static final long DEFAULT_MAX_WEIGHT = 32768;
+	public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+	/**
+	 * The default estimation of a plan's weight, based on the size of the query it
+	 * interprets - see {@link ConcreteSqmSelectQueryPlan#getEstimatedWeight()}.  An
+	 * aggregated plan weighs as much as the concrete plans it aggregates.  Plans whose
+	 * size is not known (non-select plans, e.g.) weigh 1.
+	 */
+	public static final ToIntBiFunction<Key,Object> DEFAULT_WEIGHER = (key, plan) -> estimateWeight( plan );
+
+	private static int estimateWeight(Object plan) {
+		if ( plan instanceof ConcreteSqmSelectQueryPlan ) {
+			return ( (ConcreteSqmSelectQueryPlan) plan ).getEstimatedWeight();
+		}
+
+		if ( plan instanceof AggregatedSelectQueryPlanImpl ) {
+			int weight = 0;
+			for ( SelectQueryPlan aggregatedPlan : ( (AggregatedSelectQueryPlanImpl<?>) plan ).getAggregatedQueryPlans() ) {
+				weight += estimateWeight( aggregatedPlan );
+			}
+			return weight;
+		}
+
+		return 1;
+	}
+
+	private final SegmentedLruCache<Key,SelectQueryPlan> selectQueryPlanCache;
+	private final SegmentedLruCache<Key,NonSelectQueryPlan> nonSelectQueryPlanCache;
+
+	private final LongAdder planLoadCount = new LongAdder();
+	private final LongAdder planLoadTime = new LongAdder();
+
+	public QueryInterpretationsImpl() {
+		this( DEFAULT_MAX_ENTRIES, DEFAULT_MAX_WEIGHT );
+	}
+
+	public QueryInterpretationsImpl(int maxEntries, long maxWeight) {
+		this( maxEntries, maxWeight, DEFAULT_CONCURRENCY_LEVEL, DEFAULT_WEIGHER );
+	}
+
+	public QueryInterpretationsImpl(
+			int maxEntries,
+			long maxWeight,
+			int concurrencyLevel,
+			ToIntBiFunction<Key,Object> weigher) {
+		log.debugf(
+				"Building QueryInterpretations : max-entries = %s, max-weight = %s, concurrency-level = %s",
+				maxEntries,
+				maxWeight,
+				concurrencyLevel
+		);
+
+		this.selectQueryPlanCache = new SegmentedLruCache<>(
+				concurrencyLevel,
+				maxEntries,
+				maxWeight,
+				weigher::applyAsInt
+		);
+		this.nonSelectQueryPlanCache = new SegmentedLruCache<>(
+				concurrencyLevel,
+				maxEntries,
+				maxWeight,
+				weigher::applyAsInt
+		);
+	}
+
+	@Override
+	public SelectQueryPlan getSelectQueryPlan(Key key) {
+		return selectQueryPlanCache.get( key );
+	}
+
+	@Override
+	public void cacheSelectQueryPlan(Key key, SelectQueryPlan plan) {
+		selectQueryPlanCache.put( key, plan );
+	}
+
+	@Override
+	public NonSelectQueryPlan getNonSelectQueryPlan(Key key) {
+		return nonSelectQueryPlanCache.get( key );
+	}
+
+	@Override
+	public void cacheNonSelectQueryPlan(Key key, NonSelectQueryPlan plan) {
+		nonSelectQueryPlanCache.put( key, plan );
+	}
+
+	@Override
+	public SelectQueryPlan resolveSelectQueryPlan(Key key, Supplier<SelectQueryPlan> creator) {
+		SelectQueryPlan plan = getSelectQueryPlan( key );
+		if ( plan == null ) {
+			// NOTE : concurrent misses for the same key may each build the plan; the
+			// 		last one cached wins.  That is preferable to holding a lock while
+			// 		translating the query
+			plan = load( creator );
+			cacheSelectQueryPlan( key, plan );
+		}
+		return plan;
+	}
+
+	@Override
+	public NonSelectQueryPlan resolveNonSelectQueryPlan(Key key, Supplier<NonSelectQueryPlan> creator) {
+		NonSelectQueryPlan plan = getNonSelectQueryPlan( key );
+		if ( plan == null ) {
+			plan = load( creator );
+			cacheNonSelectQueryPlan( key, plan );
+		}
+		return plan;
+	}
+
+	private <P> P load(Supplier<P> creator) {
+		final long start = System.nanoTime();
+		try {
+			return creator.get();
+		}
+		finally {
+			planLoadCount.increment();
+			planLoadTime.add( System.nanoTime() - start );
+		}
+	}
+
+	public void clear() {
+		selectQueryPlanCache.clear();
+		nonSelectQueryPlanCache.clear();
+	}
+
+	public int getSize() {
+		return selectQueryPlanCache.size() + nonSelectQueryPlanCache.size();
+	}
+
+	public long getWeight() {
+		return selectQueryPlanCache.weight() + nonSelectQueryPlanCache.weight();
+	}
+
+	public long getHitCount() {
+		return selectQueryPlanCache.getHitCount() + nonSelectQueryPlanCache.getHitCount();
+	}
+
+	public long getMissCount() {
+		return selectQueryPlanCache.getMissCount() + nonSelectQueryPlanCache.getMissCount();
+	}
+
+	public long getEvictionCount() {
+		return selectQueryPlanCache.getEvictionCount() + nonSelectQueryPlanCache.getEvictionCount();
+	}
+
+	/**
+	 * The number of plans built via {@link #resolveSelectQueryPlan} / {@link #resolveNonSelectQueryPlan}
+	 */
+	public long getPlanLoadCount() {
+		return planLoadCount.sum();
+	}
+
+	/**
+	 * The total time, in nanoseconds, spent building plans via {@link #resolveSelectQueryPlan} /
+	 * {@link #resolveNonSelectQueryPlan}
+	 */
+	public long getTotalPlanLoadTime() {
+		return planLoadTime.sum();
+	}
+}
@@ -0,0 +1,26 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal;
+
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.query.proposed.internal.sqm.AggregatedQueryExecutorServiceInitiator;
+import org.hibernate.service.spi.ServiceContributor;
+import org.hibernate.sql.exec.internal.SqlAstSelectInterpreterFactoryResolverInitiator;
+
+/**
+ * Contributes the services used in executing queries (discovered through
+ * {@link java.util.ServiceLoader}).
+ *
+ * @author Steve Ebersole
+ */
+public class QueryServiceContributor implements ServiceContributor {
+	@Override
+	public void contribute(StandardServiceRegistryBuilder serviceRegistryBuilder) {
+		serviceRegistryBuilder.addInitiator( AggregatedQueryExecutorServiceInitiator.INSTANCE );
+		serviceRegistryBuilder.addInitiator( SqlAstSelectInterpreterFactoryResolverInitiator.INSTANCE );
+	}
+}
@@ -0,0 +1,283 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A bounded cache using a segmented-LRU (SLRU) eviction policy.  New entries
+ * enter a "probationary" segment and are only promoted to the "protected" segment
+ * once they are hit again, so that a burst of one-off entries cannot flush out the
+ * frequently used ones.
+ * <p/>
+ * The cache is split into a number of independently locked stripes (selected by
+ * key hash) to avoid serializing all access on a single lock.  Each stripe is bounded
+ * by its share of both the maximum number of entries and the maximum total weight.
+ *
+ * @author Steve Ebersole
+ */
+class SegmentedLruCache<K,V> {
+	// percentage of each stripe's capacity reserved for the protected segment
+	private static final int PROTECTED_PERCENTAGE = 80;
+
+	private final Stripe<K,V>[] stripes;
+	private final int stripeMask;
+	private final ToIntBiFunction<K,V> weigher;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+
+	@SuppressWarnings("unchecked")
+	SegmentedLruCache(int concurrencyLevel, int maxEntries, long maxWeight, ToIntBiFunction<K,V> weigher) {
+		if ( maxEntries <= 0 ) {
+			throw new IllegalArgumentException( "Maximum number of entries must be greater than zero" );
+		}
+		if ( maxWeight <= 0 ) {
+			throw new IllegalArgumentException( "Maximum weight must be greater than zero" );
+		}
+
+		// round the number of stripes up to a power of 2, but do not allow more stripes than entries
+		int stripeCount = 1;
+		while ( stripeCount < concurrencyLevel && stripeCount * 2 <= maxEntries ) {
+			stripeCount <<= 1;
+		}
+
+		this.stripes = new Stripe[stripeCount];
+		this.stripeMask = stripeCount - 1;
+		this.weigher = weigher;
+
+		final int entriesPerStripe = Math.max( 1, maxEntries / stripeCount );
+		final long weightPerStripe = Math.max( 1, maxWeight / stripeCount );
+		for ( int i = 0; i < stripeCount; i++ ) {
+			stripes[i] = new Stripe<>( entriesPerStripe, weightPerStripe );
+		}
+	}
+
+	private Stripe<K,V> stripeFor(Object key) {
+		// spread the hash bits, same as HashMap
+		final int hash = key.hashCode();
+		return stripes[ ( hash ^ ( hash >>> 16 ) ) & stripeMask ];
+	}
+
+	V get(K key) {
+		final V value = stripeFor( key ).get( key );
+		if ( value == null ) {
+			missCount.increment();
+		}
+		else {
+			hitCount.increment();
+		}
+		return value;
+	}
+
+	void put(K key, V value) {
+		final int weight = Math.max( 1, weigher.applyAsInt( key, value ) );
+		final int evicted = stripeFor( key ).put( key, value, weight );
+		if ( evicted > 0 ) {
+			evictionCount.add( evicted );
+		}
+	}
+
+	void clear() {
+		for ( Stripe<K,V> stripe : stripes ) {
+			stripe.clear();
+		}
+	}
+
+	int size() {
+		int size = 0;
+		for ( Stripe<K,V> stripe : stripes ) {
+			size += stripe.size();
+		}
+		return size;
+	}
+
+	long weight() {
+		long weight = 0;
+		for ( Stripe<K,V> stripe : stripes ) {
+			weight += stripe.weight();
+		}
+		return weight;
+	}
+
+	long getHitCount() {
+		return hitCount.sum();
+	}
+
+	long getMissCount() {
+		return missCount.sum();
+	}
+
+	long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	private static class Entry<V> {
+		private final V value;
+		private final int weight;
+
+		private Entry(V value, int weight) {
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	private static class Stripe<K,V> {
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private final int maxEntries;
+		private final long maxWeight;
+		private final int maxProtectedEntries;
+		private final long maxProtectedWeight;
+
+		// both maps are kept in access order; the eldest entry is the least recently used
+		private final LinkedHashMap<K,Entry<V>> probationary = new LinkedHashMap<>( 16, 0.75f, true );
+		private final LinkedHashMap<K,Entry<V>> protectedSegment = new LinkedHashMap<>( 16, 0.75f, true );
+
+		private long probationaryWeight;
+		private long protectedWeight;
+
+		private Stripe(int maxEntries, long maxWeight) {
+			this.maxEntries = maxEntries;
+			this.maxWeight = maxWeight;
+			this.maxProtectedEntries = Math.max( 1, maxEntries * PROTECTED_PERCENTAGE / 100 );
+			this.maxProtectedWeight = Math.max( 1, maxWeight * PROTECTED_PERCENTAGE / 100 );
+		}
+
+		private V get(K key) {
+			lock.lock();
+			try {
+				Entry<V> entry = protectedSegment.get( key );
+				if ( entry != null ) {
+					return entry.value;
+				}
+
+				entry = probationary.remove( key );
+				if ( entry == null ) {
+					return null;
+				}
+
+				// second hit : promote to the protected segment
+				probationaryWeight -= entry.weight;
+				protectedSegment.put( key, entry );
+				protectedWeight += entry.weight;
+				demoteProtectedOverflow();
+
+				return entry.value;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private int put(K key, V value, int weight) {
+			lock.lock();
+			try {
+				final Entry<V> entry = new Entry<>( value, weight );
+
+				final Entry<V> existingProtected = protectedSegment.get( key );
+				if ( existingProtected != null ) {
+					protectedSegment.put( key, entry );
+					protectedWeight += weight - existingProtected.weight;
+					demoteProtectedOverflow();
+				}
+				else {
+					final Entry<V> existingProbationary = probationary.put( key, entry );
+					probationaryWeight += weight;
+					if ( existingProbationary != null ) {
+						probationaryWeight -= existingProbationary.weight;
+					}
+				}
+
+				return evictOverflow();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private void demoteProtectedOverflow() {
+			// the eldest protected entries get another chance in the probationary segment
+			final Iterator<Map.Entry<K,Entry<V>>> itr = protectedSegment.entrySet().iterator();
+			while ( itr.hasNext()
+					&& ( protectedSegment.size() > maxProtectedEntries || protectedWeight > maxProtectedWeight ) ) {
+				final Map.Entry<K,Entry<V>> eldest = itr.next();
+				itr.remove();
+				protectedWeight -= eldest.getValue().weight;
+				probationary.put( eldest.getKey(), eldest.getValue() );
+				probationaryWeight += eldest.getValue().weight;
+			}
+		}
+
+		private int evictOverflow() {
+			int evicted = 0;
+
+			final Iterator<Map.Entry<K,Entry<V>>> itr = probationary.entrySet().iterator();
+			while ( itr.hasNext() && isOverflowing() ) {
+				final Map.Entry<K,Entry<V>> eldest = itr.next();
+				itr.remove();
+				probationaryWeight -= eldest.getValue().weight;
+				evicted++;
+			}
+
+			// only possible when a single entry outweighs the probationary allowance
+			final Iterator<Map.Entry<K,Entry<V>>> protectedItr = protectedSegment.entrySet().iterator();
+			while ( protectedItr.hasNext() && isOverflowing() ) {
+				final Map.Entry<K,Entry<V>> eldest = protectedItr.next();
+				protectedItr.remove();
+				protectedWeight -= eldest.getValue().weight;
+				evicted++;
+			}
+
+			return evicted;
+		}
+
+		private boolean isOverflowing() {
+			return probationary.size() + protectedSegment.size() > maxEntries
+					|| probationaryWeight + protectedWeight > maxWeight;
+		}
+
+		private void clear() {
+			lock.lock();
+			try {
+				probationary.clear();
+				protectedSegment.clear();
+				probationaryWeight = 0;
+				protectedWeight = 0;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private int size() {
+			lock.lock();
+			try {
+				return probationary.size() + protectedSegment.size();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private long weight() {
+			lock.lock();
+			try {
+				return probationaryWeight + protectedWeight;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal.sqm;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.HibernateException;
+import org.hibernate.service.Service;
+import org.hibernate.service.spi.Stoppable;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Service providing the threads used to execute the sub-plans of an
+ * {@link AggregatedSelectQueryPlanImpl} concurrently (see
+ * {@link AggregatedSelectQueryPlanImpl#PARALLEL_EXECUTION}).
+ * <p/>
+ * The number of threads is bounded (see {@link #MAX_THREADS}); sub-plans submitted
+ * while all threads are busy wait for one to become available.  The threads spend
+ * most of their time blocked on JDBC, so this is not a good fit for the common
+ * ForkJoinPool.  The threads are only started when first needed, and are stopped
+ * along with the ServiceRegistry - i.e. when the SessionFactory is closed.
+ *
+ * @author Steve Ebersole
+ */
+public class AggregatedQueryExecutorService implements Service, Stoppable {
+	private static final Logger log = Logger.getLogger( AggregatedQueryExecutorService.class );
+
+	/**
+	 * Setting for the maximum number of threads used to execute sub-plans concurrently.
+	 * Each of those threads holds a Connection while executing its sub-plan.
+	 */
+	public static final String MAX_THREADS = "hibernate.query.aggregated_plan.max_threads";
+
+	public static final int DEFAULT_MAX_THREADS = 4;
+
+	private final int maxThreads;
+
+	private ThreadPoolExecutor executor;
+	private boolean stopped;
+
+	public AggregatedQueryExecutorService(int maxThreads) {
+		if ( maxThreads < 1 ) {
+			throw new HibernateException( "Invalid value for " + MAX_THREADS + " [" + maxThreads + "]; must be positive" );
+		}
+		this.maxThreads = maxThreads;
+	}
+
+	public int getMaxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * Access to the ExecutorService, starting it if needed
+	 *
+	 * @throws HibernateException if the service has already been stopped
+	 */
+	public synchronized ExecutorService getExecutor() {
+		if ( stopped ) {
+			throw new HibernateException( "AggregatedQueryExecutorService has been stopped" );
+		}
+
+		if ( executor == null ) {
+			log.debugf( "Starting executor for aggregated query plans (max threads : %s)", maxThreads );
+
+			final AtomicInteger counter = new AtomicInteger();
+			executor = new ThreadPoolExecutor(
+					maxThreads,
+					maxThreads,
+					60L,
+					TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(),
+					runnable -> {
+						final Thread thread = new Thread( runnable, "hibernate-aggregated-query-" + counter.incrementAndGet() );
+						thread.setDaemon( true );
+						return thread;
+					}
+			);
+			// let the threads die off when not in use
+			executor.allowCoreThreadTimeOut( true );
+		}
+
+		return executor;
+	}
+
+	@Override
+	public synchronized void stop() {
+		stopped = true;
+
+		if ( executor != null ) {
+			log.debugf( "Stopping executor for aggregated query plans" );
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal.sqm;
+
+import java.util.Map;
+
+import org.hibernate.boot.registry.StandardServiceInitiator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+
+/**
+ * Initiator for the {@link AggregatedQueryExecutorService}
+ *
+ * @author Steve Ebersole
+ */
+public class AggregatedQueryExecutorServiceInitiator implements StandardServiceInitiator<AggregatedQueryExecutorService> {
+	/**
+	 * Singleton access
+	 */
+	public static final AggregatedQueryExecutorServiceInitiator INSTANCE = new AggregatedQueryExecutorServiceInitiator();
+
+	@Override
+	public Class<AggregatedQueryExecutorService> getServiceInitiated() {
+		return AggregatedQueryExecutorService.class;
+	}
+
+	@Override
+	public AggregatedQueryExecutorService initiateService(Map configurationValues, ServiceRegistryImplementor registry) {
+		return new AggregatedQueryExecutorService(
+				ConfigurationHelper.getInt(
+						AggregatedQueryExecutorService.MAX_THREADS,
+						configurationValues,
+						AggregatedQueryExecutorService.DEFAULT_MAX_THREADS
+				)
+		);
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal.sqm;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+import org.hibernate.query.proposed.spi.CloseableIterator;
+
+/**
+ * Streams the results of the sub-plans of an {@link AggregatedSelectQueryPlanImpl},
+ * one sub-plan after another in order.  A sub-plan is only executed once the results
+ * of the previous one have been exhausted, so at most one sub-plan's cursor is open
+ * at any time.
+ *
+ * @author Steve Ebersole
+ */
+class AggregatedResultsIterator<R> implements CloseableIterator<R> {
+	private final int numberOfSubPlans;
+	private final IntFunction<Iterator<R>> subPlanExecutor;
+
+	private int currentSubPlan = -1;
+	private Iterator<R> currentIterator;
+	private boolean closed;
+
+	/**
+	 * @param numberOfSubPlans The number of sub-plans
+	 * @param subPlanExecutor Executes the sub-plan at the given index, returning its results
+	 */
+	AggregatedResultsIterator(int numberOfSubPlans, IntFunction<Iterator<R>> subPlanExecutor) {
+		this.numberOfSubPlans = numberOfSubPlans;
+		this.subPlanExecutor = subPlanExecutor;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ( closed ) {
+			return false;
+		}
+
+		while ( currentIterator == null || !currentIterator.hasNext() ) {
+			closeCurrentIterator();
+
+			currentSubPlan++;
+			if ( currentSubPlan >= numberOfSubPlans ) {
+				closed = true;
+				return false;
+			}
+			currentIterator = subPlanExecutor.apply( currentSubPlan );
+		}
+
+		return true;
+	}
+
+	@Override
+	public R next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException();
+		}
+		return currentIterator.next();
+	}
+
+	@Override
+	public void close() {
+		if ( closed ) {
+			return;
+		}
+		closed = true;
+		closeCurrentIterator();
+	}
+
+	private void closeCurrentIterator() {
+		if ( currentIterator instanceof CloseableIterator ) {
+			( (CloseableIterator) currentIterator ).close();
+		}
+		currentIterator = null;
+	}
+}
@@ -0,0 +1,309 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal.sqm;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.query.proposed.spi.CloseableIterator;
+import org.hibernate.query.proposed.spi.ScrollableResultsImplementor;
+import org.hibernate.type.Type;
+
+/**
+ * ScrollableResults over the (merged) results of the sub-plans of an
+ * {@link AggregatedSelectQueryPlanImpl}, i.e. the same results returned by
+ * {@link AggregatedSelectQueryPlanImpl#performIterate}.  Rows are only read from
+ * those results as the cursor is advanced.
+ * <p/>
+ * For {@link ScrollMode#FORWARD_ONLY} no rows are retained and an attempt to move
+ * backwards is an error, as it would be for a forward-only JDBC ResultSet.  Otherwise
+ * the rows read so far are retained so that the cursor can be positioned anywhere
+ * within them.
+ *
+ * @author Steve Ebersole
+ */
+class AggregatedScrollableResults<R> implements ScrollableResultsImplementor {
+	private final CloseableIterator<R> results;
+	private final int numberOfTypes;
+
+	// the rows read so far, or null if forward-only
+	private final List<R> rows;
+
+	private int rowsRead;
+	private int position = -1;
+	private boolean onRow;
+	private R currentRow;
+	private boolean closed;
+
+	AggregatedScrollableResults(CloseableIterator<R> results, int numberOfTypes, ScrollMode scrollMode) {
+		this.results = results;
+		this.numberOfTypes = numberOfTypes;
+		this.rows = scrollMode == ScrollMode.FORWARD_ONLY ? null : new ArrayList<>();
+	}
+
+	@Override
+	public boolean isClosed() {
+		return closed;
+	}
+
+	@Override
+	public int getNumberOfTypes() {
+		return numberOfTypes;
+	}
+
+	@Override
+	public void close() {
+		if ( !closed ) {
+			closed = true;
+			results.close();
+		}
+	}
+
+	@Override
+	public boolean next() {
+		return moveTo( position + 1 );
+	}
+
+	@Override
+	public boolean previous() {
+		return moveTo( position - 1 );
+	}
+
+	@Override
+	public boolean scroll(int positions) {
+		return moveTo( position + positions );
+	}
+
+	@Override
+	public boolean first() {
+		return moveTo( 0 );
+	}
+
+	@Override
+	public boolean last() {
+		readRemainingRows();
+		return moveTo( rowsRead - 1 );
+	}
+
+	@Override
+	public void beforeFirst() {
+		moveTo( -1 );
+	}
+
+	@Override
+	public void afterLast() {
+		readRemainingRows();
+		moveTo( rowsRead );
+	}
+
+	@Override
+	public boolean isFirst() {
+		return onRow && position == 0;
+	}
+
+	@Override
+	public boolean isLast() {
+		return onRow && position == rowsRead - 1 && !results.hasNext();
+	}
+
+	@Override
+	public int getRowNumber() {
+		return onRow ? position : -1;
+	}
+
+	@Override
+	public boolean setRowNumber(int rowNumber) {
+		if ( rowNumber >= 0 ) {
+			return moveTo( rowNumber );
+		}
+
+		// relative to the end; -1 is the last row
+		readRemainingRows();
+		return moveTo( rowsRead + rowNumber );
+	}
+
+	private boolean moveTo(int target) {
+		errorIfClosed();
+
+		target = Math.max( target, -1 );
+		if ( rows == null && target < position ) {
+			throw new HibernateException( "Cannot move backwards within forward-only ScrollableResults" );
+		}
+
+		while ( rowsRead <= target && results.hasNext() ) {
+			readRow();
+		}
+
+		if ( target >= 0 && target < rowsRead ) {
+			position = target;
+			onRow = true;
+			if ( rows != null ) {
+				currentRow = rows.get( target );
+			}
+			return true;
+		}
+
+		// before the first or after the last row
+		position = target < 0 ? -1 : rowsRead;
+		onRow = false;
+		currentRow = null;
+		return false;
+	}
+
+	private void readRemainingRows() {
+		errorIfClosed();
+		while ( results.hasNext() ) {
+			readRow();
+		}
+	}
+
+	private void readRow() {
+		final R row = results.next();
+		rowsRead++;
+		if ( rows != null ) {
+			rows.add( row );
+		}
+		else {
+			currentRow = row;
+		}
+	}
+
+	private void errorIfClosed() {
+		if ( closed ) {
+			throw new HibernateException( "ScrollableResults is closed" );
+		}
+	}
+
+	@Override
+	public Object[] get() {
+		errorIfClosed();
+		if ( !onRow ) {
+			throw new HibernateException( "ScrollableResults is not positioned on a row" );
+		}
+
+		if ( numberOfTypes > 1 && currentRow instanceof Object[] ) {
+			return (Object[]) currentRow;
+		}
+		return new Object[] { currentRow };
+	}
+
+	@Override
+	public Object get(int col) {
+		return get()[col];
+	}
+
+	@Override
+	public Type getType(int col) {
+		// the Types are not known here, only the (transformed) results of the sub-plans
+		throw new UnsupportedOperationException( "Types are not available for the results of an aggregated query" );
+	}
+
+	@Override
+	public Integer getInteger(int col) {
+		return (Integer) get( col );
+	}
+
+	@Override
+	public Long getLong(int col) {
+		return (Long) get( col );
+	}
+
+	@Override
+	public Float getFloat(int col) {
+		return (Float) get( col );
+	}
+
+	@Override
+	public Boolean getBoolean(int col) {
+		return (Boolean) get( col );
+	}
+
+	@Override
+	public Double getDouble(int col) {
+		return (Double) get( col );
+	}
+
+	@Override
+	public Short getShort(int col) {
+		return (Short) get( col );
+	}
+
+	@Override
+	public Byte getByte(int col) {
+		return (Byte) get( col );
+	}
+
+	@Override
+	public Character getCharacter(int col) {
+		return (Character) get( col );
+	}
+
+	@Override
+	public byte[] getBinary(int col) {
+		return (byte[]) get( col );
+	}
+
+	@Override
+	public String getText(int col) {
+		return (String) get( col );
+	}
+
+	@Override
+	public Blob getBlob(int col) {
+		return (Blob) get( col );
+	}
+
+	@Override
+	public Clob getClob(int col) {
+		return (Clob) get( col );
+	}
+
+	@Override
+	public String getString(int col) {
+		return (String) get( col );
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(int col) {
+		return (BigDecimal) get( col );
+	}
+
+	@Override
+	public BigInteger getBigInteger(int col) {
+		return (BigInteger) get( col );
+	}
+
+	@Override
+	public Date getDate(int col) {
+		return (Date) get( col );
+	}
+
+	@Override
+	public Locale getLocale(int col) {
+		return (Locale) get( col );
+	}
+
+	@Override
+	public Calendar getCalendar(int col) {
+		return (Calendar) get( col );
+	}
+
+	@Override
+	public TimeZone getTimeZone(int col) {
+		return (TimeZone) get( col );
+	}
+}
@@ -7,25 +7,81 @@
 package org.hibernate.query.proposed.internal.sqm;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.HibernateException;
+import org.hibernate.LockOptions;
 import org.hibernate.ScrollMode;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.query.spi.EntityGraphQueryHint;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.proposed.Limit;
 import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.ResultListTransformer;
+import org.hibernate.query.proposed.TupleTransformer;
+import org.hibernate.query.proposed.spi.CloseableIterator;
 import org.hibernate.query.proposed.spi.ExecutionContext;
 import org.hibernate.query.proposed.spi.QueryParameterBindings;
 import org.hibernate.query.proposed.spi.ScrollableResultsImplementor;
 import org.hibernate.query.proposed.spi.SelectQueryPlan;
 
+import org.jboss.logging.Logger;
+
 /**
+ * SelectQueryPlan for a (polymorphic) query which was split into multiple concrete
+ * queries, aggregating the results of the plans for each of those concrete queries.
+ * <p/>
+ * The sub-plans are normally executed one after another.  When enabled (see
+ * {@link #PARALLEL_EXECUTION}) the sub-plans of a list query are instead executed
+ * concurrently, each using its own StatelessSession (and therefore its own Connection),
+ * using the threads of the {@link AggregatedQueryExecutorService}.
+ * That is only done when:<ul>
+ *     <li>the Session is a StatelessSession or the query is read-only</li>
+ *     <li>there is no transaction in progress - the separate Connections would not see
+ *     any changes made, but not yet committed, in the current transaction</li>
+ * </ul>
+ * Note that entities returned from sub-plans executed concurrently are loaded by those
+ * StatelessSessions and are not associated with the Session.
+ * <p/>
+ * When the query is ordered, the (ordered) results of the sub-plans are merged based
+ * on the values of the sort expressions, provided those can be compared the same way
+ * the database ordered them (see {@link SortKeyComparator#areComparable}).  A {@link Limit} is applied to the aggregated
+ * results; each sub-plan is limited to first-row + max-rows rows, since that many rows
+ * from any one sub-plan may be needed to fill the requested page.  Together this means
+ * that a "top-N" query reads at most N rows (plus the offset) from each sub-plan.
+ * <p/>
+ * Iterate and scroll both read the (merged) results of the sub-plans only as they
+ * are consumed.
+ *
  * @author Steve Ebersole
  */
 public class AggregatedSelectQueryPlanImpl<R> implements SelectQueryPlan<R> {
+	private static final Logger log = Logger.getLogger( AggregatedSelectQueryPlanImpl.class );
+
+	/**
+	 * Setting (SessionFactory property) to enable concurrent execution of the sub-plans
+	 */
+	public static final String PARALLEL_EXECUTION = "hibernate.query.aggregated_plan.parallel_execution";
+
 	private final SelectQueryPlan<R>[] aggregatedQueryPlans;
+	private final boolean parallelExecutionEnabled;
 
 	public AggregatedSelectQueryPlanImpl(SelectQueryPlan<R>[] aggregatedQueryPlans) {
+		this( aggregatedQueryPlans, false );
+	}
+
+	public AggregatedSelectQueryPlanImpl(SelectQueryPlan<R>[] aggregatedQueryPlans, boolean parallelExecutionEnabled) {
 		this.aggregatedQueryPlans = aggregatedQueryPlans;
+		this.parallelExecutionEnabled = parallelExecutionEnabled;
+	}
+
+	public SelectQueryPlan<R>[] getAggregatedQueryPlans() {
+		return aggregatedQueryPlans;
 	}
 
 	@Override
@@ -34,6 +90,30 @@ public class AggregatedSelectQueryPlanImpl<R> implements SelectQueryPlan<R> {
 			ExecutionContext executionContext,
 			QueryOptions queryOptions,
 			QueryParameterBindings inputParameterBindings) {
+		if ( isOrdered() || isLimited( queryOptions.getLimit() ) ) {
+			// merge and/or limit the results as they are read
+			final CloseableIterator<R> results = performIterate(
+					persistenceContext,
+					executionContext,
+					queryOptions,
+					inputParameterBindings
+			);
+			try {
+				final List<R> overallResults = new ArrayList<>();
+				while ( results.hasNext() ) {
+					overallResults.add( results.next() );
+				}
+				return overallResults;
+			}
+			finally {
+				results.close();
+			}
+		}
+
+		if ( shouldExecuteConcurrently( persistenceContext, executionContext, queryOptions ) ) {
+			return performListConcurrently( persistenceContext, executionContext, queryOptions, inputParameterBindings );
+		}
+
 		final List<R> overallResults = new ArrayList<>();
 
 		for ( SelectQueryPlan<R> aggregatedQueryPlan : aggregatedQueryPlans ) {
@@ -45,13 +125,215 @@ public class AggregatedSelectQueryPlanImpl<R> implements SelectQueryPlan<R> {
 		return overallResults;
 	}
 
+	private boolean shouldExecuteConcurrently(
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext,
+			QueryOptions queryOptions) {
+		if ( !parallelExecutionEnabled || aggregatedQueryPlans.length < 2 ) {
+			return false;
+		}
+
+		if ( executionContext.isTransactionInProgress() ) {
+			return false;
+		}
+
+		if ( persistenceContext instanceof StatelessSession ) {
+			return true;
+		}
+
+		return queryOptions.isReadOnly() != null
+				? queryOptions.isReadOnly()
+				: executionContext.isDefaultReadOnly();
+	}
+
+	private List<R> performListConcurrently(
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext,
+			QueryOptions queryOptions,
+			QueryParameterBindings inputParameterBindings) {
+		log.debugf( "Executing %s aggregated query plans concurrently", aggregatedQueryPlans.length );
+
+		final ExecutorService executor = persistenceContext.getFactory()
+				.getServiceRegistry()
+				.getService( AggregatedQueryExecutorService.class )
+				.getExecutor();
+
+		final List<Future<List<R>>> futures = new ArrayList<>( aggregatedQueryPlans.length );
+		try {
+			for ( SelectQueryPlan<R> aggregatedQueryPlan : aggregatedQueryPlans ) {
+				futures.add(
+						executor.submit(
+								() -> {
+									final StatelessSession session = persistenceContext.getFactory().openStatelessSession();
+									try {
+										return aggregatedQueryPlan.performList(
+												(SharedSessionContractImplementor) session,
+												executionContext,
+												queryOptions,
+												inputParameterBindings
+										);
+									}
+									finally {
+										session.close();
+									}
+								}
+						)
+				);
+			}
+
+			// merge the results in sub-plan order
+			final List<R> overallResults = new ArrayList<>();
+			for ( Future<List<R>> future : futures ) {
+				overallResults.addAll( future.get() );
+			}
+			return overallResults;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while executing aggregated query plans", e );
+		}
+		catch (ExecutionException e) {
+			if ( e.getCause() instanceof RuntimeException ) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new HibernateException( "Error executing aggregated query plan", e.getCause() );
+		}
+		finally {
+			// no-op for those already completed
+			for ( Future<List<R>> future : futures ) {
+				future.cancel( true );
+			}
+		}
+	}
+
+	private boolean isOrdered() {
+		for ( SelectQueryPlan<R> aggregatedQueryPlan : aggregatedQueryPlans ) {
+			if ( !( aggregatedQueryPlan instanceof ConcreteSqmSelectQueryPlan )
+					|| !( (ConcreteSqmSelectQueryPlan) aggregatedQueryPlan ).isOrdered() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isLimited(Limit limit) {
+		return limit != null && ( limit.getFirstRow() != null || limit.getMaxRows() != null );
+	}
+
 	@Override
-	public Iterator<R> performIterate(
+	public CloseableIterator<R> performIterate(
 			SharedSessionContractImplementor persistenceContext,
 			ExecutionContext executionContext,
 			QueryOptions queryOptions,
 			QueryParameterBindings inputParameterBindings) {
-		return null;
+		final Limit limit = queryOptions.getLimit();
+		final QueryOptions subPlanQueryOptions = isLimited( limit )
+				? new SubPlanQueryOptions( queryOptions, resolveSubPlanLimit( limit ) )
+				: queryOptions;
+
+		CloseableIterator<R> results = null;
+		if ( isOrdered() ) {
+			results = performSortedMerge( persistenceContext, executionContext, subPlanQueryOptions, inputParameterBindings );
+		}
+		if ( results == null ) {
+			results = new AggregatedResultsIterator<>(
+					aggregatedQueryPlans.length,
+					index -> aggregatedQueryPlans[index].performIterate(
+							persistenceContext,
+							executionContext,
+							subPlanQueryOptions,
+							inputParameterBindings
+					)
+			);
+		}
+
+		if ( isLimited( limit ) ) {
+			results = new LimitedResultsIterator<>( results, limit.getFirstRowJpa(), limit.getMaxRows() );
+		}
+
+		return results;
+	}
+
+	/**
+	 * Each sub-plan needs to return (up to) first-row + max-rows rows : in the worst case
+	 * all of the aggregated rows up to the end of the requested page come from a single
+	 * sub-plan.  If only first-row is specified, the sub-plans cannot be limited.
+	 */
+	private static Limit resolveSubPlanLimit(Limit limit) {
+		final Limit subPlanLimit = new Limit();
+		if ( limit.getMaxRows() != null ) {
+			final long rows = (long) limit.getFirstRowJpa() + limit.getMaxRows();
+			if ( rows <= Integer.MAX_VALUE ) {
+				subPlanLimit.setMaxRows( (int) rows );
+			}
+		}
+		return subPlanLimit;
+	}
+
+	@SuppressWarnings("unchecked")
+	private CloseableIterator<R> performSortedMerge(
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext,
+			QueryOptions subPlanQueryOptions,
+			QueryParameterBindings inputParameterBindings) {
+		final List<CloseableIterator<SortedMergeResultsIterator.SortKeyedResult<R>>> subPlanResults = new ArrayList<>();
+		for ( SelectQueryPlan<R> aggregatedQueryPlan : aggregatedQueryPlans ) {
+			// NOTE : the statements are not executed until the results are first read
+			final CloseableIterator<SortedMergeResultsIterator.SortKeyedResult<R>> results =
+					( (ConcreteSqmSelectQueryPlan<R>) aggregatedQueryPlan ).performSortKeyedIterate(
+							persistenceContext,
+							executionContext,
+							subPlanQueryOptions,
+							inputParameterBindings
+					);
+			if ( results == null ) {
+				log.debugf( "Sort keys of aggregated query plan cannot be read; aggregating unmerged results" );
+				subPlanResults.forEach( CloseableIterator::close );
+				return null;
+			}
+			subPlanResults.add( results );
+		}
+
+		if ( !haveComparableSortKeys() ) {
+			log.debugf( "Sort keys of aggregated query plans cannot be compared as the database ordered them; aggregating unmerged results" );
+			subPlanResults.forEach( CloseableIterator::close );
+			return null;
+		}
+
+		return new SortedMergeResultsIterator<>(
+				subPlanResults,
+				new SortKeyComparator(
+						( (ConcreteSqmSelectQueryPlan) aggregatedQueryPlans[0] ).getSortOrders(),
+						persistenceContext.getFactory().getSessionFactoryOptions().getDefaultNullPrecedence()
+				)
+		);
+	}
+
+	/**
+	 * The results can only be merged when the sort keys can be compared the same way the
+	 * database ordered them (not character data, for example).  Also the same sort expression
+	 * may resolve to (basic) values of a different type in each of the concrete queries, in
+	 * which case those values may not be comparable
+	 */
+	private boolean haveComparableSortKeys() {
+		final Class[] sortKeyTypes = ( (ConcreteSqmSelectQueryPlan) aggregatedQueryPlans[0] ).getSortKeyTypes();
+		if ( sortKeyTypes == null ) {
+			return false;
+		}
+
+		for ( SelectQueryPlan<R> aggregatedQueryPlan : aggregatedQueryPlans ) {
+			final Class[] planSortKeyTypes = ( (ConcreteSqmSelectQueryPlan) aggregatedQueryPlan ).getSortKeyTypes();
+			if ( planSortKeyTypes == null || planSortKeyTypes.length != sortKeyTypes.length ) {
+				return false;
+			}
+			for ( int i = 0; i < sortKeyTypes.length; i++ ) {
+				if ( !SortKeyComparator.areComparable( sortKeyTypes[i], planSortKeyTypes[i] ) ) {
+					return false;
+				}
+			}
+		}
+
+		return true;
 	}
 
 	@Override
@@ -61,6 +343,101 @@ public class AggregatedSelectQueryPlanImpl<R> implements SelectQueryPlan<R> {
 			QueryOptions queryOptions,
 			QueryParameterBindings inputParameterBindings,
 			ScrollMode scrollMode) {
-		return null;
+		// scroll over the same (merged, limited) results as iterate
+		return new AggregatedScrollableResults<>(
+				performIterate( persistenceContext, executionContext, queryOptions, inputParameterBindings ),
+				resolveNumberOfTypes(),
+				scrollMode
+		);
+	}
+
+	private int resolveNumberOfTypes() {
+		if ( aggregatedQueryPlans.length > 0 && aggregatedQueryPlans[0] instanceof ConcreteSqmSelectQueryPlan ) {
+			return ( (ConcreteSqmSelectQueryPlan) aggregatedQueryPlans[0] ).getNumberOfSelections();
+		}
+		return 1;
+	}
+
+	/**
+	 * The QueryOptions for executing the sub-plans, overriding the Limit
+	 */
+	private static class SubPlanQueryOptions implements QueryOptions {
+		private final QueryOptions queryOptions;
+		private final Limit limit;
+
+		private SubPlanQueryOptions(QueryOptions queryOptions, Limit limit) {
+			this.queryOptions = queryOptions;
+			this.limit = limit;
+		}
+
+		@Override
+		public Limit getLimit() {
+			return limit;
+		}
+
+		@Override
+		public Integer getFetchSize() {
+			return queryOptions.getFetchSize();
+		}
+
+		@Override
+		public String getComment() {
+			return queryOptions.getComment();
+		}
+
+		@Override
+		public LockOptions getLockOptions() {
+			return queryOptions.getLockOptions();
+		}
+
+		@Override
+		public List<String> getDatabaseHints() {
+			return queryOptions.getDatabaseHints();
+		}
+
+		@Override
+		public Integer getTimeout() {
+			return queryOptions.getTimeout();
+		}
+
+		@Override
+		public FlushMode getFlushMode() {
+			return queryOptions.getFlushMode();
+		}
+
+		@Override
+		public Boolean isReadOnly() {
+			return queryOptions.isReadOnly();
+		}
+
+		@Override
+		public CacheMode getCacheMode() {
+			return queryOptions.getCacheMode();
+		}
+
+		@Override
+		public Boolean isResultCachingEnabled() {
+			return queryOptions.isResultCachingEnabled();
+		}
+
+		@Override
+		public String getResultCacheRegionName() {
+			return queryOptions.getResultCacheRegionName();
+		}
+
+		@Override
+		public EntityGraphQueryHint getEntityGraphQueryHint() {
+			return queryOptions.getEntityGraphQueryHint();
+		}
+
+		@Override
+		public TupleTransformer getTupleTransformer() {
+			return queryOptions.getTupleTransformer();
+		}
+
+		@Override
+		public ResultListTransformer getResultListTransformer() {
+			return queryOptions.getResultListTransformer();
+		}
 	}
 }
@@ -7,25 +7,32 @@
 package org.hibernate.query.proposed.internal.sqm;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.persistence.Tuple;
 import javax.persistence.TupleElement;
 
 import org.hibernate.ScrollMode;
-import org.hibernate.cfg.NotYetImplementedException;
 import org.hibernate.engine.query.spi.EntityGraphQueryHint;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.internal.util.collections.streams.StingArrayCollector;
 import org.hibernate.loader.spi.AfterLoadAction;
 import org.hibernate.persister.common.spi.OrmTypeExporter;
+import org.hibernate.persister.entity.spi.ImprovedEntityPersister;
 import org.hibernate.query.proposed.IllegalQueryOperationException;
 import org.hibernate.query.proposed.JpaTupleBuilder;
 import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.spi.CloseableIterator;
 import org.hibernate.query.proposed.spi.ExecutionContext;
 import org.hibernate.query.proposed.spi.QueryParameterBindings;
 import org.hibernate.query.proposed.spi.ScrollableResultsImplementor;
 import org.hibernate.query.proposed.spi.SelectQueryPlan;
+import org.hibernate.sql.ast.PredicateSimplifier;
+import org.hibernate.sql.ast.from.JoinEliminator;
+import org.hibernate.sql.convert.results.spi.ReturnScalar;
 import org.hibernate.sql.convert.spi.Callback;
 import org.hibernate.sql.convert.spi.SqmSelectInterpretation;
 import org.hibernate.sql.convert.spi.SqmSelectToSqlAstConverter;
@@ -39,12 +46,17 @@ import org.hibernate.sql.exec.internal.RowTransformerPassThruImpl;
 import org.hibernate.sql.exec.internal.RowTransformerSingularReturnImpl;
 import org.hibernate.sql.exec.internal.RowTransformerTupleImpl;
 import org.hibernate.sql.exec.internal.RowTransformerTupleTransformerAdapter;
+import org.hibernate.sql.exec.internal.SqlSelectInterpretationImpl;
 import org.hibernate.sql.exec.internal.SqlTreeExecutorImpl;
 import org.hibernate.sql.exec.internal.TupleElementImpl;
 import org.hibernate.sql.exec.spi.PreparedStatementCreator;
 import org.hibernate.sql.exec.spi.RowTransformer;
+import org.hibernate.sql.exec.spi.SqlAstSelectInterpreter;
 import org.hibernate.sqm.domain.DomainMetamodel;
 import org.hibernate.sqm.query.SqmSelectStatement;
+import org.hibernate.sqm.query.from.FromElementSpace;
+import org.hibernate.sqm.query.order.SortOrder;
+import org.hibernate.sqm.query.order.SortSpecification;
 import org.hibernate.sqm.query.select.SqmSelection;
 
 /**
@@ -55,6 +67,21 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 	private final DomainMetamodel domainMetamodel;
 	private final EntityGraphQueryHint entityGraphHint;
 	private final RowTransformer<R> rowTransformer;
+	private final boolean resolveSortKeys;
+	private final int estimatedWeight;
+
+	private final Callback callback = new Callback() {
+		@Override
+		public void registerAfterLoadAction(AfterLoadAction afterLoadAction) {
+			// do nothing here
+		}
+	};
+
+	// The interpretation (SQL AST, SQL, ParameterBinders, Returns) built for a previous
+	// execution and available for re-use.  The Returns (and their Initializers) are
+	// immutable - all row processing state is kept in the RowProcessingState - so the
+	// interpretation is shared by concurrent executions of the plan.
+	private final AtomicReference<CachedInterpretation> cachedInterpretation = new AtomicReference<>();
 
 	public ConcreteSqmSelectQueryPlan(
 			SqmSelectStatement sqm,
@@ -62,11 +89,64 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 			EntityGraphQueryHint entityGraphHint,
 			Class<R> resultType,
 			QueryOptions queryOptions) {
+		this( sqm, domainMetamodel, entityGraphHint, resultType, queryOptions, false );
+	}
+
+	/**
+	 * @param resolveSortKeys Whether the plan's ordered results are to be merged with those of
+	 * other plans (it is a sub-plan of an {@link AggregatedSelectQueryPlanImpl}) - see
+	 * {@link #performSortKeyedIterate}
+	 */
+	public ConcreteSqmSelectQueryPlan(
+			SqmSelectStatement sqm,
+			DomainMetamodel domainMetamodel,
+			EntityGraphQueryHint entityGraphHint,
+			Class<R> resultType,
+			QueryOptions queryOptions,
+			boolean resolveSortKeys) {
 		this.sqm = sqm;
 		this.domainMetamodel = domainMetamodel;
 		this.entityGraphHint = entityGraphHint;
+		this.resolveSortKeys = resolveSortKeys;
 
 		this.rowTransformer = determineRowTransformer( sqm, resultType, queryOptions );
+		this.estimatedWeight = estimateWeight( sqm );
+	}
+
+	/**
+	 * Estimates the size of what the plan holds once interpreted (the SQL AST, the rendered
+	 * SQL, the Returns and their SqlSelections) from the size of the query : one unit for each
+	 * selection, from-element and sort specification, with an entity-valued selection weighing
+	 * as much as the entity's attributes.
+	 */
+	private static int estimateWeight(SqmSelectStatement sqm) {
+		int weight = 1;
+
+		for ( SqmSelection selection : sqm.getQuerySpec().getSelectClause().getSelections() ) {
+			weight++;
+			if ( selection.getExpression().getExpressionType() instanceof ImprovedEntityPersister ) {
+				final ImprovedEntityPersister entityPersister =
+						(ImprovedEntityPersister) selection.getExpression().getExpressionType();
+				weight += entityPersister.getNonIdentifierAttributes().size();
+			}
+		}
+
+		for ( FromElementSpace fromElementSpace : sqm.getQuerySpec().getFromClause().getFromElementSpaces() ) {
+			weight += 1 + fromElementSpace.getJoins().size();
+		}
+
+		if ( sqm.getQuerySpec().getOrderByClause() != null ) {
+			weight += sqm.getQuerySpec().getOrderByClause().getSortSpecifications().size();
+		}
+
+		return weight;
+	}
+
+	/**
+	 * The estimated weight of the plan, used to bound the size of the plan cache
+	 */
+	public int getEstimatedWeight() {
+		return estimatedWeight;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -159,35 +239,112 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 			QueryParameterBindings inputParameterBindings) {
 		verifyQueryIsSelect();
 
-		final Callback callback = new Callback() {
-			@Override
-			public void registerAfterLoadAction(AfterLoadAction afterLoadAction) {
-				// do nothing here
+		final CachedInterpretation interpretation = resolveInterpretation(
+				persistenceContext,
+				executionContext,
+				queryOptions,
+				inputParameterBindings
+		);
+		return (List<R>) buildSqlTreeExecutor().executeSelect(
+				interpretation.sqmInterpretation,
+				interpretation.sqlInterpretation,
+				PreparedStatementCreatorStandardImpl.INSTANCE,
+				PreparedStatementExecutorNormalImpl.INSTANCE,
+				queryOptions,
+				inputParameterBindings,
+				rowTransformer,
+				callback,
+				persistenceContext,
+				executionContext
+		);
+	}
+
+	private CachedInterpretation resolveInterpretation(
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext,
+			QueryOptions queryOptions,
+			QueryParameterBindings inputParameterBindings) {
+		final CachedInterpretation cached = cachedInterpretation.get();
+		if ( cached != null ) {
+			if ( cached.sqlInterpretation.isCompatibleWith(
+					inputParameterBindings,
+					queryOptions,
+					persistenceContext.getFactory(),
+					executionContext
+			) ) {
+				return cached;
 			}
-		};
+
+			// the bindings changed the number of JDBC parameters for a parameter (or the
+			// limit/offset clause changed); re-render the SQL re-using the SQL AST
+			final CachedInterpretation rerendered = new CachedInterpretation(
+					cached.sqmInterpretation,
+					renderSql( cached.sqmInterpretation, persistenceContext, executionContext, queryOptions, inputParameterBindings )
+			);
+			cachedInterpretation.set( rerendered );
+			return rerendered;
+		}
 
 		// todo : SelectStatementInterpreter needs to account for the EntityGraph hint
-		final SqmSelectInterpretation interpretation = SqmSelectToSqlAstConverter.interpret(
+		final SqmSelectInterpretation sqmInterpretation = SqmSelectToSqlAstConverter.interpret(
 				sqm,
 				persistenceContext.getFactory(),
 				domainMetamodel,
 				queryOptions,
 				false,
+				resolveSortKeys,
 				callback
 		);
-		return (List<R>) new SqlTreeExecutorImpl().executeSelect(
-				interpretation,
-				PreparedStatementCreatorStandardImpl.INSTANCE,
-				PreparedStatementExecutorNormalImpl.INSTANCE,
-				queryOptions,
+		// done once, before the SQL AST is shared by the cached interpretation
+		PredicateSimplifier.simplifyPredicates( sqmInterpretation.getSqlSelectAst().getQuerySpec() );
+		JoinEliminator.eliminateUnusedJoins( sqmInterpretation.getSqlSelectAst().getQuerySpec() );
+
+		final CachedInterpretation interpretation = new CachedInterpretation(
+				sqmInterpretation,
+				renderSql( sqmInterpretation, persistenceContext, executionContext, queryOptions, inputParameterBindings )
+		);
+		// concurrent first executions may each build an interpretation; the last one wins
+		cachedInterpretation.set( interpretation );
+		return interpretation;
+	}
+
+	private static SqlSelectInterpretationImpl renderSql(
+			SqmSelectInterpretation sqmInterpretation,
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext,
+			QueryOptions queryOptions,
+			QueryParameterBindings inputParameterBindings) {
+		return (SqlSelectInterpretationImpl) SqlAstSelectInterpreter.interpret(
+				sqmInterpretation,
+				false,
+				persistenceContext.getFactory(),
 				inputParameterBindings,
-				rowTransformer,
-				callback,
-				persistenceContext,
+				queryOptions,
 				executionContext
 		);
 	}
 
+	private static class CachedInterpretation {
+		private final SqmSelectInterpretation sqmInterpretation;
+		private final SqlSelectInterpretationImpl sqlInterpretation;
+
+		private CachedInterpretation(
+				SqmSelectInterpretation sqmInterpretation,
+				SqlSelectInterpretationImpl sqlInterpretation) {
+			this.sqmInterpretation = sqmInterpretation;
+			this.sqlInterpretation = sqlInterpretation;
+		}
+	}
+
+	/**
+	 * The plan's Returns and Initializers only read the JDBC values while their row is
+	 * being processed, so the values of every row can be read into the same array (rows
+	 * put into the query cache still get their own array)
+	 */
+	private static SqlTreeExecutorImpl buildSqlTreeExecutor() {
+		return new SqlTreeExecutorImpl( true );
+	}
+
 	private void verifyQueryIsSelect() {
 		if ( !SqmSelectStatement.class.isInstance( sqm ) ) {
 			throw new IllegalQueryOperationException(
@@ -204,8 +361,148 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 			QueryParameterBindings inputParameterBindings) {
 		verifyQueryIsSelect();
 
-		// todo : implement
-		throw new NotYetImplementedException( "Query#iterate not yet implemented" );
+		final CachedInterpretation interpretation = resolveInterpretation(
+				persistenceContext,
+				executionContext,
+				queryOptions,
+				inputParameterBindings
+		);
+
+		// rows are read lazily as the iterator is advanced.  The ResultSet is registered with
+		// the Session's JDBC resources so that it is released on Session close should the
+		// caller neither exhaust nor close the iterator
+		return buildSqlTreeExecutor().executeSelectStreaming(
+				interpretation.sqmInterpretation,
+				interpretation.sqlInterpretation,
+				PreparedStatementCreatorScrollableForwardOnlyImpl.INSTANCE,
+				PreparedStatementExecutorScrollableImpl.INSTANCE,
+				queryOptions,
+				inputParameterBindings,
+				rowTransformer,
+				callback,
+				persistenceContext,
+				executionContext
+		);
+	}
+
+	/**
+	 * The number of selections (the number of values in each result row, before any
+	 * TupleTransformer is applied)
+	 */
+	int getNumberOfSelections() {
+		return sqm.getQuerySpec().getSelectClause().getSelections().size();
+	}
+
+	/**
+	 * Is the query ordered?
+	 */
+	boolean isOrdered() {
+		return sqm.getQuerySpec().getOrderByClause() != null
+				&& !sqm.getQuerySpec().getOrderByClause().getSortSpecifications().isEmpty();
+	}
+
+	/**
+	 * The SortOrder of each of the query's sort specifications
+	 */
+	List<SortOrder> getSortOrders() {
+		if ( !isOrdered() ) {
+			return Collections.emptyList();
+		}
+
+		final List<SortOrder> sortOrders = new ArrayList<>();
+		for ( SortSpecification sortSpecification : sqm.getQuerySpec().getOrderByClause().getSortSpecifications() ) {
+			sortOrders.add( sortSpecification.getSortOrder() );
+		}
+		return sortOrders;
+	}
+
+	/**
+	 * Form of {@link #performIterate} returning each result along with the values of its
+	 * sort expressions, allowing {@link AggregatedSelectQueryPlanImpl} to merge the ordered
+	 * results of multiple plans.
+	 *
+	 * @return The results, or {@code null} if the query is not ordered or its sort keys
+	 * cannot be read (the plan was not built to resolve them, or the sort expressions are
+	 * not all basic values)
+	 */
+	CloseableIterator<SortedMergeResultsIterator.SortKeyedResult<R>> performSortKeyedIterate(
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext,
+			QueryOptions queryOptions,
+			QueryParameterBindings inputParameterBindings) {
+		verifyQueryIsSelect();
+
+		final CachedInterpretation interpretation = resolveInterpretation(
+				persistenceContext,
+				executionContext,
+				queryOptions,
+				inputParameterBindings
+		);
+
+		final List<ReturnScalar> sortKeyReturns = interpretation.sqmInterpretation.getSortKeyReturns();
+		if ( sortKeyReturns == null || sortKeyReturns.isEmpty() ) {
+			return null;
+		}
+
+		return buildSqlTreeExecutor().executeSelectStreaming(
+				interpretation.sqmInterpretation,
+				interpretation.sqlInterpretation.withAdditionalReturns( sortKeyReturns ),
+				PreparedStatementCreatorScrollableForwardOnlyImpl.INSTANCE,
+				PreparedStatementExecutorScrollableImpl.INSTANCE,
+				queryOptions,
+				inputParameterBindings,
+				new RowTransformerSortKeyAdapter<>( rowTransformer, interpretation.sqlInterpretation.getReturns().size() ),
+				callback,
+				persistenceContext,
+				executionContext
+		);
+	}
+
+	/**
+	 * The Java types of the sort keys returned by {@link #performSortKeyedIterate}
+	 *
+	 * @return The types, or {@code null} if the plan has not been interpreted yet or its
+	 * sort keys cannot be read
+	 */
+	Class[] getSortKeyTypes() {
+		final CachedInterpretation interpretation = cachedInterpretation.get();
+		if ( interpretation == null ) {
+			return null;
+		}
+
+		final List<ReturnScalar> sortKeyReturns = interpretation.sqmInterpretation.getSortKeyReturns();
+		if ( sortKeyReturns == null ) {
+			return null;
+		}
+
+		final Class[] sortKeyTypes = new Class[ sortKeyReturns.size() ];
+		for ( int i = 0; i < sortKeyTypes.length; i++ ) {
+			sortKeyTypes[i] = sortKeyReturns.get( i ).getType().getReturnedClass();
+		}
+		return sortKeyTypes;
+	}
+
+	/**
+	 * Splits the sort key values (read by the sort-key Returns which follow the query
+	 * Returns) from the values of the query Returns, applying the plan's RowTransformer
+	 * to the latter
+	 */
+	private static class RowTransformerSortKeyAdapter<R> implements RowTransformer<SortedMergeResultsIterator.SortKeyedResult<R>> {
+		private final RowTransformer<R> rowTransformer;
+		private final int numberOfQueryReturns;
+
+		private RowTransformerSortKeyAdapter(RowTransformer<R> rowTransformer, int numberOfQueryReturns) {
+			this.rowTransformer = rowTransformer;
+			this.numberOfQueryReturns = numberOfQueryReturns;
+		}
+
+		@Override
+		public SortedMergeResultsIterator.SortKeyedResult<R> transformRow(Object[] row) {
+			return new SortedMergeResultsIterator.SortKeyedResult<>(
+					rowTransformer.transformRow( Arrays.copyOf( row, numberOfQueryReturns ) ),
+					Arrays.copyOfRange( row, numberOfQueryReturns, row.length )
+			);
+		}
 	}
 
 	@Override
@@ -218,23 +515,6 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 			ScrollMode scrollMode) {
 		verifyQueryIsSelect();
 
-		final Callback callback = new Callback() {
-			@Override
-			public void registerAfterLoadAction(AfterLoadAction afterLoadAction) {
-				// do nothing here
-			}
-		};
-
-		// todo : SelectStatementInterpreter needs to account for the EntityGraph hint
-		final SqmSelectInterpretation interpretation = SqmSelectToSqlAstConverter.interpret(
-				sqm,
-				persistenceContext.getFactory(),
-				domainMetamodel,
-				queryOptions,
-				false,
-				callback
-		);
-
 		final PreparedStatementCreator creator;
 		if ( scrollMode == ScrollMode.FORWARD_ONLY ) {
 			creator = PreparedStatementCreatorScrollableForwardOnlyImpl.INSTANCE;
@@ -246,8 +526,15 @@ public class ConcreteSqmSelectQueryPlan<R> implements SelectQueryPlan<R> {
 			creator = PreparedStatementCreatorScrollableInsensitiveImpl.INSTANCE;
 		}
 
-		return (ScrollableResultsImplementor) new SqlTreeExecutorImpl().executeSelect(
-				interpretation,
+		final CachedInterpretation interpretation = resolveInterpretation(
+				persistenceContext,
+				executionContext,
+				queryOptions,
+				inputParameterBindings
+		);
+		return (ScrollableResultsImplementor) buildSqlTreeExecutor().executeSelect(
+				interpretation.sqmInterpretation,
+				interpretation.sqlInterpretation,
 				creator,
 				PreparedStatementExecutorScrollableImpl.INSTANCE,
 				queryOptions,
@@ -0,0 +1,65 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal.sqm;
+
+import java.util.NoSuchElementException;
+
+import org.hibernate.query.proposed.spi.CloseableIterator;
+
+/**
+ * Applies a query's {@link org.hibernate.query.proposed.Limit} to the aggregated
+ * results of the sub-plans of an {@link AggregatedSelectQueryPlanImpl}.  The
+ * underlying results are closed as soon as the max-rows have been returned, so
+ * no more rows than needed are read.
+ *
+ * @author Steve Ebersole
+ */
+class LimitedResultsIterator<R> implements CloseableIterator<R> {
+	private final CloseableIterator<R> results;
+	private final int firstRow;
+	private final Integer maxRows;
+
+	private boolean skippedFirstRows;
+	private int returnedRows;
+
+	LimitedResultsIterator(CloseableIterator<R> results, int firstRow, Integer maxRows) {
+		this.results = results;
+		this.firstRow = firstRow;
+		this.maxRows = maxRows;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ( !skippedFirstRows ) {
+			skippedFirstRows = true;
+			for ( int i = 0; i < firstRow && results.hasNext(); i++ ) {
+				results.next();
+			}
+		}
+
+		if ( maxRows != null && returnedRows >= maxRows ) {
+			results.close();
+			return false;
+		}
+
+		return results.hasNext();
+	}
+
+	@Override
+	public R next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException();
+		}
+		returnedRows++;
+		return results.next();
+	}
+
+	@Override
+	public void close() {
+		results.close();
+	}
+}
@@ -19,6 +19,7 @@ import org.hibernate.ScrollMode;
 import org.hibernate.cfg.NotYetImplementedException;
 import org.hibernate.engine.query.spi.EntityGraphQueryHint;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.jpa.graph.internal.EntityGraphImpl;
 import org.hibernate.query.proposed.ParameterMetadata;
 import org.hibernate.query.proposed.Query;
@@ -257,21 +258,16 @@ public class QuerySqmImpl<R> extends AbstractQuery<R> {
 		// SqmInterpretationsKey#generateFrom - if SqmInterpretationsKey#generateFrom
 		// returns null the query is not cacheable
 
-		SelectQueryPlan<R> queryPlan = null;
-
 		final QueryInterpretations.Key cacheKey = SqmInterpretationsKey.generateFrom( this );
 		if ( cacheKey != null ) {
-			queryPlan = getExecutionContext().getQueryInterpretations().getSelectQueryPlan( cacheKey );
+			return getExecutionContext().getQueryInterpretations().resolveSelectQueryPlan(
+					cacheKey,
+					this::buildSelectQueryPlan
+			);
 		}
-
-		if ( queryPlan == null ) {
-			queryPlan = buildSelectQueryPlan();
-			if ( cacheKey != null ) {
-				getExecutionContext().getQueryInterpretations().cacheSelectQueryPlan( cacheKey, queryPlan );
-			}
+		else {
+			return buildSelectQueryPlan();
 		}
-
-		return queryPlan;
 	}
 
 	private SelectQueryPlan<R> buildSelectQueryPlan() {
@@ -284,7 +280,8 @@ public class QuerySqmImpl<R> extends AbstractQuery<R> {
 					concreteSqmStatements[0],
 					getResultType(),
 					getEntityGraphHint(),
-					getQueryOptions()
+					getQueryOptions(),
+					false
 			);
 		}
 	}
@@ -296,28 +293,38 @@ public class QuerySqmImpl<R> extends AbstractQuery<R> {
 		// todo : we want to make sure that certain thing (ResultListTransformer, etc) only get applied at the aggregator-level
 
 		for ( int i = 0, x = concreteSqmStatements.length; i < x; i++ ) {
+			// the sub-plans resolve their sort keys so that their ordered results can be merged
 			aggregatedQueryPlans[i] = buildConcreteSelectQueryPlan(
 					concreteSqmStatements[i],
 					getResultType(),
 					getEntityGraphHint(),
-					getQueryOptions()
+					getQueryOptions(),
+					true
 			);
 		}
 
-		return new AggregatedSelectQueryPlanImpl( aggregatedQueryPlans );
+		final boolean parallelExecutionEnabled = ConfigurationHelper.getBoolean(
+				AggregatedSelectQueryPlanImpl.PARALLEL_EXECUTION,
+				getProducer().getFactory().getProperties(),
+				false
+		);
+
+		return new AggregatedSelectQueryPlanImpl( aggregatedQueryPlans, parallelExecutionEnabled );
 	}
 
 	private SelectQueryPlan<R> buildConcreteSelectQueryPlan(
 			SqmSelectStatement concreteSqmStatement,
 			Class<R> resultType,
 			EntityGraphQueryHint entityGraphHint,
-			QueryOptions queryOptions) {
+			QueryOptions queryOptions,
+			boolean resolveSortKeys) {
 		return new ConcreteSqmSelectQueryPlan<>(
 				concreteSqmStatement,
 				domainMetamodel,
 				entityGraphHint,
 				resultType,
-				queryOptions
+				queryOptions,
+				resolveSortKeys
 		);
 	}
 
@@ -365,21 +372,16 @@ public class QuerySqmImpl<R> extends AbstractQuery<R> {
 		//		1) the query declared multi-valued parameter(s)
 		//		2) an EntityGraph hint is attached.
 
-		NonSelectQueryPlan queryPlan = null;
-
 		final QueryInterpretations.Key cacheKey = SqmInterpretationsKey.generateFrom( this );
 		if ( cacheKey != null ) {
-			queryPlan = getExecutionContext().getQueryInterpretations().getNonSelectQueryPlan( cacheKey );
+			return getExecutionContext().getQueryInterpretations().resolveNonSelectQueryPlan(
+					cacheKey,
+					this::buildNonSelectQueryPlan
+			);
 		}
-
-		if ( queryPlan == null ) {
-			queryPlan = buildNonSelectQueryPlan();
-			if ( cacheKey != null ) {
-				getExecutionContext().getQueryInterpretations().cacheNonSelectQueryPlan( cacheKey, queryPlan );
-			}
+		else {
+			return buildNonSelectQueryPlan();
 		}
-
-		return queryPlan;
 	}
 
 	private NonSelectQueryPlan buildNonSelectQueryPlan() {
@@ -0,0 +1,134 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal.sqm;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.NullPrecedence;
+import org.hibernate.sqm.query.order.SortOrder;
+
+/**
+ * Compares the sort keys (the values of the sort expressions) of 2 query results
+ * the same way the database ordered them, so that the ordered results of multiple
+ * queries can be merged.
+ * <p/>
+ * Where no default null precedence is configured, nulls are considered lower than
+ * any other value (ordered first when ascending); the queries whose results are merged
+ * render that null precedence explicitly rather than relying on the database's default.
+ * Values are compared using their natural (Java) ordering, so only values whose natural
+ * ordering matches the database's ordering may be merged - see {@link #areComparable}.
+ * Specifically character data is excluded, since the database orders it according to
+ * its collation.  Numeric values of different types (the same sort expression may be
+ * typed differently in different queries) are compared by value.
+ *
+ * @author Steve Ebersole
+ */
+class SortKeyComparator implements Comparator<Object[]> {
+	private final SortOrder[] sortOrders;
+	private final NullPrecedence nullPrecedence;
+
+	SortKeyComparator(List<SortOrder> sortOrders, NullPrecedence nullPrecedence) {
+		this.sortOrders = sortOrders.toArray( new SortOrder[ sortOrders.size() ] );
+		this.nullPrecedence = nullPrecedence == null ? NullPrecedence.NONE : nullPrecedence;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public int compare(Object[] sortKeys1, Object[] sortKeys2) {
+		for ( int i = 0; i < sortOrders.length; i++ ) {
+			final boolean descending = sortOrders[i] == SortOrder.DESCENDING;
+			final Object value1 = sortKeys1[i];
+			final Object value2 = sortKeys2[i];
+
+			if ( value1 == null || value2 == null ) {
+				if ( value1 == value2 ) {
+					continue;
+				}
+
+				final boolean nullsFirst = nullPrecedence == NullPrecedence.FIRST
+						|| ( nullPrecedence == NullPrecedence.NONE && !descending );
+				if ( value1 == null ) {
+					return nullsFirst ? -1 : 1;
+				}
+				else {
+					return nullsFirst ? 1 : -1;
+				}
+			}
+
+			final int comparison = compareValues( value1, value2 );
+			if ( comparison != 0 ) {
+				return descending ? -comparison : comparison;
+			}
+		}
+
+		return 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static int compareValues(Object value1, Object value2) {
+		if ( value1.getClass() != value2.getClass()
+				&& value1 instanceof Number
+				&& value2 instanceof Number ) {
+			return compareNumbers( (Number) value1, (Number) value2 );
+		}
+		return ( (Comparable) value1 ).compareTo( value2 );
+	}
+
+	private static int compareNumbers(Number value1, Number value2) {
+		if ( isFloatingPoint( value1 ) || isFloatingPoint( value2 ) ) {
+			return Double.compare( value1.doubleValue(), value2.doubleValue() );
+		}
+		return toBigDecimal( value1 ).compareTo( toBigDecimal( value2 ) );
+	}
+
+	private static boolean isFloatingPoint(Number value) {
+		return value instanceof Double || value instanceof Float;
+	}
+
+	private static BigDecimal toBigDecimal(Number value) {
+		if ( value instanceof BigDecimal ) {
+			return (BigDecimal) value;
+		}
+		if ( value instanceof BigInteger ) {
+			return new BigDecimal( (BigInteger) value );
+		}
+		return BigDecimal.valueOf( value.longValue() );
+	}
+
+	/**
+	 * Can sort key values of the 2 given types be compared with each other, the same way the
+	 * database ordered them?  That is the case for numeric values of any type, and for values
+	 * of the same boolean or temporal type.  It is not the case for character data (ordered
+	 * by the database collation) or for other types whose database ordering is not known
+	 * (enums ordered by name, UUIDs, etc).
+	 */
+	static boolean areComparable(Class type1, Class type2) {
+		if ( Number.class.isAssignableFrom( type1 ) && Number.class.isAssignableFrom( type2 ) ) {
+			return true;
+		}
+		return type1 == type2 && hasDatabaseOrdering( type1 );
+	}
+
+	private static boolean hasDatabaseOrdering(Class type) {
+		return type == Boolean.class
+				|| Date.class.isAssignableFrom( type )
+				|| Calendar.class.isAssignableFrom( type )
+				|| type == LocalDate.class
+				|| type == LocalTime.class
+				|| type == LocalDateTime.class
+				|| type == Instant.class;
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal.sqm;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import org.hibernate.query.proposed.spi.CloseableIterator;
+
+/**
+ * Merges the (individually ordered) results of the sub-plans of an
+ * {@link AggregatedSelectQueryPlanImpl} into a single ordered stream of results.
+ * This is a k-way merge : a heap holds the current result of each sub-plan, keyed
+ * by the values of its sort expressions, so only one row per sub-plan is held in
+ * memory and reading stops as soon as the caller stops asking for results.
+ * <p/>
+ * Results with equal sort keys are returned in sub-plan order.
+ *
+ * @author Steve Ebersole
+ */
+class SortedMergeResultsIterator<R> implements CloseableIterator<R> {
+	/**
+	 * A query result along with the values of the query's sort expressions for that result
+	 */
+	static class SortKeyedResult<R> {
+		private final R result;
+		private final Object[] sortKeys;
+
+		SortKeyedResult(R result, Object[] sortKeys) {
+			this.result = result;
+			this.sortKeys = sortKeys;
+		}
+	}
+
+	private final List<CloseableIterator<SortKeyedResult<R>>> subPlanResults;
+	private final PriorityQueue<Head<R>> heads;
+
+	private boolean initialized;
+	private boolean closed;
+
+	SortedMergeResultsIterator(
+			List<CloseableIterator<SortKeyedResult<R>>> subPlanResults,
+			Comparator<Object[]> sortKeyComparator) {
+		this.subPlanResults = subPlanResults;
+		this.heads = new PriorityQueue<>(
+				Math.max( 1, subPlanResults.size() ),
+				(head1, head2) -> {
+					final int comparison = sortKeyComparator.compare( head1.current.sortKeys, head2.current.sortKeys );
+					return comparison != 0 ? comparison : Integer.compare( head1.subPlanIndex, head2.subPlanIndex );
+				}
+		);
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ( closed ) {
+			return false;
+		}
+
+		if ( !initialized ) {
+			initialized = true;
+			for ( int i = 0; i < subPlanResults.size(); i++ ) {
+				advance( new Head<>( i ) );
+			}
+		}
+
+		if ( heads.isEmpty() ) {
+			close();
+			return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	public R next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException();
+		}
+
+		final Head<R> head = heads.poll();
+		final R result = head.current.result;
+		advance( head );
+		return result;
+	}
+
+	private void advance(Head<R> head) {
+		final CloseableIterator<SortKeyedResult<R>> results = subPlanResults.get( head.subPlanIndex );
+		if ( results.hasNext() ) {
+			head.current = results.next();
+			heads.add( head );
+		}
+		else {
+			results.close();
+		}
+	}
+
+	@Override
+	public void close() {
+		if ( closed ) {
+			return;
+		}
+		closed = true;
+		heads.clear();
+
+		RuntimeException failure = null;
+		for ( CloseableIterator<SortKeyedResult<R>> results : subPlanResults ) {
+			try {
+				results.close();
+			}
+			catch (RuntimeException e) {
+				if ( failure == null ) {
+					failure = e;
+				}
+				else {
+					failure.addSuppressed( e );
+				}
+			}
+		}
+
+		if ( failure != null ) {
+			throw failure;
+		}
+	}
+
+	private static class Head<R> {
+		private final int subPlanIndex;
+		private SortKeyedResult<R> current;
+
+		private Head(int subPlanIndex) {
+			this.subPlanIndex = subPlanIndex;
+		}
+	}
+}
@@ -6,15 +6,26 @@
  */
 package org.hibernate.query.proposed.internal.sqm;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
-import org.hibernate.query.proposed.Limit;
+import org.hibernate.dialect.Dialect;
 import org.hibernate.query.proposed.ParameterMetadata;
 import org.hibernate.query.proposed.QueryOptions;
 import org.hibernate.query.proposed.QueryParameter;
 import org.hibernate.query.proposed.ResultListTransformer;
 import org.hibernate.query.proposed.TupleTransformer;
 import org.hibernate.query.proposed.spi.QueryInterpretations;
+import org.hibernate.query.proposed.spi.QueryParameterBinding;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+import org.hibernate.sql.convert.spi.ConversionHelper;
+import org.hibernate.sql.exec.internal.LimitShape;
+import org.hibernate.sql.exec.internal.LimitValues;
 import org.hibernate.sqm.query.SqmStatement;
 
 /**
@@ -29,7 +40,13 @@ class SqmInterpretationsKey implements QueryInterpretations.Key {
 		return new SqmInterpretationsKey(
 				query.getSqmStatement(),
 				query.getResultType(),
-				query.getQueryOptions()
+				query.getQueryOptions(),
+				resolveLiteralLimitValues( query ),
+				resolveInListBuckets(
+						query.getParameterMetadata(),
+						query.getQueryParameterBindings(),
+						query.getProducer().getFactory().getJdbcServices().getJdbcEnvironment().getDialect()
+				)
 		);
 	}
 
@@ -39,32 +56,48 @@ class SqmInterpretationsKey implements QueryInterpretations.Key {
 			return false;
 		}
 
-		if ( hasMultiValuedParameters( query.getParameterMetadata() ) ) {
+		if ( definesLocking( query.getQueryOptions().getLockOptions() ) ) {
 			return false;
 		}
 
-		if ( hasLimit( query.getQueryOptions().getLimit() ) ) {
-			return false;
-		}
+		return true;
+	}
 
-		if ( definesLocking( query.getQueryOptions().getLockOptions() ) ) {
-			return false;
+	private static LimitValues resolveLiteralLimitValues(QuerySqmImpl query) {
+		final Dialect dialect = query.getProducer().getFactory().getJdbcServices().getJdbcEnvironment().getDialect();
+		if ( dialect.supportsVariableLimit() ) {
+			return null;
 		}
 
-		return true;
+		// the limit/offset values are rendered into the SQL as literals
+		return LimitValues.fromLimit( query.getQueryOptions().getLimit() );
 	}
 
-	private static boolean hasMultiValuedParameters(ParameterMetadata parameterMetadata) {
+	private static Map<Object,Integer> resolveInListBuckets(
+			ParameterMetadata parameterMetadata,
+			QueryParameterBindings parameterBindings,
+			Dialect dialect) {
+		Map<Object,Integer> inListBuckets = null;
 		for ( QueryParameter<?> queryParameter : parameterMetadata.collectAllParameters() ) {
-			if ( queryParameter.allowsMultiValuedBinding() ) {
-				return true;
+			if ( !queryParameter.allowsMultiValuedBinding() ) {
+				continue;
+			}
+
+			final QueryParameterBinding<?> binding = parameterBindings.getBinding( queryParameter );
+			if ( binding == null || !binding.isMultiValued() ) {
+				continue;
+			}
+
+			if ( inListBuckets == null ) {
+				inListBuckets = new HashMap<>();
 			}
+			inListBuckets.put(
+					queryParameter.getName() != null ? queryParameter.getName() : queryParameter.getPosition(),
+					ConversionHelper.determineRenderedValueCount( binding, dialect )
+			);
 		}
-		return false;
-	}
 
-	private static boolean hasLimit(Limit limit) {
-		return limit.getFirstRow() != null || limit.getMaxRows() != null;
+		return inListBuckets == null ? Collections.emptyMap() : inListBuckets;
 	}
 
 	private static boolean definesLocking(LockOptions lockOptions) {
@@ -78,14 +111,37 @@ class SqmInterpretationsKey implements QueryInterpretations.Key {
 	private final TupleTransformer tupleTransformer;
 	private final ResultListTransformer resultListTransformer;
 
+	// limit/offset are rendered as parameters, so only the "shape" of the Limit matters - unless
+	// the Dialect does not support a variable limit, in which case the values are rendered
+	private final LimitShape limitShape;
+	private final LimitValues literalLimitValues;
+
+	// multi-valued (IN-list) parameters are rendered with the number of values padded to
+	// a bucket size; the SQL depends on the bucket size for each such parameter
+	private final Map<Object,Integer> inListBuckets;
+
+	// rendered into the SQL
+	private final String comment;
+	private final List<String> databaseHints;
+
 	private SqmInterpretationsKey(
 			SqmStatement sqmStatement,
 			Class resultType,
-			QueryOptions queryOptions) {
+			QueryOptions queryOptions,
+			LimitValues literalLimitValues,
+			Map<Object,Integer> inListBuckets) {
 		this.sqmStatement = sqmStatement;
 		this.resultType = resultType;
 		this.tupleTransformer = queryOptions.getTupleTransformer();
 		this.resultListTransformer = queryOptions.getResultListTransformer();
+		this.limitShape = LimitShape.fromLimit( queryOptions.getLimit() );
+		this.literalLimitValues = literalLimitValues;
+		this.inListBuckets = inListBuckets;
+		this.comment = queryOptions.getComment();
+		// the hints are mutable
+		this.databaseHints = queryOptions.getDatabaseHints() == null
+				? Collections.emptyList()
+				: new ArrayList<>( queryOptions.getDatabaseHints() );
 	}
 
 	@Override
@@ -101,7 +157,12 @@ class SqmInterpretationsKey implements QueryInterpretations.Key {
 		return sqmStatement.equals( that.sqmStatement )
 				&& areEqual( resultType, that.resultType )
 				&& areEqual( tupleTransformer, that.tupleTransformer )
-				&& areEqual( resultListTransformer, that.resultListTransformer );
+				&& areEqual( resultListTransformer, that.resultListTransformer )
+				&& limitShape == that.limitShape
+				&& areEqual( literalLimitValues, that.literalLimitValues )
+				&& inListBuckets.equals( that.inListBuckets )
+				&& areEqual( comment, that.comment )
+				&& databaseHints.equals( that.databaseHints );
 	}
 
 	private <T> boolean areEqual(T o1, T o2) {
@@ -119,6 +180,11 @@ class SqmInterpretationsKey implements QueryInterpretations.Key {
 		result = 31 * result + ( resultType != null ? resultType.hashCode() : 0 );
 		result = 31 * result + ( tupleTransformer != null ? tupleTransformer.hashCode() : 0 );
 		result = 31 * result + ( resultListTransformer != null ? resultListTransformer.hashCode() : 0 );
+		result = 31 * result + limitShape.hashCode();
+		result = 31 * result + ( literalLimitValues != null ? literalLimitValues.hashCode() : 0 );
+		result = 31 * result + inListBuckets.hashCode();
+		result = 31 * result + ( comment != null ? comment.hashCode() : 0 );
+		result = 31 * result + databaseHints.hashCode();
 		return result;
 	}
 }
@@ -6,6 +6,8 @@
  */
 package org.hibernate.query.proposed.spi;
 
+import java.util.function.Supplier;
+
 /**
  * Acts as a cache for QueryPlans used (and produced) by the translation
  * and execution of a query.
@@ -21,4 +23,30 @@ public interface QueryInterpretations {
 
 	NonSelectQueryPlan getNonSelectQueryPlan(Key key);
 	void cacheNonSelectQueryPlan(Key key, NonSelectQueryPlan plan);
+
+	/**
+	 * Resolve the SelectQueryPlan cached under the given key, using the given creator
+	 * to build (and cache) it if not already cached
+	 */
+	default SelectQueryPlan resolveSelectQueryPlan(Key key, Supplier<SelectQueryPlan> creator) {
+		SelectQueryPlan plan = getSelectQueryPlan( key );
+		if ( plan == null ) {
+			plan = creator.get();
+			cacheSelectQueryPlan( key, plan );
+		}
+		return plan;
+	}
+
+	/**
+	 * Resolve the NonSelectQueryPlan cached under the given key, using the given creator
+	 * to build (and cache) it if not already cached
+	 */
+	default NonSelectQueryPlan resolveNonSelectQueryPlan(Key key, Supplier<NonSelectQueryPlan> creator) {
+		NonSelectQueryPlan plan = getNonSelectQueryPlan( key );
+		if ( plan == null ) {
+			plan = creator.get();
+			cacheNonSelectQueryPlan( key, plan );
+		}
+		return plan;
+	}
 }
@@ -0,0 +1,348 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.ast;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.sql.ast.expression.AbstractParameter;
+import org.hibernate.sql.ast.expression.Expression;
+import org.hibernate.sql.ast.expression.QueryLiteral;
+import org.hibernate.sql.ast.from.TableGroupJoin;
+import org.hibernate.sql.ast.from.TableSpace;
+import org.hibernate.sql.ast.predicate.BetweenPredicate;
+import org.hibernate.sql.ast.predicate.GroupedPredicate;
+import org.hibernate.sql.ast.predicate.InListPredicate;
+import org.hibernate.sql.ast.predicate.InSubQueryPredicate;
+import org.hibernate.sql.ast.predicate.Junction;
+import org.hibernate.sql.ast.predicate.LikePredicate;
+import org.hibernate.sql.ast.predicate.NegatedPredicate;
+import org.hibernate.sql.ast.predicate.NullnessPredicate;
+import org.hibernate.sql.ast.predicate.Predicate;
+import org.hibernate.sql.ast.predicate.RelationalPredicate;
+import org.hibernate.type.IntegerType;
+
+/**
+ * Rewrites the predicates of a (completely built) SQL AST into a simpler, equivalent form
+ * prior to it being rendered :<ul>
+ *     <li>nested conjunctions/disjunctions are flattened and single-element ones unwrapped</li>
+ *     <li>empty junctions are removed</li>
+ *     <li>comparisons between literals ({@code 1=1} e.g.) are folded</li>
+ *     <li>negations are pushed inward (removing double negations)</li>
+ *     <li>a single-element in-list becomes an equality</li>
+ * </ul>
+ *
+ * @author Steve Ebersole
+ */
+public class PredicateSimplifier {
+	/**
+	 * Simplify the where-clause (including that of any sub-queries), the having-clause and
+	 * the join predicates of the given query.
+	 */
+	public static void simplifyPredicates(QuerySpec querySpec) {
+		if ( querySpec.getWhereClauseRestrictions() != null ) {
+			querySpec.replaceWhereClauseRestrictions( simplify( querySpec.getWhereClauseRestrictions() ) );
+		}
+
+		if ( querySpec.getHavingClauseRestrictions() != null ) {
+			querySpec.replaceHavingClauseRestrictions( simplify( querySpec.getHavingClauseRestrictions() ) );
+		}
+
+		for ( TableSpace tableSpace : querySpec.getFromClause().getTableSpaces() ) {
+			for ( TableGroupJoin tableGroupJoin : tableSpace.getJoinedTableGroups() ) {
+				if ( tableGroupJoin.getPredicate() instanceof Junction ) {
+					simplifyInPlace( (Junction) tableGroupJoin.getPredicate() );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Simplify the given predicate
+	 *
+	 * @return The simplified equivalent.  An empty Junction if the predicate is always true
+	 */
+	public static Predicate simplify(Predicate predicate) {
+		final Predicate simplified = simplify( predicate, false );
+		if ( simplified == TRUE ) {
+			return new Junction( Junction.Nature.CONJUNCTION );
+		}
+		if ( simplified == FALSE ) {
+			return new RelationalPredicate(
+					RelationalPredicate.Operator.EQUAL,
+					new QueryLiteral( 1, IntegerType.INSTANCE, false ),
+					new QueryLiteral( 0, IntegerType.INSTANCE, false )
+			);
+		}
+		return simplified;
+	}
+
+	private static void simplifyInPlace(Junction junction) {
+		final Predicate simplified = simplify( junction, false );
+		if ( simplified == TRUE || simplified == FALSE ) {
+			// leave a constant join predicate alone, dropping it would leave the join without an on-clause
+			return;
+		}
+
+		junction.getPredicates().clear();
+		if ( simplified instanceof Junction && ( (Junction) simplified ).getNature() == junction.getNature() ) {
+			junction.getPredicates().addAll( ( (Junction) simplified ).getPredicates() );
+		}
+		else {
+			junction.add( group( simplified, junction.getNature() ) );
+		}
+	}
+
+	// markers for predicates found to be constant; never part of the simplified result
+	private static final Predicate TRUE = new Junction( Junction.Nature.CONJUNCTION );
+	private static final Predicate FALSE = new Junction( Junction.Nature.DISJUNCTION );
+
+	private static Predicate simplify(Predicate predicate, boolean negated) {
+		if ( predicate instanceof Junction ) {
+			return simplifyJunction( (Junction) predicate, negated );
+		}
+
+		if ( predicate instanceof GroupedPredicate ) {
+			// grouping is re-applied where needed when the junctions are rebuilt
+			return simplify( ( (GroupedPredicate) predicate ).getSubPredicate(), negated );
+		}
+
+		if ( predicate instanceof NegatedPredicate ) {
+			if ( predicate.isEmpty() ) {
+				// rendered as nothing
+				return TRUE;
+			}
+			return simplify( ( (NegatedPredicate) predicate ).getPredicate(), !negated );
+		}
+
+		if ( predicate instanceof RelationalPredicate ) {
+			return simplifyRelational( (RelationalPredicate) predicate, negated );
+		}
+
+		if ( predicate instanceof InListPredicate ) {
+			return simplifyInList( (InListPredicate) predicate, negated );
+		}
+
+		if ( predicate instanceof InSubQueryPredicate ) {
+			final InSubQueryPredicate inSubQueryPredicate = (InSubQueryPredicate) predicate;
+			simplifyPredicates( inSubQueryPredicate.getSubQuery() );
+			if ( !negated ) {
+				return predicate;
+			}
+			return new InSubQueryPredicate(
+					inSubQueryPredicate.getTestExpression(),
+					inSubQueryPredicate.getSubQuery(),
+					!inSubQueryPredicate.isNegated()
+			);
+		}
+
+		if ( !negated ) {
+			return predicate;
+		}
+
+		if ( predicate instanceof NullnessPredicate ) {
+			final NullnessPredicate nullnessPredicate = (NullnessPredicate) predicate;
+			return new NullnessPredicate( nullnessPredicate.getExpression(), !nullnessPredicate.isNegated() );
+		}
+
+		if ( predicate instanceof BetweenPredicate ) {
+			final BetweenPredicate betweenPredicate = (BetweenPredicate) predicate;
+			return new BetweenPredicate(
+					betweenPredicate.getExpression(),
+					betweenPredicate.getLowerBound(),
+					betweenPredicate.getUpperBound(),
+					!betweenPredicate.isNegated()
+			);
+		}
+
+		if ( predicate instanceof LikePredicate ) {
+			final LikePredicate likePredicate = (LikePredicate) predicate;
+			return new LikePredicate(
+					likePredicate.getMatchExpression(),
+					likePredicate.getPattern(),
+					likePredicate.getEscapeCharacter(),
+					!likePredicate.isNegated()
+			);
+		}
+
+		return new NegatedPredicate( predicate );
+	}
+
+	private static Predicate simplifyJunction(Junction junction, boolean negated) {
+		if ( junction.isEmpty() ) {
+			// rendered as nothing, whether negated or not
+			return TRUE;
+		}
+
+		// De Morgan
+		final Junction.Nature nature = negated ? flip( junction.getNature() ) : junction.getNature();
+		// the value which decides the junction (false for a conjunction) and the one which is redundant
+		final Predicate decisive = nature == Junction.Nature.CONJUNCTION ? FALSE : TRUE;
+		final Predicate redundant = nature == Junction.Nature.CONJUNCTION ? TRUE : FALSE;
+
+		final List<Predicate> components = new ArrayList<>();
+		for ( Predicate component : junction.getPredicates() ) {
+			final Predicate simplified = simplify( component, negated );
+			if ( simplified == decisive ) {
+				return decisive;
+			}
+			if ( simplified == redundant ) {
+				continue;
+			}
+
+			if ( simplified instanceof Junction && ( (Junction) simplified ).getNature() == nature ) {
+				components.addAll( ( (Junction) simplified ).getPredicates() );
+			}
+			else {
+				components.add( simplified );
+			}
+		}
+
+		if ( components.isEmpty() ) {
+			return redundant;
+		}
+
+		if ( components.size() == 1 ) {
+			return components.get( 0 );
+		}
+
+		final Junction simplified = new Junction( nature );
+		for ( Predicate component : components ) {
+			simplified.add( group( component, nature ) );
+		}
+		return simplified;
+	}
+
+	private static Predicate group(Predicate component, Junction.Nature containingNature) {
+		// a junction of the other nature needs parenthesis within this one
+		if ( component instanceof Junction && ( (Junction) component ).getNature() != containingNature ) {
+			return new GroupedPredicate( component );
+		}
+		return component;
+	}
+
+	private static Junction.Nature flip(Junction.Nature nature) {
+		return nature == Junction.Nature.CONJUNCTION ? Junction.Nature.DISJUNCTION : Junction.Nature.CONJUNCTION;
+	}
+
+	private static Predicate simplifyRelational(RelationalPredicate relationalPredicate, boolean negated) {
+		final RelationalPredicate.Operator operator = negated
+				? relationalPredicate.getOperator().negate()
+				: relationalPredicate.getOperator();
+
+		final Boolean folded = fold(
+				operator,
+				relationalPredicate.getLeftHandExpression(),
+				relationalPredicate.getRightHandExpression()
+		);
+		if ( folded != null ) {
+			return folded ? TRUE : FALSE;
+		}
+
+		if ( !negated ) {
+			return relationalPredicate;
+		}
+
+		return new RelationalPredicate(
+				operator,
+				relationalPredicate.getLeftHandExpression(),
+				relationalPredicate.getRightHandExpression()
+		);
+	}
+
+	/**
+	 * Evaluate a comparison of 2 literals.  Only numeric and boolean values are considered,
+	 * the outcome of comparing strings (e.g.) depends on the database collation.
+	 *
+	 * @return The outcome, or {@code null} if the comparison cannot be evaluated here
+	 */
+	@SuppressWarnings("unchecked")
+	private static Boolean fold(RelationalPredicate.Operator operator, Expression lhs, Expression rhs) {
+		if ( !( lhs instanceof QueryLiteral ) || !( rhs instanceof QueryLiteral ) ) {
+			return null;
+		}
+
+		final Object lhsValue = ( (QueryLiteral) lhs ).getValue();
+		final Object rhsValue = ( (QueryLiteral) rhs ).getValue();
+		if ( lhsValue == null || rhsValue == null || lhsValue.getClass() != rhsValue.getClass() ) {
+			return null;
+		}
+
+		if ( lhsValue instanceof Boolean ) {
+			switch ( operator ) {
+				case EQUAL: {
+					return lhsValue.equals( rhsValue );
+				}
+				case NOT_EQUAL: {
+					return !lhsValue.equals( rhsValue );
+				}
+				default: {
+					return null;
+				}
+			}
+		}
+
+		if ( !( lhsValue instanceof Number ) || !( lhsValue instanceof Comparable ) ) {
+			return null;
+		}
+
+		final int comparison = ( (Comparable) lhsValue ).compareTo( rhsValue );
+		switch ( operator ) {
+			case EQUAL: {
+				return comparison == 0;
+			}
+			case NOT_EQUAL: {
+				return comparison != 0;
+			}
+			case GT: {
+				return comparison > 0;
+			}
+			case GE: {
+				return comparison >= 0;
+			}
+			case LT: {
+				return comparison < 0;
+			}
+			case LE: {
+				return comparison <= 0;
+			}
+			default: {
+				return null;
+			}
+		}
+	}
+
+	private static Predicate simplifyInList(InListPredicate inListPredicate, boolean negated) {
+		final boolean effectivelyNegated = negated != inListPredicate.isNegated();
+
+		// a parameter may expand into multiple values when the SQL is rendered
+		if ( inListPredicate.getListExpressions().size() == 1
+				&& !( inListPredicate.getListExpressions().get( 0 ) instanceof AbstractParameter ) ) {
+			return simplifyRelational(
+					new RelationalPredicate(
+							effectivelyNegated ? RelationalPredicate.Operator.NOT_EQUAL : RelationalPredicate.Operator.EQUAL,
+							inListPredicate.getTestExpression(),
+							inListPredicate.getListExpressions().get( 0 )
+					),
+					false
+			);
+		}
+
+		if ( !negated ) {
+			return inListPredicate;
+		}
+
+		return new InListPredicate(
+				inListPredicate.getTestExpression(),
+				inListPredicate.getListExpressions(),
+				effectivelyNegated
+		);
+	}
+
+	private PredicateSimplifier() {
+	}
+}
@@ -6,7 +6,13 @@
  */
 package org.hibernate.sql.ast;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.sql.ast.expression.Expression;
 import org.hibernate.sql.ast.from.FromClause;
+import org.hibernate.sql.ast.predicate.GroupedPredicate;
+import org.hibernate.sql.ast.predicate.Junction;
 import org.hibernate.sql.ast.predicate.Predicate;
 import org.hibernate.sql.ast.select.SelectClause;
 
@@ -18,8 +24,8 @@ public class QuerySpec {
 	private final SelectClause selectClause = new SelectClause();
 
 	private Predicate whereClauseRestrictions;
-
-	// where clause, etc
+	private final List<Expression> groupByExpressions = new ArrayList<>();
+	private Predicate havingClauseRestrictions;
 
 	public FromClause getFromClause() {
 		return fromClause;
@@ -39,4 +45,58 @@ public class QuerySpec {
 		}
 		this.whereClauseRestrictions = whereClauseRestrictions;
 	}
+
+	void replaceWhereClauseRestrictions(Predicate whereClauseRestrictions) {
+		this.whereClauseRestrictions = whereClauseRestrictions;
+	}
+
+	/**
+	 * Add a restriction to the where-clause, in conjunction with any existing restrictions
+	 */
+	public void addRestriction(Predicate restriction) {
+		if ( whereClauseRestrictions == null || whereClauseRestrictions.isEmpty() ) {
+			whereClauseRestrictions = restriction;
+		}
+		else if ( whereClauseRestrictions instanceof Junction
+				&& ( (Junction) whereClauseRestrictions ).getNature() == Junction.Nature.CONJUNCTION ) {
+			( (Junction) whereClauseRestrictions ).add( groupForConjunction( restriction ) );
+		}
+		else {
+			final Junction conjunction = new Junction( Junction.Nature.CONJUNCTION );
+			conjunction.add( groupForConjunction( whereClauseRestrictions ) );
+			conjunction.add( groupForConjunction( restriction ) );
+			whereClauseRestrictions = conjunction;
+		}
+	}
+
+	private static Predicate groupForConjunction(Predicate predicate) {
+		// a disjunction needs parenthesis within the conjunction
+		if ( predicate instanceof Junction && ( (Junction) predicate ).getNature() == Junction.Nature.DISJUNCTION ) {
+			return new GroupedPredicate( predicate );
+		}
+		return predicate;
+	}
+
+	public List<Expression> getGroupByExpressions() {
+		return groupByExpressions;
+	}
+
+	public void addGroupByExpression(Expression expression) {
+		groupByExpressions.add( expression );
+	}
+
+	public Predicate getHavingClauseRestrictions() {
+		return havingClauseRestrictions;
+	}
+
+	public void setHavingClauseRestrictions(Predicate havingClauseRestrictions) {
+		if ( this.havingClauseRestrictions != null ) {
+			throw new UnsupportedOperationException( "Cannot set having-clause restrictions after already set" );
+		}
+		this.havingClauseRestrictions = havingClauseRestrictions;
+	}
+
+	void replaceHavingClauseRestrictions(Predicate havingClauseRestrictions) {
+		this.havingClauseRestrictions = havingClauseRestrictions;
+	}
 }
@@ -8,6 +8,8 @@ package org.hibernate.sql.ast.expression;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Iterator;
 
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.query.proposed.spi.QueryParameterBinding;
@@ -17,6 +19,7 @@ import org.hibernate.sql.ast.select.SqlSelectable;
 import org.hibernate.sql.convert.results.internal.ReturnScalarImpl;
 import org.hibernate.sql.convert.results.spi.Return;
 import org.hibernate.sql.convert.results.spi.ReturnResolutionContext;
+import org.hibernate.sql.convert.spi.ConversionHelper;
 import org.hibernate.sql.convert.spi.ParameterSpec;
 import org.hibernate.sql.exec.results.process.internal.SqlSelectionReaderImpl;
 import org.hibernate.sql.exec.results.process.spi2.SqlSelectionReader;
@@ -83,6 +86,10 @@ public abstract class AbstractParameter
 			int startPosition,
 			QueryParameterBinding valueBinding,
 			SharedSessionContractImplementor session) throws SQLException {
+		if ( valueBinding != null && valueBinding.isMultiValued() ) {
+			return bindMultiValuedParameterValue( statement, startPosition, valueBinding, session );
+		}
+
 		final Type bindType;
 		final Object bindValue;
 
@@ -113,6 +120,43 @@ public abstract class AbstractParameter
 		return bindType.getColumnSpan( session.getFactory() );
 	}
 
+	private int bindMultiValuedParameterValue(
+			PreparedStatement statement,
+			int startPosition,
+			QueryParameterBinding valueBinding,
+			SharedSessionContractImplementor session) throws SQLException {
+		final Collection bindValues = valueBinding.getBindValues();
+
+		Type bindType = valueBinding.getBindType();
+		if ( bindType == null ) {
+			bindType = inferredType;
+		}
+		if ( bindType == null ) {
+			unresolvedType();
+		}
+		assert bindType != null;
+
+		final int columnSpan = bindType.getColumnSpan( session.getFactory() );
+
+		// the SQL renders the padded number of values; fill the padding with the last value
+		final int renderedValueCount = ConversionHelper.determineRenderedValueCount(
+				valueBinding,
+				session.getFactory().getJdbcServices().getJdbcEnvironment().getDialect()
+		);
+		int position = startPosition;
+		Object bindValue = null;
+		final Iterator itr = bindValues.iterator();
+		for ( int i = 0; i < renderedValueCount; i++ ) {
+			if ( itr.hasNext() ) {
+				bindValue = itr.next();
+			}
+			bindType.nullSafeSet( statement, bindValue, position, session );
+			position += columnSpan;
+		}
+
+		return position - startPosition;
+	}
+
 	protected abstract void warnNoBinding();
 
 	protected abstract void unresolvedType();
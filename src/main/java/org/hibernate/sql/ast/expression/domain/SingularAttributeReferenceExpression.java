@@ -34,7 +34,7 @@ public class SingularAttributeReferenceExpression implements DomainReferenceExpr
 	private final PropertyPath propertyPath;
 
 	private final Selectable selectable;
-	private List<ColumnBinding> columnBindings;
+	private final List<ColumnBinding> columnBindings;
 
 	public SingularAttributeReferenceExpression(
 			ColumnBindingSource columnBindingSource,
@@ -44,6 +44,10 @@ public class SingularAttributeReferenceExpression implements DomainReferenceExpr
 		this.referencedAttribute = referencedAttribute;
 		this.propertyPath = propertyPath;
 
+		// resolve the ColumnBindings up front : this is what registers the reference to
+		// the attribute's table with the TableGroup (e.g. to join a subclass table) which
+		// needs to happen while the SQL AST is built, not while it is rendered
+		this.columnBindings = resolveNonSelectColumnBindings();
 		this.selectable = resolveSelectable( referencedAttribute );
 	}
 
@@ -111,9 +115,6 @@ public class SingularAttributeReferenceExpression implements DomainReferenceExpr
 
 	@Override
 	public List<ColumnBinding> getColumnBindings() {
-		if ( columnBindings == null ) {
-			columnBindings = resolveNonSelectColumnBindings();
-		}
 		return columnBindings;
 	}
 
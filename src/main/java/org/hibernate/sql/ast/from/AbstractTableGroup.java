@@ -7,6 +7,7 @@
 package org.hibernate.sql.ast.from;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.SortedMap;
@@ -93,6 +94,20 @@ public abstract class AbstractTableGroup implements TableGroup, ColumnBindingSou
 
 	@Override
 	public TableBinding locateTableBinding(Table table) {
+		final TableBinding tableBinding = findTableBinding( table );
+		if ( tableBinding == null ) {
+			throw new IllegalStateException( "Could not resolve binding for table : " + table );
+		}
+		return tableBinding;
+	}
+
+	/**
+	 * Find the binding for the given table amongst the root table and the table joins
+	 * of this group.
+	 *
+	 * @return The binding, or {@code null} if the table is not (yet) part of this group
+	 */
+	protected TableBinding findTableBinding(Table table) {
 		if ( table == getRootTableBinding().getTable() ) {
 			return getRootTableBinding();
 		}
@@ -109,7 +124,7 @@ public abstract class AbstractTableGroup implements TableGroup, ColumnBindingSou
 			}
 		}
 
-		throw new IllegalStateException( "Could not resolve binding for table : " + table );
+		return null;
 	}
 
 	public void addTableSpecificationJoin(TableJoin join) {
@@ -120,6 +135,21 @@ public abstract class AbstractTableGroup implements TableGroup, ColumnBindingSou
 		tableJoins.add( join );
 	}
 
+	void removeTableJoin(TableJoin join) {
+		log.tracef( "Removing TableSpecification join [%s] from group [%s]", join, this );
+		if ( tableJoins != null ) {
+			tableJoins.remove( join );
+		}
+	}
+
+	/**
+	 * The ColumnBindings resolved against this group so far; i.e. the columns of this
+	 * group referenced from the query
+	 */
+	Collection<ColumnBinding> getResolvedColumnBindings() {
+		return columnBindingMap.values();
+	}
+
 	private final SortedMap<Column,ColumnBinding> columnBindingMap = new TreeMap<>(
 			(column1, column2) -> {
 				// Sort primarily on table expression
@@ -17,14 +17,22 @@ import org.hibernate.type.BasicType;
 
 /**
  * Represents a binding of a column (derived or physical) into a SQL statement
+ * <p/>
+ * A binding is resolved once per column of a TableGroup and shared by all expressions
+ * referring to that column.  Its equality is identity based : the binding may be
+ * re-pointed at another column (see {@link JoinEliminator}) while it is held in hash
+ * based collections.
  *
  * @author Steve Ebersole
  */
 public class ColumnBinding implements SqlSelectable {
-	private final String identificationVariable;
-	private final Column column;
+	private String identificationVariable;
+	private Column column;
 	private final SqlSelectionReader sqlSelectionReader;
 
+	// the column rendered against the identification variable, kept for re-rendering the AST
+	private String renderedColumn;
+
 	public ColumnBinding(Column column, BasicType type, TableBinding tableBinding) {
 		this.identificationVariable = tableBinding.getIdentificationVariable();
 		this.column = column;
@@ -41,6 +49,24 @@ public class ColumnBinding implements SqlSelectable {
 		this( column, column.getJdbcType(), tableBinding );
 	}
 
+	/**
+	 * Re-point this binding at an equivalent column of another table (the FK column
+	 * of a to-one join which is being eliminated e.g.).  All expressions sharing this
+	 * binding are affected.
+	 */
+	void rebind(ColumnBinding equivalent) {
+		this.identificationVariable = equivalent.getIdentificationVariable();
+		this.column = equivalent.getColumn();
+		this.renderedColumn = null;
+	}
+
+	public String getRenderedColumn() {
+		if ( renderedColumn == null ) {
+			renderedColumn = column.render( identificationVariable );
+		}
+		return renderedColumn;
+	}
+
 	public Column getColumn() {
 		return column;
 	}
@@ -59,27 +85,6 @@ public class ColumnBinding implements SqlSelectable {
 		interpreter.visitColumnBinding( this );
 	}
 
-	@Override
-	public boolean equals(Object o) {
-		if ( this == o ) {
-			return true;
-		}
-		if ( o == null || getClass() != o.getClass() ) {
-			return false;
-		}
-
-		final ColumnBinding that = (ColumnBinding) o;
-		return getIdentificationVariable().equals( that.getIdentificationVariable() )
-				&& getColumn().equals( that.getColumn() );
-	}
-
-	@Override
-	public int hashCode() {
-		int result = getIdentificationVariable().hashCode();
-		result = 31 * result + getColumn().hashCode();
-		return result;
-	}
-
 	@Override
 	public String toString() {
 		return String.format(
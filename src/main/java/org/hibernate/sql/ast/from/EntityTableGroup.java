@@ -7,11 +7,14 @@
 package org.hibernate.sql.ast.from;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.hibernate.loader.PropertyPath;
+import org.hibernate.persister.common.internal.UnionSubclassTable;
 import org.hibernate.persister.common.spi.Column;
 import org.hibernate.persister.common.spi.DomainDescriptor;
+import org.hibernate.persister.common.spi.Table;
 import org.hibernate.persister.entity.spi.ImprovedEntityPersister;
 import org.hibernate.sql.ast.expression.domain.EntityReferenceExpression;
 import org.hibernate.sql.ast.select.Selectable;
@@ -30,6 +33,10 @@ public class EntityTableGroup extends AbstractTableGroup implements Selectable {
 	private EntityReferenceExpression selectableExpression;
 	private List<ColumnBinding> identifierColumnBindings;
 
+	// joins to subclass tables which are only made part of the group once a column of
+	// that table is referenced
+	private List<TableJoin> deferredTableJoins;
+
 	public EntityTableGroup(
 			TableSpace tableSpace,
 			String uid,
@@ -61,6 +68,76 @@ public class EntityTableGroup extends AbstractTableGroup implements Selectable {
 		return persister;
 	}
 
+	/**
+	 * Register a join to a (subclass) table which should only be rendered if the query
+	 * actually refers to that table : a column of the table is referenced (an attribute
+	 * defined on that subclass e.g.) or the concrete type of the entity needs to be
+	 * determined.
+	 */
+	public void addDeferredTableJoin(TableJoin join) {
+		if ( deferredTableJoins == null ) {
+			deferredTableJoins = new ArrayList<>();
+		}
+		deferredTableJoins.add( join );
+	}
+
+	/**
+	 * Restrict the rows of this group to instances of the given subclass (TREAT e.g.).  For
+	 * union-subclass entities this limits the union to just the subclass's concrete tables.
+	 */
+	public void restrictToSubclass(ImprovedEntityPersister subclassPersister) {
+		if ( !( getRootTableBinding().getTable() instanceof UnionSubclassTable )
+				|| !( subclassPersister.getRootTable() instanceof UnionSubclassTable ) ) {
+			return;
+		}
+
+		getRootTableBinding().restrictConcreteTables(
+				( (UnionSubclassTable) subclassPersister.getRootTable() ).getConcreteTableNames()
+		);
+	}
+
+	@Override
+	protected TableBinding findTableBinding(Table table) {
+		final TableBinding tableBinding = super.findTableBinding( table );
+		if ( tableBinding != null || deferredTableJoins == null ) {
+			return tableBinding;
+		}
+
+		final Iterator<TableJoin> itr = deferredTableJoins.iterator();
+		while ( itr.hasNext() ) {
+			final TableJoin deferredTableJoin = itr.next();
+			if ( deferredTableJoin.getJoinedTableBinding().getTable() == table ) {
+				itr.remove();
+				addTableSpecificationJoin( deferredTableJoin );
+				return deferredTableJoin.getJoinedTableBinding();
+			}
+		}
+
+		return null;
+	}
+
+	@Override
+	public ColumnBinding resolveColumnBinding(Column column) {
+		if ( persister.getDiscriminatorDescriptor() != null
+				&& persister.getDiscriminatorDescriptor().getColumns().contains( column ) ) {
+			// determining the concrete type of the entity (from the discriminator, or for
+			// joined-inheritance which subclass tables have a row) needs all of the subclass tables
+			addDeferredTableJoins();
+			getRootTableBinding().markConcreteTypeRequired();
+		}
+
+		return super.resolveColumnBinding( column );
+	}
+
+	private void addDeferredTableJoins() {
+		if ( deferredTableJoins == null ) {
+			return;
+		}
+
+		deferredTableJoins.forEach( this::addTableSpecificationJoin );
+		deferredTableJoins = null;
+	}
+
 	@Override
 	public Selectable getSelectable() {
 		return this;
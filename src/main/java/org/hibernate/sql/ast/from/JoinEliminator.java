@@ -0,0 +1,185 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.ast.from;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.persister.common.spi.Column;
+import org.hibernate.sql.ast.QuerySpec;
+import org.hibernate.sql.ast.expression.ColumnBindingExpression;
+import org.hibernate.sql.ast.predicate.Junction;
+import org.hibernate.sql.ast.predicate.NullnessPredicate;
+import org.hibernate.sql.ast.predicate.Predicate;
+import org.hibernate.sql.ast.predicate.RelationalPredicate;
+import org.hibernate.sqm.query.JoinType;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Removes the joins of a (completely built) SQL AST which contribute nothing to the query,
+ * prior to it being rendered :<ul>
+ *     <li>
+ *         a left join to an (optional) secondary or subclass table none of whose columns
+ *         are referenced
+ *     </li>
+ *     <li>
+ *         a to-one join whose only referenced columns are the joined entity's identifier
+ *         columns - the references are re-pointed at the FK columns of the owner table.  For
+ *         an inner join the FK columns are restricted to be not null in its place.
+ *     </li>
+ * </ul>
+ * Whether a column is referenced is based on the ColumnBindings which have been resolved
+ * against the TableGroup while building the AST.
+ *
+ * @author Steve Ebersole
+ */
+public class JoinEliminator {
+	private static final Logger log = Logger.getLogger( JoinEliminator.class );
+
+	public static void eliminateUnusedJoins(QuerySpec querySpec) {
+		for ( TableSpace tableSpace : querySpec.getFromClause().getTableSpaces() ) {
+			eliminateUnusedTableJoins( tableSpace.getRootTableGroup() );
+
+			// later joins may depend on earlier ones, so look at them in reverse order
+			final List<TableGroupJoin> tableGroupJoins = new ArrayList<>( tableSpace.getJoinedTableGroups() );
+			for ( int i = tableGroupJoins.size() - 1; i >= 0; i-- ) {
+				final TableGroupJoin tableGroupJoin = tableGroupJoins.get( i );
+				if ( eliminateToOneJoin( querySpec, tableSpace, tableGroupJoin ) ) {
+					continue;
+				}
+				eliminateUnusedTableJoins( tableGroupJoin.getJoinedGroup() );
+			}
+		}
+	}
+
+	private static void eliminateUnusedTableJoins(TableGroup tableGroup) {
+		if ( !( tableGroup instanceof EntityTableGroup ) ) {
+			// the table joins of other groups (collections) carry join predicates between themselves
+			return;
+		}
+
+		final EntityTableGroup entityTableGroup = (EntityTableGroup) tableGroup;
+		if ( entityTableGroup.getRootTableBinding().isConcreteTypeRequired() ) {
+			// all of the tables are needed to determine the concrete type
+			return;
+		}
+
+		final Set<String> referencedIdentificationVariables = new HashSet<>();
+		for ( ColumnBinding columnBinding : entityTableGroup.getResolvedColumnBindings() ) {
+			referencedIdentificationVariables.add( columnBinding.getIdentificationVariable() );
+		}
+
+		for ( TableJoin tableJoin : new ArrayList<>( entityTableGroup.getTableJoins() ) ) {
+			// an inner join to a class table restricts the rows to that class, keep them
+			if ( tableJoin.getJoinType() != JoinType.LEFT ) {
+				continue;
+			}
+
+			final TableBinding tableBinding = tableJoin.getJoinedTableBinding();
+			if ( !referencedIdentificationVariables.contains( tableBinding.getIdentificationVariable() ) ) {
+				log.debugf( "Eliminating unreferenced table join : %s", tableBinding.getIdentificationVariable() );
+				entityTableGroup.removeTableJoin( tableJoin );
+			}
+		}
+	}
+
+	private static boolean eliminateToOneJoin(QuerySpec querySpec, TableSpace tableSpace, TableGroupJoin tableGroupJoin) {
+		if ( tableGroupJoin.getJoinType() != JoinType.LEFT && tableGroupJoin.getJoinType() != JoinType.INNER ) {
+			return false;
+		}
+
+		if ( !( tableGroupJoin.getJoinedGroup() instanceof EntityTableGroup ) ) {
+			return false;
+		}
+
+		final EntityTableGroup joinedGroup = (EntityTableGroup) tableGroupJoin.getJoinedGroup();
+
+		// the join predicate must equate (owner) FK columns to the joined entity's identifier
+		// columns for the join to be known to match at most one row
+		final Map<ColumnBinding,ColumnBinding> fkBindingByIdentifierBinding = extractJoinColumnBindings(
+				tableGroupJoin.getPredicate(),
+				joinedGroup
+		);
+		if ( fkBindingByIdentifierBinding == null ) {
+			return false;
+		}
+
+		final List<Column> identifierColumns = joinedGroup.getPersister().getIdentifierDescriptor().getColumns();
+		final Set<Column> joinedColumns = new HashSet<>();
+		for ( ColumnBinding identifierBinding : fkBindingByIdentifierBinding.keySet() ) {
+			joinedColumns.add( identifierBinding.getColumn() );
+		}
+		if ( !joinedColumns.equals( new HashSet<>( identifierColumns ) ) ) {
+			return false;
+		}
+
+		for ( ColumnBinding resolved : joinedGroup.getResolvedColumnBindings() ) {
+			if ( !fkBindingByIdentifierBinding.containsKey( resolved ) ) {
+				// some other column of the joined entity is referenced
+				return false;
+			}
+		}
+
+		log.debugf( "Eliminating to-one join : %s", joinedGroup.getAliasBase() );
+
+		for ( Map.Entry<ColumnBinding,ColumnBinding> entry : fkBindingByIdentifierBinding.entrySet() ) {
+			entry.getKey().rebind( entry.getValue() );
+			if ( tableGroupJoin.getJoinType() == JoinType.INNER ) {
+				// the inner join filtered out rows without an association
+				querySpec.addRestriction( new NullnessPredicate( new ColumnBindingExpression( entry.getValue() ), true ) );
+			}
+		}
+
+		tableSpace.removeJoinedTableGroup( tableGroupJoin );
+		return true;
+	}
+
+	private static Map<ColumnBinding,ColumnBinding> extractJoinColumnBindings(
+			Predicate predicate,
+			EntityTableGroup joinedGroup) {
+		if ( !( predicate instanceof Junction ) ) {
+			return null;
+		}
+
+		final Junction junction = (Junction) predicate;
+		if ( junction.getNature() != Junction.Nature.CONJUNCTION || junction.isEmpty() ) {
+			return null;
+		}
+
+		final Map<ColumnBinding,ColumnBinding> fkBindingByIdentifierBinding = new HashMap<>();
+		for ( Predicate component : junction.getPredicates() ) {
+			if ( !( component instanceof RelationalPredicate ) ) {
+				// additional join restrictions (with-clause e.g.)
+				return null;
+			}
+
+			final RelationalPredicate relationalPredicate = (RelationalPredicate) component;
+			if ( relationalPredicate.getOperator() != RelationalPredicate.Operator.EQUAL
+					|| !( relationalPredicate.getLeftHandExpression() instanceof ColumnBindingExpression )
+					|| !( relationalPredicate.getRightHandExpression() instanceof ColumnBindingExpression ) ) {
+				return null;
+			}
+
+			final ColumnBinding fkBinding = ( (ColumnBindingExpression) relationalPredicate.getLeftHandExpression() ).getColumnBinding();
+			final ColumnBinding identifierBinding = ( (ColumnBindingExpression) relationalPredicate.getRightHandExpression() ).getColumnBinding();
+			if ( !identifierBinding.getIdentificationVariable().equals( joinedGroup.getRootTableBinding().getIdentificationVariable() ) ) {
+				return null;
+			}
+			fkBindingByIdentifierBinding.put( identifierBinding, fkBinding );
+		}
+
+		return fkBindingByIdentifierBinding;
+	}
+
+	private JoinEliminator() {
+	}
+}
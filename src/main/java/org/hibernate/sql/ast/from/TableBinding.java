@@ -6,6 +6,9 @@
  */
 package org.hibernate.sql.ast.from;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import org.hibernate.persister.common.spi.Table;
 
 /**
@@ -16,10 +19,24 @@ import org.hibernate.persister.common.spi.Table;
 public class TableBinding {
 	private final Table table;
 	private final String identificationVariable;
+	private final String tableReferenceFragment;
+
+	// for a union-subclass table, the concrete tables in play (null meaning all of them)
+	private Set<String> concreteTableNames;
+	private boolean concreteTypeRequired;
 
 	public TableBinding(Table table, String identificationVariable) {
+		this( table, identificationVariable, table.getTableExpression() + " as " );
+	}
+
+	/**
+	 * @param tableReferenceFragment The rendered table reference, minus the identification
+	 * variable : {@code "<table expression> as "}.  Generally pre-computed by the persister.
+	 */
+	public TableBinding(Table table, String identificationVariable, String tableReferenceFragment) {
 		this.table = table;
 		this.identificationVariable = identificationVariable;
+		this.tableReferenceFragment = tableReferenceFragment;
 	}
 
 	public Table getTable() {
@@ -29,4 +46,38 @@ public class TableBinding {
 	public String getIdentificationVariable() {
 		return identificationVariable;
 	}
+
+	public String getTableReferenceFragment() {
+		return tableReferenceFragment;
+	}
+
+	/**
+	 * Restrict the concrete tables in play for this binding to the given ones.  Multiple
+	 * restrictions are cumulative.
+	 *
+	 * @see org.hibernate.persister.common.internal.UnionSubclassTable#getTableExpression(Set, boolean)
+	 */
+	public void restrictConcreteTables(Set<String> tableNames) {
+		if ( concreteTableNames == null ) {
+			concreteTableNames = new LinkedHashSet<>( tableNames );
+		}
+		else {
+			concreteTableNames.retainAll( tableNames );
+		}
+	}
+
+	public Set<String> getConcreteTableNames() {
+		return concreteTableNames;
+	}
+
+	/**
+	 * Indicate that the query needs to know the concrete type of the rows coming from this binding
+	 */
+	public void markConcreteTypeRequired() {
+		this.concreteTypeRequired = true;
+	}
+
+	public boolean isConcreteTypeRequired() {
+		return concreteTypeRequired;
+	}
 }
@@ -73,4 +73,11 @@ public class TableSpace {
 		}
 		joinedTableGroups.add( join );
 	}
+
+	void removeJoinedTableGroup(TableGroupJoin join) {
+		log.tracef( "Removing TableSpecificationGroup join [%s] from space [%s]", join, this );
+		if ( joinedTableGroups != null ) {
+			joinedTableGroups.remove( join );
+		}
+	}
 }
@@ -78,6 +78,16 @@ public class SelectableEntityTypeImpl implements Selectable {
 			for ( Attribute attribute : entityPersister.getNonIdentifierAttributes() ) {
 				addColumnBindingGroupEntry( attribute, columnBindingGroupMap );
 			}
+
+			// as well as those of the subclasses : which of them is the concrete type of the
+			// entity is only known (from the discriminator) as each row is read
+			for ( ImprovedEntityPersister concreteType : entityPersister.getConcreteEntityPersisters() ) {
+				for ( Attribute attribute : concreteType.getNonIdentifierAttributes() ) {
+					if ( !columnBindingGroupMap.containsKey( attribute ) ) {
+						addColumnBindingGroupEntry( attribute, columnBindingGroupMap );
+					}
+				}
+			}
 		}
 
 		return columnBindingGroupMap;
@@ -123,7 +133,8 @@ public class SelectableEntityTypeImpl implements Selectable {
 				isShallow,
 				buildSqlSelectionGroupMap( returnResolutionContext ),
 				propertyPath,
-				columnBindingSource.getTableGroup().getUid()
+				columnBindingSource.getTableGroup().getUid(),
+				returnResolutionContext.generateInitializerStatePosition()
 		);
 	}
 
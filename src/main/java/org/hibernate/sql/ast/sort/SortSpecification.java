@@ -6,6 +6,7 @@
  */
 package org.hibernate.sql.ast.sort;
 
+import org.hibernate.NullPrecedence;
 import org.hibernate.sql.ast.expression.Expression;
 import org.hibernate.sqm.query.order.SortOrder;
 
@@ -16,11 +17,21 @@ public class SortSpecification {
 	private final Expression sortExpression;
 	private final String collation;
 	private final SortOrder sortOrder;
+	private final NullPrecedence nullPrecedence;
 
 	public SortSpecification(Expression sortExpression, String collation, SortOrder sortOrder) {
+		this( sortExpression, collation, sortOrder, null );
+	}
+
+	public SortSpecification(
+			Expression sortExpression,
+			String collation,
+			SortOrder sortOrder,
+			NullPrecedence nullPrecedence) {
 		this.sortExpression = sortExpression;
 		this.collation = collation;
 		this.sortOrder = sortOrder;
+		this.nullPrecedence = nullPrecedence;
 	}
 
 	public Expression getSortExpression() {
@@ -34,4 +45,12 @@ public class SortSpecification {
 	public SortOrder getSortOrder() {
 		return sortOrder;
 	}
+
+	/**
+	 * The null precedence to render for this sort specification, or {@code null} to
+	 * render the configured default null precedence
+	 */
+	public NullPrecedence getNullPrecedence() {
+		return nullPrecedence;
+	}
 }
@@ -6,10 +6,12 @@
  */
 package org.hibernate.sql.convert.internal;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.hibernate.sql.ast.SelectQuery;
 import org.hibernate.sql.convert.results.spi.Return;
+import org.hibernate.sql.convert.results.spi.ReturnScalar;
 import org.hibernate.sql.convert.spi.SqmSelectInterpretation;
 
 /**
@@ -18,12 +20,25 @@ import org.hibernate.sql.convert.spi.SqmSelectInterpretation;
 public class SqmSelectInterpretationImpl implements SqmSelectInterpretation {
 	private final SelectQuery selectQuery;
 	private final List<Return> queryReturns;
+	private final int numberOfInitializerStates;
+	private final List<ReturnScalar> sortKeyReturns;
 
 	public SqmSelectInterpretationImpl(
 			SelectQuery selectQuery,
-			List<Return> queryReturns) {
+			List<Return> queryReturns,
+			int numberOfInitializerStates) {
+		this( selectQuery, queryReturns, numberOfInitializerStates, Collections.emptyList() );
+	}
+
+	public SqmSelectInterpretationImpl(
+			SelectQuery selectQuery,
+			List<Return> queryReturns,
+			int numberOfInitializerStates,
+			List<ReturnScalar> sortKeyReturns) {
 		this.selectQuery = selectQuery;
 		this.queryReturns = queryReturns;
+		this.numberOfInitializerStates = numberOfInitializerStates;
+		this.sortKeyReturns = sortKeyReturns;
 	}
 
 	@Override
@@ -35,4 +50,14 @@ public class SqmSelectInterpretationImpl implements SqmSelectInterpretation {
 	public List<Return> getQueryReturns() {
 		return queryReturns;
 	}
+
+	@Override
+	public int getNumberOfInitializerStates() {
+		return numberOfInitializerStates;
+	}
+
+	@Override
+	public List<ReturnScalar> getSortKeyReturns() {
+		return sortKeyReturns;
+	}
 }
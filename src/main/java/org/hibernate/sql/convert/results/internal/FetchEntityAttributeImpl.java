@@ -36,7 +36,9 @@ public class FetchEntityAttributeImpl extends AbstractFetchParent implements Fet
 			PropertyPath propertyPath,
 			String tableGroupUid,
 			SingularAttributeEntity fetchedAttribute,
-			ImprovedEntityPersister entityPersister, FetchStrategy fetchStrategy) {
+			ImprovedEntityPersister entityPersister,
+			FetchStrategy fetchStrategy,
+			int initializerStatePosition) {
 		super( propertyPath, tableGroupUid );
 		this.fetchParent = fetchParent;
 		this.fetchedAttribute = fetchedAttribute;
@@ -47,7 +49,8 @@ public class FetchEntityAttributeImpl extends AbstractFetchParent implements Fet
 				fetchParent.getInitializerParentForFetchInitializers(),
 				this,
 				null,
-				false
+				false,
+				initializerStatePosition
 		);
 	}
 
@@ -42,7 +42,8 @@ public class ReturnEntityImpl extends AbstractFetchParent implements ReturnEntit
 			boolean isShallow,
 			Map<Attribute, SqlSelectionGroup> sqlSelectionGroupMap,
 			PropertyPath propertyPath,
-			String tableGroupUid) {
+			String tableGroupUid,
+			int initializerStatePosition) {
 		super( propertyPath, tableGroupUid );
 		this.expression = expression;
 		this.entityPersister = improvedEntityPersister;
@@ -52,7 +53,8 @@ public class ReturnEntityImpl extends AbstractFetchParent implements ReturnEntit
 		this.initializer = new EntityReturnInitializerImpl(
 				this,
 				sqlSelectionGroupMap,
-				isShallow
+				isShallow,
+				initializerStatePosition
 		);
 		assembler = new ReturnAssemblerEntity( this );
 	}
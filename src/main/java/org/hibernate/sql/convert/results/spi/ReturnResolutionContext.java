@@ -16,4 +16,10 @@ public interface ReturnResolutionContext {
 	boolean isShallowQuery();
 
 	SqlSelection resolveSqlSelection(SqlSelectable sqlSelectable);
+
+	/**
+	 * Generate the position, within the RowProcessingState, of the per-execution state
+	 * for an Initializer being built as part of the Return graph
+	 */
+	int generateInitializerStatePosition();
 }
@@ -7,6 +7,7 @@
 package org.hibernate.sql.convert.spi;
 
 import org.hibernate.QueryException;
+import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.persister.common.spi.SingularAttribute;
 import org.hibernate.persister.entity.spi.ImprovedEntityPersister;
@@ -14,7 +15,6 @@ import org.hibernate.query.proposed.spi.ExecutionContext;
 import org.hibernate.query.proposed.spi.QueryParameterBinding;
 import org.hibernate.query.proposed.spi.QueryParameterBindingTypeResolver;
 import org.hibernate.query.proposed.spi.QueryParameterBindings;
-import org.hibernate.sql.NotYetImplementedException;
 import org.hibernate.sql.ast.expression.NamedParameter;
 import org.hibernate.sql.ast.expression.PositionalParameter;
 import org.hibernate.sqm.domain.DomainMetamodel;
@@ -41,10 +41,13 @@ public class ConversionHelper {
 			return parameter.getType();
 		}
 
-		if ( binding.isMultiValued() ) {
-			throw new NotYetImplementedException( "Support for Type determination for multi-valued parameters is not yet implemented" );
+		if ( binding != null && binding.isMultiValued() ) {
+			final Type multiValuedBindType = resolveMultiValuedBindType( binding, executionContext );
+			if ( multiValuedBindType != null ) {
+				return multiValuedBindType;
+			}
 		}
-		else if ( binding.isBound() ) {
+		else if ( binding != null && binding.isBound() ) {
 			return executionContext.resolveParameterBindType( binding.getBindValue() );
 		}
 
@@ -67,7 +70,10 @@ public class ConversionHelper {
 		}
 
 		if ( binding != null && binding.isMultiValued() ) {
-			throw new NotYetImplementedException( "Support for Type determination for multi-valued parameters is not yet implemented" );
+			final Type multiValuedBindType = resolveMultiValuedBindType( binding, executionContext );
+			if ( multiValuedBindType != null ) {
+				return multiValuedBindType;
+			}
 		}
 		else if ( binding != null && binding.isBound() ) {
 			return executionContext.resolveParameterBindType( binding.getBindValue() );
@@ -76,6 +82,51 @@ public class ConversionHelper {
 		throw new QueryException( "Unable to determine Type for positional parameter [?" + parameter.getPosition() + "]" );
 	}
 
+	private static Type resolveMultiValuedBindType(QueryParameterBinding binding, ExecutionContext executionContext) {
+		// all values of a multi-valued binding are expected to be of the same type, use the first non-null one
+		for ( Object value : binding.getBindValues() ) {
+			if ( value != null ) {
+				return executionContext.resolveParameterBindType( value );
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * The number of values rendered (and bound) for the parameter binding.  Multi-valued
+	 * bindings (IN-lists) are padded to the next power of 2 (by repeating the last value)
+	 * so that the number of distinct SQL strings, and therefore query plans and JDBC
+	 * statements, remains small.  The padding never exceeds the Dialect's
+	 * {@link Dialect#getInExpressionCountLimit() limit} on the number of IN-list values.
+	 *
+	 * @return The number of values to render
+	 */
+	public static int determineRenderedValueCount(QueryParameterBinding binding, Dialect dialect) {
+		if ( binding == null || !binding.isMultiValued() ) {
+			return 1;
+		}
+		return padInListSize( binding.getBindValues().size(), dialect.getInExpressionCountLimit() );
+	}
+
+	/**
+	 * Pad the given IN-list size to the next power of 2, capped at the given limit.  An
+	 * empty list is rendered as a single (null) value.  A list already exceeding the limit
+	 * is not padded at all.
+	 *
+	 * @param inExpressionCountLimit The maximum number of IN-list values, or 0 if unlimited
+	 */
+	public static int padInListSize(int size, int inExpressionCountLimit) {
+		if ( size <= 1 ) {
+			return 1;
+		}
+
+		final int paddedSize = Integer.highestOneBit( size - 1 ) << 1;
+		if ( inExpressionCountLimit > 0 && paddedSize > inExpressionCountLimit ) {
+			return Math.max( size, inExpressionCountLimit );
+		}
+		return paddedSize;
+	}
+
 	private ConversionHelper() {
 	}
 
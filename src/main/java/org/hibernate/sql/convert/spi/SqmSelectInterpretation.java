@@ -10,6 +10,7 @@ import java.util.List;
 
 import org.hibernate.sql.ast.SelectQuery;
 import org.hibernate.sql.convert.results.spi.Return;
+import org.hibernate.sql.convert.results.spi.ReturnScalar;
 
 /**
  * @author Steve Ebersole
@@ -17,4 +18,22 @@ import org.hibernate.sql.convert.results.spi.Return;
 public interface SqmSelectInterpretation {
 	SelectQuery getSqlSelectAst();
 	List<Return> getQueryReturns();
+
+	/**
+	 * The number of Initializer state positions generated while building the Returns.
+	 * Each execution needs to allocate this many state slots in its RowProcessingState.
+	 */
+	int getNumberOfInitializerStates();
+
+	/**
+	 * Returns for reading the values of the query's sort expressions (one per
+	 * {@link SelectQuery#getSortSpecifications() SortSpecification}, in the same
+	 * order), used to merge ordered results outside of the database.  These are not
+	 * part of {@link #getQueryReturns()}.
+	 *
+	 * @return The sort-key Returns; an empty List if the query is not ordered, or
+	 * {@code null} if they were not requested when converting the query or not all
+	 * of the sort expressions are basic values
+	 */
+	List<ReturnScalar> getSortKeyReturns();
 }
@@ -9,6 +9,7 @@ package org.hibernate.sql.convert.spi;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -16,6 +17,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.hibernate.AssertionFailure;
+import org.hibernate.NullPrecedence;
 import org.hibernate.engine.FetchStrategy;
 import org.hibernate.engine.FetchStyle;
 import org.hibernate.engine.FetchTiming;
@@ -92,6 +94,7 @@ import org.hibernate.sql.convert.results.spi.FetchParent;
 import org.hibernate.sql.convert.results.spi.Return;
 import org.hibernate.sql.convert.results.spi.ReturnDynamicInstantiation;
 import org.hibernate.sql.convert.results.spi.ReturnResolutionContext;
+import org.hibernate.sql.convert.results.spi.ReturnScalar;
 import org.hibernate.sql.exec.results.process.internal.SqlSelectionImpl;
 import org.hibernate.sqm.BaseSemanticQueryWalker;
 import org.hibernate.sqm.domain.DomainMetamodel;
@@ -142,7 +145,10 @@ import org.hibernate.sqm.query.from.SqmEntityJoin;
 import org.hibernate.sqm.query.from.SqmFromClause;
 import org.hibernate.sqm.query.from.SqmJoin;
 import org.hibernate.sqm.query.from.SqmRoot;
+import org.hibernate.sqm.query.group.SqmGroupByClause;
+import org.hibernate.sqm.query.group.SqmGrouping;
 import org.hibernate.sqm.query.order.OrderByClause;
+import org.hibernate.sqm.query.order.SortOrder;
 import org.hibernate.sqm.query.order.SortSpecification;
 import org.hibernate.sqm.query.predicate.AndSqmPredicate;
 import org.hibernate.sqm.query.predicate.BetweenSqmPredicate;
@@ -155,6 +161,7 @@ import org.hibernate.sqm.query.predicate.NullnessSqmPredicate;
 import org.hibernate.sqm.query.predicate.OrSqmPredicate;
 import org.hibernate.sqm.query.predicate.RelationalPredicateOperator;
 import org.hibernate.sqm.query.predicate.RelationalSqmPredicate;
+import org.hibernate.sqm.query.predicate.SqmHavingClause;
 import org.hibernate.sqm.query.predicate.SqmWhereClause;
 import org.hibernate.sqm.query.select.SqmDynamicInstantiation;
 import org.hibernate.sqm.query.select.SqmDynamicInstantiationArgument;
@@ -195,11 +202,32 @@ public class SqmSelectToSqlAstConverter
 			QueryOptions queryOptions,
 			boolean isShallow,
 			Callback callback) {
+		return interpret( statement, factory, sqmDomainMetamodel, queryOptions, isShallow, false, callback );
+	}
+
+	/**
+	 * Form of {@link #interpret(SqmSelectStatement, SessionFactoryImplementor, DomainMetamodel, QueryOptions, boolean, Callback)}
+	 * additionally allowing to request the {@linkplain SqmSelectInterpretation#getSortKeyReturns() sort-key Returns}.
+	 *
+	 * @param resolveSortKeys {@code true} if the ordered results are to be merged with the
+	 * results of other queries (the concrete queries of a polymorphic query, e.g.).  The sort
+	 * expressions are then selected (if not already), and the null precedence of each sort
+	 * specification is made explicit.
+	 */
+	public static SqmSelectInterpretation interpret(
+			SqmSelectStatement statement,
+			SessionFactoryImplementor factory,
+			DomainMetamodel sqmDomainMetamodel,
+			QueryOptions queryOptions,
+			boolean isShallow,
+			boolean resolveSortKeys,
+			Callback callback) {
 		final SqmSelectToSqlAstConverter walker = new SqmSelectToSqlAstConverter(
 				factory,
 				sqmDomainMetamodel,
 				queryOptions,
 				isShallow,
+				resolveSortKeys,
 				callback
 		);
 		return walker.interpret( statement );
@@ -209,6 +237,7 @@ public class SqmSelectToSqlAstConverter
 	private final DomainMetamodel sqmDomainMetamodel;
 	private final QueryOptions queryOptions;
 	private final boolean isShallow;
+	private final boolean resolveSortKeys;
 	private final Callback callback;
 
 	private final FromClauseIndex fromClauseIndex = new FromClauseIndex();
@@ -219,17 +248,21 @@ public class SqmSelectToSqlAstConverter
 	private int querySpecDepth = 0;
 
 	private final List<Return> queryReturns = new ArrayList<>();
+	private int numberOfInitializerStates;
+	private List<ReturnScalar> sortKeyReturns = Collections.emptyList();
 
 	private SqmSelectToSqlAstConverter(
 			SessionFactoryImplementor factory,
 			DomainMetamodel sqmDomainMetamodel,
 			QueryOptions queryOptions,
 			boolean isShallow,
+			boolean resolveSortKeys,
 			Callback callback) {
 		this.factory = factory;
 		this.sqmDomainMetamodel = sqmDomainMetamodel;
 		this.queryOptions = queryOptions;
 		this.isShallow = isShallow;
+		this.resolveSortKeys = resolveSortKeys;
 		this.callback = callback;
 		pushDomainExpressionBuilder( isShallow );
 	}
@@ -237,7 +270,9 @@ public class SqmSelectToSqlAstConverter
 	private SqmSelectInterpretation interpret(SqmSelectStatement statement) {
 		return new SqmSelectInterpretationImpl(
 				visitSelectStatement( statement ),
-				queryReturns
+				queryReturns,
+				numberOfInitializerStates,
+				sortKeyReturns
 		);
 	}
 
@@ -275,11 +310,43 @@ public class SqmSelectToSqlAstConverter
 			finally {
 				currentClauseStack.pop();
 			}
+
+			sortKeyReturns = resolveSortKeys ? resolveSortKeyReturns( sqlAst ) : null;
 		}
 
 		return sqlAst;
 	}
 
+	/**
+	 * Build the Returns for reading the values of the sort expressions (adding any of them
+	 * not otherwise selected to the select-clause).  These allow ordered results to be merged
+	 * outside of the database, e.g. the results of the concrete queries for a polymorphic
+	 * query.  Only done when requested, as selecting additional expressions changes the
+	 * meaning of a {@code select distinct}.
+	 */
+	private List<ReturnScalar> resolveSortKeyReturns(SelectQuery sqlAst) {
+		for ( org.hibernate.sql.ast.sort.SortSpecification sortSpecification : sqlAst.getSortSpecifications() ) {
+			if ( !BasicType.class.isInstance( sortSpecification.getSortExpression().getType() ) ) {
+				log.debugf( "Sort expression is not a basic value; query results cannot be merged based on sort keys" );
+				return null;
+			}
+		}
+
+		final List<ReturnScalar> sortKeyReturns = new ArrayList<>();
+		querySpecStack.push( sqlAst.getQuerySpec() );
+		try {
+			for ( org.hibernate.sql.ast.sort.SortSpecification sortSpecification : sqlAst.getSortSpecifications() ) {
+				sortKeyReturns.add(
+						(ReturnScalar) sortSpecification.getSortExpression().getSelectable().toQueryReturn( this, null )
+				);
+			}
+		}
+		finally {
+			querySpecStack.pop();
+		}
+		return sortKeyReturns;
+	}
+
 	@Override
 	public OrderByClause visitOrderByClause(OrderByClause orderByClause) {
 		throw new AssertionFailure( "Unexpected visitor call" );
@@ -290,10 +357,25 @@ public class SqmSelectToSqlAstConverter
 		return new org.hibernate.sql.ast.sort.SortSpecification(
 				(Expression) sortSpecification.getSortExpression().accept( this ),
 				sortSpecification.getCollation(),
-				sortSpecification.getSortOrder()
+				sortSpecification.getSortOrder(),
+				resolveSortKeys ? resolveMergeNullPrecedence( sortSpecification.getSortOrder() ) : null
 		);
 	}
 
+	/**
+	 * The null precedence to render when the ordered results are to be merged : the
+	 * configured default or, absent one, nulls ordered low.  Either way the database orders
+	 * nulls the same way the results are merged (see SortKeyComparator), regardless of the
+	 * database's own default.
+	 */
+	private NullPrecedence resolveMergeNullPrecedence(SortOrder sortOrder) {
+		final NullPrecedence defaultNullPrecedence = factory.getSessionFactoryOptions().getDefaultNullPrecedence();
+		if ( defaultNullPrecedence != null && defaultNullPrecedence != NullPrecedence.NONE ) {
+			return defaultNullPrecedence;
+		}
+		return sortOrder == SortOrder.DESCENDING ? NullPrecedence.LAST : NullPrecedence.FIRST;
+	}
+
 	@Override
 	public QuerySpec visitQuerySpec(SqmQuerySpec querySpec) {
 		final QuerySpec astQuerySpec = new QuerySpec();
@@ -324,8 +406,31 @@ public class SqmSelectToSqlAstConverter
 				}
 			}
 
-			// todo : group-by
-			// todo : having
+			final SqmGroupByClause groupByClause = querySpec.getGroupByClause();
+			if ( groupByClause != null ) {
+				currentClauseStack.push( Clause.GROUP );
+				try {
+					for ( SqmGrouping grouping : groupByClause.getGroupings() ) {
+						astQuerySpec.addGroupByExpression( (Expression) grouping.getExpression().accept( this ) );
+					}
+				}
+				finally {
+					currentClauseStack.pop();
+				}
+			}
+
+			final SqmHavingClause havingClause = querySpec.getHavingClause();
+			if ( havingClause != null ) {
+				currentClauseStack.push( Clause.HAVING );
+				try {
+					astQuerySpec.setHavingClauseRestrictions(
+							(Predicate) havingClause.getPredicate().accept( this )
+					);
+				}
+				finally {
+					currentClauseStack.pop();
+				}
+			}
 
 			return astQuerySpec;
 		}
@@ -616,7 +721,8 @@ public class SqmSelectToSqlAstConverter
 							attributeJoin.getUniqueIdentifier(),
 							boundAttributeAsEntity,
 							boundAttributeAsEntity.getEntityPersister(),
-							new FetchStrategy( FetchTiming.IMMEDIATE, FetchStyle.JOIN )
+							new FetchStrategy( FetchTiming.IMMEDIATE, FetchStyle.JOIN ),
+							generateInitializerStatePosition()
 					);
 					fetchParent.addFetch( fetch );
 					applyFetchesAndEntityGraph( fetch, null );
@@ -1221,6 +1327,11 @@ public class SqmSelectToSqlAstConverter
 		return this;
 	}
 
+	@Override
+	public int generateInitializerStatePosition() {
+		return numberOfInitializerStates++;
+	}
+
 	private final Map<QuerySpec,Map<SqlSelectable,SqlSelection>> sqlSelectionMapByQuerySpec = new HashMap<>();
 
 	@Override
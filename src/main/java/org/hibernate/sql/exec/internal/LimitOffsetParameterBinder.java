@@ -0,0 +1,74 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.hibernate.dialect.pagination.LimitHandler;
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.proposed.Limit;
+import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+import org.hibernate.sql.spi.ParameterBinder;
+
+/**
+ * ParameterBinder for the limit/offset parameter markers rendered into the SQL by
+ * the Dialect's {@link LimitHandler}.  The values are taken from the
+ * {@link QueryOptions#getLimit() Limit} at the time of execution, which allows the
+ * same SQL (and therefore the same query plan) to be used for any page of results.
+ *
+ * @author Steve Ebersole
+ */
+public class LimitOffsetParameterBinder implements ParameterBinder {
+	/**
+	 * Build the (legacy) RowSelection representation of the given Limit, as
+	 * expected by LimitHandler
+	 */
+	public static RowSelection buildRowSelection(Limit limit) {
+		final RowSelection rowSelection = new RowSelection();
+		if ( limit != null ) {
+			rowSelection.setFirstRow( limit.getFirstRow() );
+			rowSelection.setMaxRows( limit.getMaxRows() );
+		}
+		return rowSelection;
+	}
+
+	private final LimitHandler limitHandler;
+	private final boolean startOfQuery;
+
+	public LimitOffsetParameterBinder(LimitHandler limitHandler, boolean startOfQuery) {
+		this.limitHandler = limitHandler;
+		this.startOfQuery = startOfQuery;
+	}
+
+	@Override
+	public int bindParameterValue(
+			PreparedStatement statement,
+			int startPosition,
+			QueryParameterBindings queryParameterBindings,
+			SharedSessionContractImplementor session) throws SQLException {
+		throw new IllegalStateException( "Binding limit/offset parameters requires access to the QueryOptions" );
+	}
+
+	@Override
+	public int bindParameterValue(
+			PreparedStatement statement,
+			int startPosition,
+			QueryParameterBindings queryParameterBindings,
+			QueryOptions queryOptions,
+			SharedSessionContractImplementor session) throws SQLException {
+		final RowSelection rowSelection = buildRowSelection( queryOptions.getLimit() );
+		if ( startOfQuery ) {
+			return limitHandler.bindLimitParametersAtStartOfQuery( rowSelection, statement, startPosition );
+		}
+		else {
+			return limitHandler.bindLimitParametersAtEndOfQuery( rowSelection, statement, startPosition );
+		}
+	}
+}
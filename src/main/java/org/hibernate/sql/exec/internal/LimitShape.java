@@ -0,0 +1,40 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import org.hibernate.query.proposed.Limit;
+
+/**
+ * Describes which parts of a {@link Limit} are defined, without regard to the
+ * actual values.  Since limit/offset are rendered as parameters the SQL only
+ * depends on the shape of the Limit.
+ *
+ * @author Steve Ebersole
+ */
+public enum LimitShape {
+	NONE,
+	FIRST_ROW,
+	MAX_ROWS,
+	FIRST_ROW_AND_MAX_ROWS;
+
+	public static LimitShape fromLimit(Limit limit) {
+		if ( limit == null ) {
+			return NONE;
+		}
+
+		// NOTE : follows LimitHelper in that a first-row of zero is the same as no first-row
+		final boolean hasFirstRow = limit.getFirstRow() != null && limit.getFirstRow() > 0;
+		final boolean hasMaxRows = limit.getMaxRows() != null;
+
+		if ( hasFirstRow ) {
+			return hasMaxRows ? FIRST_ROW_AND_MAX_ROWS : FIRST_ROW;
+		}
+		else {
+			return hasMaxRows ? MAX_ROWS : NONE;
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.util.Objects;
+
+import org.hibernate.query.proposed.Limit;
+
+/**
+ * An immutable copy of the values of a {@link Limit}.  Used where the limit/offset
+ * values are rendered into the SQL as literals (Dialects which do not support a
+ * variable limit), in which case the SQL depends on the values and not just on the
+ * {@link LimitShape}.
+ *
+ * @author Steve Ebersole
+ */
+public final class LimitValues {
+	public static LimitValues fromLimit(Limit limit) {
+		if ( limit == null ) {
+			return new LimitValues( null, null );
+		}
+		return new LimitValues( limit.getFirstRow(), limit.getMaxRows() );
+	}
+
+	private final Integer firstRow;
+	private final Integer maxRows;
+
+	private LimitValues(Integer firstRow, Integer maxRows) {
+		this.firstRow = firstRow;
+		this.maxRows = maxRows;
+	}
+
+	public Integer getFirstRow() {
+		return firstRow;
+	}
+
+	public Integer getMaxRows() {
+		return maxRows;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || getClass() != o.getClass() ) {
+			return false;
+		}
+
+		final LimitValues that = (LimitValues) o;
+		return Objects.equals( firstRow, that.firstRow )
+				&& Objects.equals( maxRows, that.maxRows );
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Objects.hashCode( firstRow ) + Objects.hashCode( maxRows );
+	}
+}
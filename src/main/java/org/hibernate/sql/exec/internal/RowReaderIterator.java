@@ -0,0 +1,148 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.sql.SQLException;
+import java.util.NoSuchElementException;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.proposed.spi.CloseableIterator;
+import org.hibernate.sql.exec.results.process.internal.JdbcValuesSourceProcessingStateStandardImpl;
+import org.hibernate.sql.exec.results.process.internal.RowProcessingStateStandardImpl;
+import org.hibernate.sql.exec.results.process.internal.values.JdbcValuesSource;
+import org.hibernate.sql.exec.results.process.spi.JdbcValuesSourceProcessingOptions;
+import org.hibernate.sql.exec.results.process.spi.RowReader;
+
+/**
+ * A lazy cursor over the results of a select : each call to {@link #next()} reads
+ * (and transforms) a single row from the underlying JdbcValuesSource, so only the
+ * current row is ever held in memory.
+ * <p/>
+ * When the results are handed to the caller as they are read, the entities of each
+ * row are completely loaded (2-phase) before the row is returned, rather than all
+ * together once the results are exhausted; the loading state is then discarded, so
+ * that it does not grow with the number of rows.
+ * <p/>
+ * The underlying JDBC resources are released once the results are exhausted, or
+ * on {@link #close()} if the caller stops iterating early.
+ *
+ * @author Steve Ebersole
+ */
+public class RowReaderIterator<T> implements CloseableIterator<T> {
+	private final RowReader<T> rowReader;
+	private final RowProcessingStateStandardImpl rowProcessingState;
+	private final JdbcValuesSourceProcessingStateStandardImpl jdbcValuesSourceProcessingState;
+	private final JdbcValuesSourceProcessingOptions processingOptions;
+	private final JdbcValuesSource jdbcValuesSource;
+	private final SharedSessionContractImplementor persistenceContext;
+	private final boolean finishLoadingEntitiesPerRow;
+
+	// whether the cursor has been advanced to a row which has not yet been returned from #next
+	private boolean rowPending;
+	private boolean closed;
+
+	public RowReaderIterator(
+			RowReader<T> rowReader,
+			RowProcessingStateStandardImpl rowProcessingState,
+			JdbcValuesSourceProcessingStateStandardImpl jdbcValuesSourceProcessingState,
+			JdbcValuesSourceProcessingOptions processingOptions,
+			JdbcValuesSource jdbcValuesSource,
+			SharedSessionContractImplementor persistenceContext,
+			boolean finishLoadingEntitiesPerRow) {
+		this.rowReader = rowReader;
+		this.rowProcessingState = rowProcessingState;
+		this.jdbcValuesSourceProcessingState = jdbcValuesSourceProcessingState;
+		this.processingOptions = processingOptions;
+		this.jdbcValuesSource = jdbcValuesSource;
+		this.persistenceContext = persistenceContext;
+		this.finishLoadingEntitiesPerRow = finishLoadingEntitiesPerRow;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ( closed ) {
+			return false;
+		}
+
+		if ( rowPending ) {
+			return true;
+		}
+
+		try {
+			if ( rowProcessingState.next() ) {
+				rowPending = true;
+			}
+			else {
+				// no more rows, release the JDBC resources eagerly
+				close();
+			}
+		}
+		catch (SQLException e) {
+			close();
+			throw persistenceContext.getJdbcServices().getSqlExceptionHelper().convert(
+					e,
+					"Error advancing to next result row"
+			);
+		}
+
+		return rowPending;
+	}
+
+	@Override
+	public T next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException();
+		}
+
+		rowPending = false;
+		final T result;
+		try {
+			result = rowReader.readRow( rowProcessingState, processingOptions );
+		}
+		catch (SQLException e) {
+			close();
+			throw persistenceContext.getJdbcServices().getSqlExceptionHelper().convert(
+					e,
+					"Error processing return rows"
+			);
+		}
+		finally {
+			rowProcessingState.finishRowProcessing();
+		}
+
+		if ( finishLoadingEntitiesPerRow ) {
+			jdbcValuesSourceProcessingState.finishLoadingEntities();
+		}
+
+		return result;
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	@Override
+	public void close() {
+		if ( closed ) {
+			return;
+		}
+		closed = true;
+		rowPending = false;
+
+		try {
+			rowReader.finishUp( jdbcValuesSourceProcessingState );
+		}
+		finally {
+			try {
+				jdbcValuesSourceProcessingState.finishUp();
+			}
+			finally {
+				jdbcValuesSource.finishUp();
+			}
+		}
+	}
+}
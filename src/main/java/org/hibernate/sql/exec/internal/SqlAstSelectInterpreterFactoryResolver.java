@@ -0,0 +1,78 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.service.Service;
+import org.hibernate.sql.exec.spi.SqlAstSelectInterpreterFactory;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Service holding the {@link SqlAstSelectInterpreterFactory} to use, which is resolved once
+ * (for the ServiceRegistry, and so for the SessionFactory) rather than for every rendering
+ * of a query.
+ *
+ * @author Steve Ebersole
+ */
+public class SqlAstSelectInterpreterFactoryResolver implements Service {
+	private static final Logger log = Logger.getLogger( SqlAstSelectInterpreterFactoryResolver.class );
+
+	private final SqlAstSelectInterpreterFactory sqlAstSelectInterpreterFactory;
+
+	public SqlAstSelectInterpreterFactoryResolver(SqlAstSelectInterpreterFactory sqlAstSelectInterpreterFactory) {
+		this.sqlAstSelectInterpreterFactory = sqlAstSelectInterpreterFactory;
+	}
+
+	public SqlAstSelectInterpreterFactory getSqlAstSelectInterpreterFactory() {
+		return sqlAstSelectInterpreterFactory;
+	}
+
+	/**
+	 * Resolve the SqlAstSelectInterpreterFactory, in the order described on
+	 * {@link SqlAstSelectInterpreterFactory}
+	 */
+	static SqlAstSelectInterpreterFactory resolve(
+			Map configurationValues,
+			Dialect dialect,
+			ClassLoaderService classLoaderService) {
+		final Object setting = configurationValues.get( SqlAstSelectInterpreterFactory.INTERPRETER_FACTORY );
+		if ( setting instanceof SqlAstSelectInterpreterFactory ) {
+			return (SqlAstSelectInterpreterFactory) setting;
+		}
+		if ( setting instanceof Class ) {
+			return instantiate( (Class) setting );
+		}
+		if ( setting != null ) {
+			return instantiate( classLoaderService.classForName( setting.toString().trim() ) );
+		}
+
+		for ( SqlAstSelectInterpreterFactory factory : classLoaderService.loadJavaServices( SqlAstSelectInterpreterFactory.class ) ) {
+			if ( factory.appliesTo( dialect ) ) {
+				log.debugf( "Using SqlAstSelectInterpreterFactory [%s] for Dialect [%s]", factory, dialect );
+				return factory;
+			}
+		}
+		return SqlAstSelectInterpreterFactory.STANDARD;
+	}
+
+	private static SqlAstSelectInterpreterFactory instantiate(Class factoryClass) {
+		try {
+			return (SqlAstSelectInterpreterFactory) factoryClass.newInstance();
+		}
+		catch (Exception e) {
+			throw new HibernateException(
+					"Could not instantiate SqlAstSelectInterpreterFactory [" + factoryClass.getName() + "]",
+					e
+			);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.internal;
+
+import java.util.Map;
+
+import org.hibernate.boot.registry.StandardServiceInitiator;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+
+/**
+ * Initiator for the {@link SqlAstSelectInterpreterFactoryResolver}
+ *
+ * @author Steve Ebersole
+ */
+public class SqlAstSelectInterpreterFactoryResolverInitiator
+		implements StandardServiceInitiator<SqlAstSelectInterpreterFactoryResolver> {
+	/**
+	 * Singleton access
+	 */
+	public static final SqlAstSelectInterpreterFactoryResolverInitiator INSTANCE = new SqlAstSelectInterpreterFactoryResolverInitiator();
+
+	@Override
+	public Class<SqlAstSelectInterpreterFactoryResolver> getServiceInitiated() {
+		return SqlAstSelectInterpreterFactoryResolver.class;
+	}
+
+	@Override
+	public SqlAstSelectInterpreterFactoryResolver initiateService(
+			Map configurationValues,
+			ServiceRegistryImplementor registry) {
+		return new SqlAstSelectInterpreterFactoryResolver(
+				SqlAstSelectInterpreterFactoryResolver.resolve(
+						configurationValues,
+						registry.getService( JdbcEnvironment.class ).getDialect(),
+						registry.getService( ClassLoaderService.class )
+				)
+		);
+	}
+}
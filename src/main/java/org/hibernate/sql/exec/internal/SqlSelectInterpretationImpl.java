@@ -6,12 +6,28 @@
  */
 package org.hibernate.sql.exec.internal;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.spi.ExecutionContext;
+import org.hibernate.query.proposed.spi.QueryParameterBinding;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+import org.hibernate.sql.ast.expression.AbstractParameter;
+import org.hibernate.sql.ast.expression.NamedParameter;
+import org.hibernate.sql.ast.expression.PositionalParameter;
 import org.hibernate.sql.convert.results.spi.Return;
+import org.hibernate.sql.convert.spi.ConversionHelper;
+import org.hibernate.sql.exec.results.process.spi2.SqlSelectionReader;
 import org.hibernate.sql.exec.results.spi.ResolvedReturn;
 import org.hibernate.sql.exec.spi.SqlSelectInterpretation;
 import org.hibernate.sql.spi.ParameterBinder;
+import org.hibernate.type.Type;
 
 /**
  * @author Steve Ebersole
@@ -20,11 +36,138 @@ public class SqlSelectInterpretationImpl implements SqlSelectInterpretation {
 	private final String sql;
 	private final List<ParameterBinder> parameterBinders;
 	private final List<Return> returns;
+	private final List<SqlSelectionReader> sqlSelectionReaders;
+
+	// the number of JDBC parameter markers rendered for each domain parameter (based on
+	// the Type resolved from the bindings at the time of rendering and, for multi-valued
+	// bindings, the padded number of values)
+	private final Map<AbstractParameter,Integer> parameterColumnSpans;
+
+	// the shape of the Limit accounted for in rendering the SQL
+	private final LimitShape limitShape;
+	private final boolean maxRowsAppliedInSql;
+	private final boolean firstRowAppliedInSql;
+	// the limit/offset values rendered into the SQL as literals, or null if the values
+	// are bound as parameters (or the limit was not applied in the SQL)
+	private final LimitValues literalLimitValues;
+
+	// the comment and database hints defined by the QueryOptions at the time of rendering
+	private final String comment;
+	private final List<String> databaseHints;
 
 	public SqlSelectInterpretationImpl(String sql, List<ParameterBinder> parameterBinders, List<Return> returns) {
+		this( sql, parameterBinders, returns, Collections.emptyList(), Collections.emptyMap(), LimitShape.NONE, false, false, null, null, Collections.emptyList() );
+	}
+
+	public SqlSelectInterpretationImpl(
+			String sql,
+			List<ParameterBinder> parameterBinders,
+			List<Return> returns,
+			List<SqlSelectionReader> sqlSelectionReaders,
+			Map<AbstractParameter,Integer> parameterColumnSpans,
+			LimitShape limitShape,
+			boolean maxRowsAppliedInSql,
+			boolean firstRowAppliedInSql,
+			LimitValues literalLimitValues,
+			String comment,
+			List<String> databaseHints) {
 		this.sql = sql;
 		this.parameterBinders = parameterBinders;
 		this.returns = returns;
+		this.sqlSelectionReaders = sqlSelectionReaders;
+		this.parameterColumnSpans = parameterColumnSpans;
+		this.limitShape = limitShape;
+		this.maxRowsAppliedInSql = maxRowsAppliedInSql;
+		this.firstRowAppliedInSql = firstRowAppliedInSql;
+		this.literalLimitValues = literalLimitValues;
+		this.comment = comment;
+		this.databaseHints = databaseHints;
+	}
+
+	public LimitShape getLimitShape() {
+		return limitShape;
+	}
+
+	/**
+	 * Create a copy of this interpretation which additionally processes the given
+	 * Returns, following this interpretation's Returns.  The additional Returns must
+	 * read only the SqlSelections of this interpretation.
+	 */
+	public SqlSelectInterpretationImpl withAdditionalReturns(List<? extends Return> additionalReturns) {
+		final List<Return> combinedReturns = new ArrayList<>( returns.size() + additionalReturns.size() );
+		combinedReturns.addAll( returns );
+		combinedReturns.addAll( additionalReturns );
+		return new SqlSelectInterpretationImpl(
+				sql,
+				parameterBinders,
+				combinedReturns,
+				sqlSelectionReaders,
+				parameterColumnSpans,
+				limitShape,
+				maxRowsAppliedInSql,
+				firstRowAppliedInSql,
+				literalLimitValues,
+				comment,
+				databaseHints
+		);
+	}
+
+	/**
+	 * Can this interpretation (specifically its SQL) be re-used for executing the query
+	 * with the given bindings and options?  The only parts of the rendered SQL which depend
+	 * on those are the number of JDBC parameter markers rendered for each parameter (including
+	 * the padded size of IN-lists), the limit/offset clause and the comment and database hints.
+	 *
+	 * @return {@code true} if the bindings resolve to the same column span for each parameter
+	 * and the options define the same shape of Limit (the same values, if those were rendered
+	 * as literals), comment and database hints
+	 */
+	public boolean isCompatibleWith(
+			QueryParameterBindings parameterBindings,
+			QueryOptions queryOptions,
+			SessionFactoryImplementor sessionFactory,
+			ExecutionContext executionContext) {
+		if ( LimitShape.fromLimit( queryOptions.getLimit() ) != limitShape ) {
+			return false;
+		}
+
+		if ( literalLimitValues != null && !literalLimitValues.equals( LimitValues.fromLimit( queryOptions.getLimit() ) ) ) {
+			return false;
+		}
+
+		if ( !Objects.equals( queryOptions.getComment(), comment ) ) {
+			return false;
+		}
+
+		final List<String> requestedDatabaseHints = queryOptions.getDatabaseHints() == null
+				? Collections.emptyList()
+				: queryOptions.getDatabaseHints();
+		if ( !requestedDatabaseHints.equals( databaseHints ) ) {
+			return false;
+		}
+
+		final Dialect dialect = sessionFactory.getJdbcServices().getJdbcEnvironment().getDialect();
+		for ( Map.Entry<AbstractParameter,Integer> entry : parameterColumnSpans.entrySet() ) {
+			final Type type;
+			final QueryParameterBinding binding;
+			if ( entry.getKey() instanceof NamedParameter ) {
+				final NamedParameter parameter = (NamedParameter) entry.getKey();
+				type = ConversionHelper.resolveType( parameter, parameterBindings, executionContext );
+				binding = parameterBindings.getBinding( parameter.getName() );
+			}
+			else {
+				final PositionalParameter parameter = (PositionalParameter) entry.getKey();
+				type = ConversionHelper.resolveType( parameter, parameterBindings, executionContext );
+				binding = parameterBindings.getBinding( parameter.getPosition() );
+			}
+
+			final int jdbcParameterCount = type.getColumnSpan( sessionFactory )
+					* ConversionHelper.determineRenderedValueCount( binding, dialect );
+			if ( jdbcParameterCount != entry.getValue() ) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
@@ -41,4 +184,19 @@ public class SqlSelectInterpretationImpl implements SqlSelectInterpretation {
 	public List<Return> getReturns() {
 		return returns;
 	}
+
+	@Override
+	public List<SqlSelectionReader> getSqlSelectionReaders() {
+		return sqlSelectionReaders;
+	}
+
+	@Override
+	public boolean isMaxRowsAppliedInSql() {
+		return maxRowsAppliedInSql;
+	}
+
+	@Override
+	public boolean isFirstRowAppliedInSql() {
+		return firstRowAppliedInSql;
+	}
 }
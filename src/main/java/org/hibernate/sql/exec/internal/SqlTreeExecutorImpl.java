@@ -7,7 +7,6 @@
 package org.hibernate.sql.exec.internal;
 
 import java.io.Serializable;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -52,6 +51,23 @@ import org.jboss.logging.Logger;
 public class SqlTreeExecutorImpl implements SqlTreeExecutor {
 	private static final Logger log = Logger.getLogger( SqlTreeExecutorImpl.class );
 
+	private final boolean reuseRowValuesBuffer;
+
+	public SqlTreeExecutorImpl() {
+		this( false );
+	}
+
+	/**
+	 * @param reuseRowValuesBuffer Whether the JDBC values of every row may be read into the
+	 * same array rather than a new array per row.  Only safe when nothing holds on to
+	 * {@link org.hibernate.sql.exec.results.process.spi.RowProcessingState#getJdbcValues()}
+	 * beyond the processing of its row, as is the case for the standard ReturnAssemblers
+	 * and Initializers.
+	 */
+	public SqlTreeExecutorImpl(boolean reuseRowValuesBuffer) {
+		this.reuseRowValuesBuffer = reuseRowValuesBuffer;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public <R, T> R executeSelect(
@@ -69,8 +85,7 @@ public class SqlTreeExecutorImpl implements SqlTreeExecutor {
 		//		* ParameterBinders
 		//		* Returns
 
-		// todo : should also pass in QueryOptions
-		// 		as the rendered SQL would depend on first/max results, comment, db-hints, lock-options, entity-graph
+		// todo : the rendered SQL also depends on comment, db-hints, lock-options, entity-graph from the QueryOptions
 
 		// todo : also need to account for multi-valued param bindings in terms of the generated SQL...
 
@@ -92,9 +107,102 @@ public class SqlTreeExecutorImpl implements SqlTreeExecutor {
 				false,
 				persistenceContext.getFactory(),
 				queryParameterBindings,
+				queryOptions,
+				executionContext
+		);
+
+		return executeSelect(
+				sqmSelectInterpretation,
+				sqlSelectInterpretation,
+				statementCreator,
+				preparedStatementExecutor,
+				queryOptions,
+				queryParameterBindings,
+				rowTransformer,
+				callback,
+				persistenceContext,
 				executionContext
 		);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <R, T> R executeSelect(
+			SqmSelectInterpretation sqmSelectInterpretation,
+			SqlSelectInterpretation sqlSelectInterpretation,
+			PreparedStatementCreator statementCreator,
+			PreparedStatementExecutor preparedStatementExecutor,
+			QueryOptions queryOptions,
+			QueryParameterBindings queryParameterBindings,
+			RowTransformer<T> rowTransformer,
+			Callback callback,
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext) {
+		// the entities are loaded (2-phase) together once all of the rows have been read
+		final RowReaderIterator<T> rowReaderIterator = buildRowReaderIterator(
+				sqmSelectInterpretation,
+				sqlSelectInterpretation,
+				statementCreator,
+				preparedStatementExecutor,
+				queryOptions,
+				queryParameterBindings,
+				rowTransformer,
+				callback,
+				persistenceContext,
+				false
+		);
+
+		try {
+			final List<T> results = new ArrayList<T>();
+			while ( rowReaderIterator.hasNext() ) {
+				results.add( rowReaderIterator.next() );
+			}
+			return (R) results;
+		}
+		finally {
+			rowReaderIterator.close();
+		}
+	}
+
+	@Override
+	public <T> RowReaderIterator<T> executeSelectStreaming(
+			SqmSelectInterpretation sqmSelectInterpretation,
+			SqlSelectInterpretation sqlSelectInterpretation,
+			PreparedStatementCreator statementCreator,
+			PreparedStatementExecutor preparedStatementExecutor,
+			QueryOptions queryOptions,
+			QueryParameterBindings queryParameterBindings,
+			RowTransformer<T> rowTransformer,
+			Callback callback,
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext) {
+		// each result is handed to the caller as soon as its row is read, so the entities
+		// of each row must be completely loaded before it is returned
+		return buildRowReaderIterator(
+				sqmSelectInterpretation,
+				sqlSelectInterpretation,
+				statementCreator,
+				preparedStatementExecutor,
+				queryOptions,
+				queryParameterBindings,
+				rowTransformer,
+				callback,
+				persistenceContext,
+				true
+		);
+	}
 
+	private <T> RowReaderIterator<T> buildRowReaderIterator(
+			SqmSelectInterpretation sqmSelectInterpretation,
+			SqlSelectInterpretation sqlSelectInterpretation,
+			PreparedStatementCreator statementCreator,
+			PreparedStatementExecutor preparedStatementExecutor,
+			QueryOptions queryOptions,
+			QueryParameterBindings queryParameterBindings,
+			RowTransformer<T> rowTransformer,
+			Callback callback,
+			SharedSessionContractImplementor persistenceContext,
+			boolean finishLoadingEntitiesPerRow) {
 		final List<ReturnAssembler> returnAssemblers = new ArrayList<>();
 		final List<Initializer> initializers = new ArrayList<>();
 		for ( Return queryReturn : sqlSelectInterpretation.getReturns() ) {
@@ -158,30 +266,20 @@ public class SqlTreeExecutorImpl implements SqlTreeExecutor {
 		final RowProcessingStateStandardImpl rowProcessingState = new RowProcessingStateStandardImpl(
 				jdbcValuesSourceProcessingState,
 				queryOptions,
-				jdbcValuesSource
+				jdbcValuesSource,
+				sqmSelectInterpretation.getNumberOfInitializerStates()
 		);
 
-		try {
-			final List<T> results = new ArrayList<T>();
-			while ( rowProcessingState.next() ) {
-				results.add(
-						rowReader.readRow( rowProcessingState, processingOptions )
-				);
-				rowProcessingState.finishRowProcessing();
-			}
-			return (R) results;
-		}
-		catch (SQLException e) {
-			throw persistenceContext.getJdbcServices().getSqlExceptionHelper().convert(
-					e,
-					"Error processing return rows"
-			);
-		}
-		finally {
-			rowReader.finishUp( jdbcValuesSourceProcessingState );
-			jdbcValuesSourceProcessingState.finishUp();
-			jdbcValuesSource.finishUp();
-		}
+		// NOTE : nothing is read (or even executed) until the caller starts iterating
+		return new RowReaderIterator<>(
+				rowReader,
+				rowProcessingState,
+				jdbcValuesSourceProcessingState,
+				processingOptions,
+				jdbcValuesSource,
+				persistenceContext,
+				finishLoadingEntitiesPerRow
+		);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -236,7 +334,8 @@ public class SqlTreeExecutorImpl implements SqlTreeExecutor {
 					statementCreator,
 					statementExecutor,
 					queryParameterBindings,
-					sqlSelections
+					sqlSelections,
+					reuseRowValuesBuffer
 			);
 		}
 		else {
@@ -7,6 +7,9 @@
 package org.hibernate.sql.exec.results.process.internal;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.hibernate.HibernateException;
@@ -19,8 +22,6 @@ import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.internal.util.MarkerObject;
 import org.hibernate.persister.common.spi.Attribute;
 import org.hibernate.persister.common.spi.PluralAttribute;
-import org.hibernate.persister.common.spi.SingularAttribute;
-import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.spi.ImprovedEntityPersister;
 import org.hibernate.sql.convert.results.spi.EntityReference;
 import org.hibernate.sql.exec.ExecutionException;
@@ -42,23 +43,117 @@ public abstract class AbstractEntityReferenceInitializer
 	private final Map<Attribute, SqlSelectionGroup> sqlSelectionGroupMap;
 	private final boolean isShallow;
 
-	// in-flight processing state
-	private Object identifierHydratedState;
-	private ImprovedEntityPersister concretePersister;
-	private EntityKey entityKey;
-	private Object entityInstance;
+	// for the referenced persister and each of its subclass persisters (the concrete type of
+	// the entity is only known per row), the positions of the values of its attributes
+	private final Map<ImprovedEntityPersister, AttributeValuePositions> attributeValuePositionsByType;
+
+	// position of this initializer's in-flight processing state within the RowProcessingState
+	private final int statePosition;
 
 	public AbstractEntityReferenceInitializer(
 			InitializerParent parent,
 			EntityReference entityReference,
 			boolean isEntityReturn,
 			Map<Attribute, SqlSelectionGroup> sqlSelectionGroupMap,
-			boolean isShallow) {
+			boolean isShallow,
+			int statePosition) {
 		super( parent );
 		this.entityReference = entityReference;
 		this.isEntityReturn = isEntityReturn;
 		this.sqlSelectionGroupMap = sqlSelectionGroupMap;
 		this.isShallow = isShallow;
+		this.statePosition = statePosition;
+
+		final ImprovedEntityPersister persister = entityReference.getEntityPersister();
+		final Map<ImprovedEntityPersister, AttributeValuePositions> attributeValuePositionsByType = new HashMap<>();
+		attributeValuePositionsByType.put( persister, new AttributeValuePositions( persister, sqlSelectionGroupMap ) );
+		for ( ImprovedEntityPersister concreteType : persister.getConcreteEntityPersisters() ) {
+			attributeValuePositionsByType.computeIfAbsent(
+					concreteType,
+					type -> new AttributeValuePositions( type, sqlSelectionGroupMap )
+			);
+		}
+		this.attributeValuePositionsByType = Collections.unmodifiableMap( attributeValuePositionsByType );
+	}
+
+	/**
+	 * For each of an entity type's non-identifier attributes, the positions of its values within
+	 * the JDBC values array; PLURAL_ATTRIBUTE for collections and null when the attribute is not
+	 * selected
+	 */
+	private static class AttributeValuePositions {
+		private final int[][] attributeValuePositions;
+		private final int rowIdValuePosition;
+		private final int numberOfHydratedValues;
+
+		private AttributeValuePositions(
+				ImprovedEntityPersister persister,
+				Map<Attribute, SqlSelectionGroup> sqlSelectionGroupMap) {
+			final List<Attribute> attributes = persister.getNonIdentifierAttributes();
+			this.attributeValuePositions = new int[ attributes.size() ][];
+			for ( int i = 0; i < attributes.size(); i++ ) {
+				attributeValuePositions[i] = resolveValuePositions( attributes.get( i ), sqlSelectionGroupMap );
+			}
+
+			if ( persister.getRowIdDescriptor() != null ) {
+				this.rowIdValuePosition = resolveValuePositions( persister.getRowIdDescriptor(), sqlSelectionGroupMap )[0];
+				this.numberOfHydratedValues = attributes.size() - 1;
+			}
+			else {
+				this.rowIdValuePosition = -1;
+				this.numberOfHydratedValues = attributes.size();
+			}
+		}
+	}
+
+	private static final int[] PLURAL_ATTRIBUTE = new int[0];
+
+	private static int[] resolveValuePositions(Attribute attribute, Map<Attribute, SqlSelectionGroup> sqlSelectionGroupMap) {
+		if ( attribute instanceof PluralAttribute ) {
+			assert attribute.getOrmType() instanceof CollectionType;
+			return PLURAL_ATTRIBUTE;
+		}
+
+		final SqlSelectionGroup selectionGroup = sqlSelectionGroupMap.get( attribute );
+		if ( selectionGroup == null ) {
+			// not selected (lazy group, etc)
+			return null;
+		}
+
+		final int[] positions = new int[ selectionGroup.getSqlSelections().size() ];
+		for ( int i = 0; i < positions.length; i++ ) {
+			positions[i] = selectionGroup.getSqlSelections().get( i ).getValuesArrayPosition();
+		}
+		return positions;
+	}
+
+	/**
+	 * The in-flight processing state for a single row.  Initializers themselves are
+	 * shared across executions (and threads), so this state is kept in the
+	 * RowProcessingState.  One instance is created per execution and reset after
+	 * each row.
+	 */
+	private static class RowState {
+		private Object identifierHydratedState;
+		private ImprovedEntityPersister concretePersister;
+		private EntityKey entityKey;
+		private Object entityInstance;
+
+		private void reset() {
+			identifierHydratedState = null;
+			concretePersister = null;
+			entityKey = null;
+			entityInstance = null;
+		}
+	}
+
+	private RowState resolveRowState(RowProcessingState rowProcessingState) {
+		RowState rowState = (RowState) rowProcessingState.getInitializerState( statePosition );
+		if ( rowState == null ) {
+			rowState = new RowState();
+			rowProcessingState.registerInitializerState( statePosition, rowState );
+		}
+		return rowState;
 	}
 
 	@Override
@@ -67,18 +162,19 @@ public abstract class AbstractEntityReferenceInitializer
 	}
 
 	@Override
-	public Object getEntityInstance() {
-		return entityInstance;
+	public Object getEntityInstance(RowProcessingState rowProcessingState) {
+		return resolveRowState( rowProcessingState ).entityInstance;
 	}
 
 	@Override
 	public void hydrateIdentifier(RowProcessingState rowProcessingState) {
-		if ( identifierHydratedState != null ) {
+		final RowState rowState = resolveRowState( rowProcessingState );
+		if ( rowState.identifierHydratedState != null ) {
 			// its already been read...
 			return;
 		}
 
-		identifierHydratedState = buildIdentifierHydratedForm( rowProcessingState );
+		rowState.identifierHydratedState = buildIdentifierHydratedForm( rowProcessingState );
 	}
 
 	private Object buildIdentifierHydratedForm(RowProcessingState rowProcessingState) {
@@ -99,36 +195,98 @@ public abstract class AbstractEntityReferenceInitializer
 
 	@Override
 	public void resolveEntityKey(RowProcessingState rowProcessingState) {
-		if ( entityKey != null ) {
+		final RowState rowState = resolveRowState( rowProcessingState );
+		if ( rowState.entityKey != null ) {
 			// its already been resolved
 			return;
 		}
 
-		if ( identifierHydratedState == null ) {
+		if ( rowState.identifierHydratedState == null ) {
 			throw new ExecutionException( "Entity identifier state not yet hydrated on call to resolve EntityKey" );
 		}
 
 		final SharedSessionContractImplementor persistenceContext = rowProcessingState.getJdbcValuesSourceProcessingState().getPersistenceContext();
-		concretePersister = resolveConcreteEntityPersister( rowProcessingState, persistenceContext );
+		final ImprovedEntityPersister concretePersister = resolveConcreteEntityPersister(
+				rowProcessingState,
+				rowState.identifierHydratedState
+		);
+		rowState.concretePersister = concretePersister;
 
 		//		1) resolve the value(s) into its identifier representation
 		final Object id = concretePersister.getEntityPersister().getIdentifierType().assemble(
-				(Serializable) identifierHydratedState,
+				(Serializable) rowState.identifierHydratedState,
 				persistenceContext,
 				null
 		);
 
 		//		2) build and register an EntityKey
-		this.entityKey = new EntityKey( (Serializable) id, concretePersister.getEntityPersister() );
+		final EntityKey entityKey = new EntityKey( (Serializable) id, concretePersister.getEntityPersister() );
+		rowState.entityKey = entityKey;
+
+		//		3) look for an instance already loaded into the PersistenceContext or being loaded as
+		//			part of this processing.  If there is one, it is used as-is and the entity's state
+		//			is not hydrated (nor resolved, nor cached) from this row
+		final Object existingInstance = resolveExistingEntityInstance( rowProcessingState, entityKey, persistenceContext );
+		if ( existingInstance != null ) {
+			rowState.entityInstance = existingInstance;
+			return;
+		}
 
-		//		3) schedule the EntityKey for batch loading, if possible
+		//		4) schedule the EntityKey for batch loading, if possible
 		if ( shouldBatchFetch() && concretePersister.getEntityPersister().isBatchLoadable() ) {
-			if ( !persistenceContext.getPersistenceContext().containsEntity( entityKey ) ) {
-				persistenceContext.getPersistenceContext().getBatchFetchQueue().addBatchLoadableEntityKey( entityKey );
-			}
+			persistenceContext.getPersistenceContext().getBatchFetchQueue().addBatchLoadableEntityKey( entityKey );
 		}
 	}
 
+	private ImprovedEntityPersister resolveConcreteEntityPersister(
+			RowProcessingState rowProcessingState,
+			Object identifierHydratedState) throws WrongClassException {
+		final ImprovedEntityPersister persister = getEntityReference().getEntityPersister();
+		if ( persister.getDiscriminatorDescriptor() == null ) {
+			return persister;
+		}
+
+		final SqlSelectionGroup selectionGroup = sqlSelectionGroupMap.get( persister.getDiscriminatorDescriptor() );
+		// simple assert here since this should have been validate when building the metamodel
+		assert selectionGroup.getSqlSelections().size() == 1;
+
+		final Object discriminatorValue = rowProcessingState.getJdbcValues()[
+				selectionGroup.getSqlSelections().get( 0 ).getValuesArrayPosition()
+		];
+
+		final ImprovedEntityPersister concretePersister = persister.resolveConcreteEntityPersister( discriminatorValue );
+		if ( concretePersister == null ) {
+			//woops we got an instance of another class hierarchy branch
+			throw new WrongClassException(
+					"Discriminator: " + discriminatorValue,
+					(Serializable) identifierHydratedState,
+					persister.getEntityName()
+			);
+		}
+
+		return concretePersister;
+	}
+
+	private Object resolveExistingEntityInstance(
+			RowProcessingState rowProcessingState,
+			EntityKey entityKey,
+			SharedSessionContractImplementor persistenceContext) {
+		Object existingInstance = rowProcessingState.getJdbcValuesSourceProcessingState().findLoadingEntityInstance( entityKey );
+		if ( existingInstance == null ) {
+			existingInstance = persistenceContext.getPersistenceContext().getEntity( entityKey );
+		}
+
+		if ( existingInstance != null && !entityKey.getPersister().isInstance( existingInstance ) ) {
+			throw new WrongClassException(
+					"loaded object was of wrong class " + existingInstance.getClass(),
+					entityKey.getIdentifier(),
+					entityKey.getEntityName()
+			);
+		}
+
+		return existingInstance;
+	}
+
 	/**
 	 * Should we consider this entity reference batchable?
 	 */
@@ -142,10 +300,12 @@ public abstract class AbstractEntityReferenceInitializer
 
 	@Override
 	public void hydrateEntityState(RowProcessingState rowProcessingState) {
-		if ( entityInstance != null ) {
+		final RowState rowState = resolveRowState( rowProcessingState );
+		if ( rowState.entityInstance != null ) {
 			return;
 		}
 
+		final EntityKey entityKey = rowState.entityKey;
 		if ( entityKey == null ) {
 			throw new ExecutionException( "EntityKey not yet resolved on call to hydrated entity state" );
 		}
@@ -154,18 +314,14 @@ public abstract class AbstractEntityReferenceInitializer
 			return;
 		}
 
-		int numberOfNonIdentifierAttributes = concretePersister.getNonIdentifierAttributes().size();
+		final ImprovedEntityPersister concretePersister = rowState.concretePersister;
+		final AttributeValuePositions valuePositions = attributeValuePositionsByType.get( concretePersister );
+		assert valuePositions != null;
+		final Object[] jdbcValues = rowProcessingState.getJdbcValues();
 
 		final Object rowId;
-		if ( concretePersister.getRowIdDescriptor() != null ) {
-			final SqlSelectionGroup sqlSelectionGroup = sqlSelectionGroupMap.get( entityReference.getEntityPersister()
-																						  .getRowIdDescriptor() );
-
-			numberOfNonIdentifierAttributes -= 1;
-			rowId = rowProcessingState.getJdbcValues()[sqlSelectionGroup.getSqlSelections()
-					.get( 0 )
-					.getValuesArrayPosition()];
-
+		if ( valuePositions.rowIdValuePosition >= 0 ) {
+			rowId = jdbcValues[ valuePositions.rowIdValuePosition ];
 			if ( rowId == null ) {
 				throw new HibernateException(
 						"Could not read entity row-id from JDBC : " + entityKey
@@ -176,53 +332,39 @@ public abstract class AbstractEntityReferenceInitializer
 			rowId = null;
 		}
 
-		final Object[] hydratedState = new Object[ numberOfNonIdentifierAttributes ];
-		int i = 0;
-		for ( Attribute attribute : concretePersister.getNonIdentifierAttributes() ) {
-			// todo : need to account for non-eager entities by calling something other than Type#resolve (which loads the entity)
-			//		something akin to org.hibernate.persister.entity.AbstractEntityPersister.hydrate() but that operates on Object[], not ResultSet
-			//
-			//		really at this point any fetches are known which should help - here we'd simply get the instance for that fetch's
-			// 		initializer and that fetch's initializer would take care of initializing the state
-			//
-			//		alternative is something like: AttributeDescriptor#getHydrator#hydrate(Object[] jdbcValues, ...)
-			//		and later something like: AttributeDescriptor#getResolver#resolve(Object[] hydratedValues, ...)
-
-			final Object hydratedValue;
-			if ( attribute instanceof PluralAttribute ) {
-				assert attribute.getOrmType() instanceof CollectionType;
-				hydratedValue = NOT_NULL_COLLECTION;
+		// todo : need to account for non-eager entities by calling something other than Type#resolve (which loads the entity)
+		//		something akin to org.hibernate.persister.entity.AbstractEntityPersister.hydrate() but that operates on Object[], not ResultSet
+		//
+		//		really at this point any fetches are known which should help - here we'd simply get the instance for that fetch's
+		// 		initializer and that fetch's initializer would take care of initializing the state
+		//
+		//		alternative is something like: AttributeDescriptor#getHydrator#hydrate(Object[] jdbcValues, ...)
+		//		and later something like: AttributeDescriptor#getResolver#resolve(Object[] hydratedValues, ...)
+		final Object[] hydratedState = new Object[ valuePositions.numberOfHydratedValues ];
+		for ( int i = 0; i < valuePositions.attributeValuePositions.length; i++ ) {
+			final int[] attributeValuePositions = valuePositions.attributeValuePositions[i];
+			if ( attributeValuePositions == PLURAL_ATTRIBUTE ) {
+				hydratedState[i] = NOT_NULL_COLLECTION;
+			}
+			else if ( attributeValuePositions == null ) {
+				hydratedState[i] = LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			}
+			else if ( attributeValuePositions.length == 1 ) {
+				hydratedState[i] = jdbcValues[ attributeValuePositions[0] ];
 			}
 			else {
-				SingularAttribute singularAttribute = (SingularAttribute) attribute;
-				final SqlSelectionGroup selectionGroup = sqlSelectionGroupMap.get( singularAttribute );
-				if ( selectionGroup == null ) {
-					// not selected (lazy group, etc)
-					hydratedValue = LazyPropertyInitializer.UNFETCHED_PROPERTY;
-				}
-				else {
-					final int numberOfSelections = selectionGroup.getSqlSelections().size();
-					if ( numberOfSelections == 1 ) {
-						hydratedValue = rowProcessingState.getJdbcValues()[ selectionGroup.getSqlSelections().get( 0 ).getValuesArrayPosition() ];
-					}
-					else {
-						final Object[] sliceValues = new Object[ numberOfSelections ];
-						for ( int x = 0; x < numberOfSelections; x++ ) {
-							sliceValues[x] = rowProcessingState.getJdbcValues()[ selectionGroup.getSqlSelections().get( x ).getValuesArrayPosition() ];
-						}
-						hydratedValue = sliceValues;
-					}
+				final Object[] sliceValues = new Object[ attributeValuePositions.length ];
+				for ( int x = 0; x < attributeValuePositions.length; x++ ) {
+					sliceValues[x] = jdbcValues[ attributeValuePositions[x] ];
 				}
+				hydratedState[i] = sliceValues;
 			}
-
-
-			hydratedState[i] = hydratedValue;
-			i++;
 		}
 
 		final SharedSessionContractImplementor persistenceContext = rowProcessingState.getJdbcValuesSourceProcessingState().getPersistenceContext();
 
 		// this isEntityReturn bit is just for entity loaders, not hql/criteria
+		Object entityInstance = null;
 		if ( isEntityReturn ) {
 			final Serializable requestedEntityId = rowProcessingState.getJdbcValuesSourceProcessingState().getProcessingOptions().getEffectiveOptionalId();
 			if ( requestedEntityId != null && requestedEntityId.equals( entityKey.getIdentifier() ) ) {
@@ -232,6 +374,7 @@ public abstract class AbstractEntityReferenceInitializer
 		if ( entityInstance == null ) {
 			entityInstance = persistenceContext.instantiate( concretePersister.getEntityName(), entityKey.getIdentifier() );
 		}
+		rowState.entityInstance = entityInstance;
 
 		rowProcessingState.getJdbcValuesSourceProcessingState().registerLoadingEntity(
 				entityKey,
@@ -253,43 +396,12 @@ public abstract class AbstractEntityReferenceInitializer
 		);
 	}
 
-	private ImprovedEntityPersister resolveConcreteEntityPersister(
-			RowProcessingState rowProcessingState,
-			SharedSessionContractImplementor persistenceContext) throws WrongClassException {
-		final ImprovedEntityPersister persister = getEntityReference().getEntityPersister();
-		if ( persister.getDiscriminatorDescriptor() == null ) {
-			return persister;
-		}
-
-		final SqlSelectionGroup selectionGroup = sqlSelectionGroupMap.get( persister.getDiscriminatorDescriptor() );
-		// simple assert here since this should have been validate when building the metamodel
-		assert selectionGroup.getSqlSelections().size() == 1;
-
-		final Object discriminatorValue = rowProcessingState.getJdbcValues()[
-				selectionGroup.getSqlSelections().get( 0 ).getValuesArrayPosition()
-		];
-
-		final Loadable legacyLoadable = (Loadable) persister.getEntityPersister();
-		final String result = legacyLoadable.getSubclassForDiscriminatorValue( discriminatorValue );
-
-		if ( result == null ) {
-			//woops we got an instance of another class hierarchy branch
-			throw new WrongClassException(
-					"Discriminator: " + discriminatorValue,
-					(Serializable) identifierHydratedState,
-					legacyLoadable.getEntityName()
-			);
-		}
-
-
-		// Cannot do this until ImprovedEntityPersister is merged into EntityPersister
-		// 		todo : enabled this after ImprovedEntityPersister is merged into EntityPersister
-		//return persistenceContext.getFactory().getMetamodel().entityPersister( result );
-		return persister;
-	}
-
 	@Override
 	public void finishUpRow(RowProcessingState rowProcessingState) {
+		final RowState rowState = (RowState) rowProcessingState.getInitializerState( statePosition );
+		if ( rowState != null ) {
+			rowState.reset();
+		}
 	}
 
 	private boolean isReadOnly(
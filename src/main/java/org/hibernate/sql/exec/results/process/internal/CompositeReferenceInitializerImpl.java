@@ -29,4 +29,9 @@ public class CompositeReferenceInitializerImpl
 	public void finishUpRow(RowProcessingState rowProcessingState) {
 
 	}
+
+	@Override
+	public boolean hasRowStateToFinishUp() {
+		return false;
+	}
 }
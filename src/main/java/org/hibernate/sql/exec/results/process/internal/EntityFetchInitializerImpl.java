@@ -23,8 +23,9 @@ public class EntityFetchInitializerImpl extends AbstractEntityReferenceInitializ
 			InitializerParent parent,
 			FetchEntityAttribute entityReference,
 			Map<Attribute,SqlSelectionGroup> sqlSelectionGroupMap,
-			boolean isShallow) {
-		super( parent, entityReference, false, sqlSelectionGroupMap, isShallow );
+			boolean isShallow,
+			int statePosition) {
+		super( parent, entityReference, false, sqlSelectionGroupMap, isShallow, statePosition );
 	}
 
 	@Override
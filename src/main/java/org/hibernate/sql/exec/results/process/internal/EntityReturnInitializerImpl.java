@@ -22,7 +22,8 @@ public class EntityReturnInitializerImpl
 	public EntityReturnInitializerImpl(
 			EntityReference entityReference,
 			Map<Attribute,SqlSelectionGroup> sqlSelectionGroupMap,
-			boolean isShallow) {
-		super( null, entityReference, true, sqlSelectionGroupMap, isShallow );
+			boolean isShallow,
+			int statePosition) {
+		super( null, entityReference, true, sqlSelectionGroupMap, isShallow, statePosition );
 	}
 }
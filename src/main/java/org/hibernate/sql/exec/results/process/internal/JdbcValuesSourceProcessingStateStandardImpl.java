@@ -7,7 +7,9 @@
 package org.hibernate.sql.exec.results.process.internal;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.hibernate.AssertionFailure;
@@ -61,6 +63,10 @@ public class JdbcValuesSourceProcessingStateStandardImpl implements JdbcValuesSo
 	private Map<EntityKey,LoadingEntity> loadingEntityMap;
 	private Map<Object,EntityKey> hydratedEntityKeys;
 
+	// the second-level cache puts for the entities initialized during the two-phase load; these are
+	// performed together once all of the entities are initialized
+	private List<PendingCachePut> pendingCachePuts;
+
 	public JdbcValuesSourceProcessingStateStandardImpl(
 			JdbcValuesSource jdbcValuesSource,
 			QueryOptions queryOptions,
@@ -114,6 +120,16 @@ public class JdbcValuesSourceProcessingStateStandardImpl implements JdbcValuesSo
 		hydratedEntityKeys.put( entityInstance, entityKey );
 	}
 
+	@Override
+	public Object findLoadingEntityInstance(EntityKey entityKey) {
+		if ( loadingEntityMap == null ) {
+			return null;
+		}
+
+		final LoadingEntity loadingEntity = loadingEntityMap.get( entityKey );
+		return loadingEntity == null ? null : loadingEntity.entityInstance;
+	}
+
 	@Override
 	public SharedSessionContractImplementor getPersistenceContext() {
 		return persistenceContext;
@@ -135,6 +151,23 @@ public class JdbcValuesSourceProcessingStateStandardImpl implements JdbcValuesSo
 		postLoad();
 	}
 
+	/**
+	 * Completely load (2-phase load and post-load) the entities hydrated so far and discard
+	 * their loading state.  Used when the results are handed out as each row is read, so
+	 * that each result is initialized when the caller sees it.
+	 */
+	public void finishLoadingEntities() {
+		if ( loadingEntityMap == null || loadingEntityMap.isEmpty() ) {
+			return;
+		}
+
+		performTwoPhaseLoad();
+		postLoad();
+
+		loadingEntityMap.clear();
+		hydratedEntityKeys.clear();
+	}
+
 	private void finishLoadingArrays() {
 //		for ( CollectionReferenceInitializer arrayReferenceInitializer : arrayReferenceInitializers ) {
 //			arrayReferenceInitializer.endLoading( context );
@@ -170,6 +203,44 @@ public class JdbcValuesSourceProcessingStateStandardImpl implements JdbcValuesSo
 					preLoadEvent
 			);
 		}
+
+		performPendingCachePuts();
+	}
+
+	private void performPendingCachePuts() {
+		if ( pendingCachePuts == null ) {
+			return;
+		}
+
+		log.tracev( "Total entities added to second-level cache: {0}", pendingCachePuts.size() );
+
+		final SessionFactoryImplementor factory = persistenceContext.getFactory();
+		final boolean statisticsEnabled = factory.getStatistics().isStatisticsEnabled();
+		final long timestamp = persistenceContext.getTimestamp();
+
+		final SessionEventListenerManager eventListenerManager = persistenceContext.getEventListenerManager();
+		try {
+			eventListenerManager.cachePutStart();
+			for ( PendingCachePut pendingCachePut : pendingCachePuts ) {
+				final boolean put = pendingCachePut.cache.putFromLoad(
+						persistenceContext,
+						pendingCachePut.cacheKey,
+						pendingCachePut.cacheEntry,
+						timestamp,
+						pendingCachePut.version,
+						//useMinimalPuts( session, entityEntry )
+						false
+				);
+
+				if ( put && statisticsEnabled ) {
+					factory.getStatistics().secondLevelCachePut( pendingCachePut.cache.getRegion().getName() );
+				}
+			}
+		}
+		finally {
+			eventListenerManager.cachePutEnd();
+			pendingCachePuts = null;
+		}
 	}
 
 	@SuppressWarnings("SimplifiableIfStatement")
@@ -294,26 +365,17 @@ public class JdbcValuesSourceProcessingStateStandardImpl implements JdbcValuesSo
 				);
 			}
 			else {
-				final SessionEventListenerManager eventListenerManager = session.getEventListenerManager();
-				try {
-					eventListenerManager.cachePutStart();
-					final boolean put = cache.putFromLoad(
-							session,
-							cacheKey,
-							persister.getCacheEntryStructure().structure( entry ),
-							session.getTimestamp(),
-							version,
-							//useMinimalPuts( session, entityEntry )
-							false
-					);
-
-					if ( put && factory.getStatistics().isStatisticsEnabled() ) {
-						factory.getStatistics().secondLevelCachePut( cache.getRegion().getName() );
-					}
-				}
-				finally {
-					eventListenerManager.cachePutEnd();
+				if ( pendingCachePuts == null ) {
+					pendingCachePuts = new ArrayList<>();
 				}
+				pendingCachePuts.add(
+						new PendingCachePut(
+								cache,
+								cacheKey,
+								persister.getCacheEntryStructure().structure( entry ),
+								version
+						)
+				);
 			}
 		}
 
@@ -416,4 +478,18 @@ public class JdbcValuesSourceProcessingStateStandardImpl implements JdbcValuesSo
 			this.hydratedEntityState = hydratedEntityState;
 		}
 	}
+
+	private static class PendingCachePut {
+		private final EntityRegionAccessStrategy cache;
+		private final Object cacheKey;
+		private final Object cacheEntry;
+		private final Object version;
+
+		public PendingCachePut(EntityRegionAccessStrategy cache, Object cacheKey, Object cacheEntry, Object version) {
+			this.cache = cache;
+			this.cacheKey = cacheKey;
+			this.cacheEntry = cacheEntry;
+			this.version = version;
+		}
+	}
 }
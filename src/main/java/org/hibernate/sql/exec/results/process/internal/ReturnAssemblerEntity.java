@@ -30,6 +30,6 @@ public class ReturnAssemblerEntity implements ReturnAssembler {
 
 	@Override
 	public Object assemble(RowProcessingState rowProcessingState, JdbcValuesSourceProcessingOptions options) throws SQLException {
-		return returnEntity.getInitializer().getEntityInstance();
+		return returnEntity.getInitializer().getEntityInstance( rowProcessingState );
 	}
 }
@@ -34,13 +34,18 @@ public class RowProcessingStateStandardImpl implements RowProcessingState {
 	private final JdbcValuesSource jdbcValuesSource;
 	private Object[] currentRowJdbcValues;
 
+	// indexed by the Initializer state positions assigned while building the Return graph
+	private final Object[] initializerStates;
+
 	public RowProcessingStateStandardImpl(
 			JdbcValuesSourceProcessingStateStandardImpl resultSetProcessingState,
 			QueryOptions queryOptions,
-			JdbcValuesSource jdbcValuesSource) {
+			JdbcValuesSource jdbcValuesSource,
+			int numberOfInitializerStates) {
 		this.resultSetProcessingState = resultSetProcessingState;
 		this.queryOptions = queryOptions;
 		this.jdbcValuesSource = jdbcValuesSource;
+		this.initializerStates = new Object[numberOfInitializerStates];
 	}
 
 	@Override
@@ -112,6 +117,16 @@ public class RowProcessingStateStandardImpl implements RowProcessingState {
 		return null;
 	}
 
+	@Override
+	public Object getInitializerState(int statePosition) {
+		return initializerStates[statePosition];
+	}
+
+	@Override
+	public void registerInitializerState(int statePosition, Object state) {
+		initializerStates[statePosition] = state;
+	}
+
 	@Override
 	public void finishRowProcessing() {
 		currentRowJdbcValues = null;
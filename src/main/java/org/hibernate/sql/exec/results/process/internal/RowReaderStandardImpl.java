@@ -7,6 +7,7 @@
 package org.hibernate.sql.exec.results.process.internal;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.hibernate.sql.convert.spi.Callback;
@@ -23,11 +24,15 @@ import org.hibernate.sql.exec.spi.RowTransformer;
  * @author Steve Ebersole
  */
 public class RowReaderStandardImpl<T> implements RowReader<T> {
-	private final List<ReturnAssembler> returnAssemblers;
-	private final List<Initializer> initializers;
+	private final ReturnAssembler[] returnAssemblers;
 	private final RowTransformer<T> rowTransformer;
 
-	private final int returnsCount;
+	// the initializers taking part in each phase of processing a row, in processing order.  The
+	// entity initializers take part in each of the hydrate-identifier, resolve-EntityKey and
+	// hydrate-state phases, so a single array serves all three
+	private final EntityReferenceInitializer[] entityReferenceInitializers;
+	private final Initializer[] rowFinishingInitializers;
+
 	private final Callback callback;
 
 	public RowReaderStandardImpl(
@@ -35,11 +40,28 @@ public class RowReaderStandardImpl<T> implements RowReader<T> {
 			List<Initializer> initializers,
 			RowTransformer<T> rowTransformer,
 			Callback callback) {
-		this.returnAssemblers = returnAssemblers;
-		this.initializers = initializers;
+		this.returnAssemblers = returnAssemblers.toArray( new ReturnAssembler[ returnAssemblers.size() ] );
 		this.rowTransformer = rowTransformer;
 
-		this.returnsCount = returnAssemblers.size();
+		// todo : figure out CompositeReferenceInitializer handling
+		// todo : figure out CollectionReferenceInitializer handling
+		final List<EntityReferenceInitializer> entityReferenceInitializers = new ArrayList<>();
+		final List<Initializer> rowFinishingInitializers = new ArrayList<>();
+		for ( Initializer initializer : initializers ) {
+			if ( initializer instanceof EntityReferenceInitializer ) {
+				entityReferenceInitializers.add( (EntityReferenceInitializer) initializer );
+			}
+			if ( initializer.hasRowStateToFinishUp() ) {
+				rowFinishingInitializers.add( initializer );
+			}
+		}
+		this.entityReferenceInitializers = entityReferenceInitializers.toArray(
+				new EntityReferenceInitializer[ entityReferenceInitializers.size() ]
+		);
+		this.rowFinishingInitializers = rowFinishingInitializers.toArray(
+				new Initializer[ rowFinishingInitializers.size() ]
+		);
+
 		this.callback = callback;
 	}
 
@@ -48,48 +70,41 @@ public class RowReaderStandardImpl<T> implements RowReader<T> {
 		// NOTE : atm we only support reading scalar values...
 		// todo : support other stuff ^^
 
-		coordinateInitializers( rowProcessingState, options );
+		coordinateInitializers( rowProcessingState );
 
 		// finally assemble the results
 
-		final Object[] result = new Object[returnsCount];
-		for ( int i = 0; i < returnsCount; i++ ) {
-			result[i] = returnAssemblers.get( i ).assemble( rowProcessingState, options );
+		final Object[] result = new Object[ returnAssemblers.length ];
+		for ( int i = 0; i < returnAssemblers.length; i++ ) {
+			result[i] = returnAssemblers[i].assemble( rowProcessingState, options );
 		}
 
+		finishUpRow( rowProcessingState );
+
 		// todo : add AfterLoadActions handling here via Callback
 
 		return rowTransformer.transformRow( result );
 	}
 
-	private void coordinateInitializers(
-			RowProcessingState rowProcessingState,
-			JdbcValuesSourceProcessingOptions options) {
-		// todo : figure out CompositeReferenceInitializer handling
-		// todo : figure out CollectionReferenceInitializer handling
-
-		for ( Initializer initializer : initializers ) {
-			if ( initializer instanceof EntityReferenceInitializer ) {
-				( (EntityReferenceInitializer) initializer ).hydrateIdentifier( rowProcessingState );
-			}
+	private void coordinateInitializers(RowProcessingState rowProcessingState) {
+		for ( EntityReferenceInitializer initializer : entityReferenceInitializers ) {
+			initializer.hydrateIdentifier( rowProcessingState );
 		}
 
-		for ( Initializer initializer : initializers ) {
-			if ( initializer instanceof EntityReferenceInitializer ) {
-				( (EntityReferenceInitializer) initializer ).resolveEntityKey( rowProcessingState );
-			}
+		for ( EntityReferenceInitializer initializer : entityReferenceInitializers ) {
+			initializer.resolveEntityKey( rowProcessingState );
 		}
 
-		for ( Initializer initializer : initializers ) {
-			if ( initializer instanceof EntityReferenceInitializer ) {
-				( (EntityReferenceInitializer) initializer ).hydrateEntityState( rowProcessingState );
-			}
+		for ( EntityReferenceInitializer initializer : entityReferenceInitializers ) {
+			initializer.hydrateEntityState( rowProcessingState );
 		}
+	}
 
-		for ( Initializer initializer : initializers ) {
+	private void finishUpRow(RowProcessingState rowProcessingState) {
+		// the assemblers read the state of the initializers, so this needs to happen after assembly
+		for ( Initializer initializer : rowFinishingInitializers ) {
 			initializer.finishUpRow( rowProcessingState );
 		}
-
 	}
 
 	@Override
@@ -10,179 +10,366 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.sql.ast.select.SqlSelection;
 import org.hibernate.sql.exec.internal.RecommendedJdbcTypeMappings;
 import org.hibernate.sql.exec.results.process.spi.JdbcValuesSourceProcessingState;
 import org.hibernate.sql.exec.results.process.spi2.SqlSelectionReader;
 import org.hibernate.type.BasicType;
 import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
-import org.hibernate.type.descriptor.java.JavaTypeDescriptorRegistry;
 
 /**
+ * SqlSelectionReader defined in terms of either a BasicType or a JDBC type code.
+ * <p/>
+ * Reading values is meant to happen through the reader {@link #resolve resolved}
+ * when the query is interpreted : a reader specialized for the JDBC type (calling
+ * the matching ResultSet getter, e.g. {@link ResultSet#getLong} for BIGINT) which
+ * holds the JavaTypeDescriptor used to wrap the value directly.
+ *
  * @author Steve Ebersole
  */
 public class SqlSelectionReaderImpl implements SqlSelectionReader {
-	private final Reader reader;
+	private final BasicType basicType;
+	private final int jdbcTypeCode;
 
 	public SqlSelectionReaderImpl(int jdbcTypeCode) {
-		reader = new JdbcTypeCodeReaderImpl( jdbcTypeCode );
+		this( null, jdbcTypeCode );
 	}
 
 	public SqlSelectionReaderImpl(BasicType basicType) {
-		reader = new BasicTypeReaderAdapterImpl( basicType );
+		this( basicType, Types.OTHER );
 	}
 
 	public SqlSelectionReaderImpl(BasicType basicType, int jdbcTypeCode) {
+		this.basicType = basicType;
+		this.jdbcTypeCode = jdbcTypeCode;
+	}
+
+	@Override
+	public SqlSelectionReader resolve(SessionFactoryImplementor sessionFactory) {
+		final int resolvedJdbcTypeCode;
+		final Class<?> javaClassMapping;
 		if ( basicType != null ) {
-			reader = new BasicTypeReaderAdapterImpl( basicType );
+			// Any more than a single column is an error at this level
+			resolvedJdbcTypeCode = basicType.sqlTypes( sessionFactory )[0];
+			javaClassMapping = basicType.getReturnedClass();
 		}
 		else {
-			reader = new JdbcTypeCodeReaderImpl( jdbcTypeCode );
+			resolvedJdbcTypeCode = jdbcTypeCode;
+			javaClassMapping = RecommendedJdbcTypeMappings.INSTANCE.determineJavaClassForJdbcTypeCode( jdbcTypeCode );
 		}
+
+		final JavaTypeDescriptor javaTypeDescriptor = sessionFactory.getMetamodel()
+				.getTypeDescriptorRegistryAccess()
+				.getJavaTypeDescriptorRegistry()
+				.getDescriptor( javaClassMapping );
+
+		return resolveReader( resolvedJdbcTypeCode, javaTypeDescriptor );
 	}
 
 	@Override
 	public Object read(
 			ResultSet resultSet,
 			JdbcValuesSourceProcessingState jdbcValuesSourceProcessingState,
-			SqlSelection sqlSelection)
-			throws SQLException {
-		return reader.read( resultSet, jdbcValuesSourceProcessingState, sqlSelection.getJdbcResultSetIndex() );
-	}
-
-	private static interface Reader {
-		Object read(
-				ResultSet resultSet,
-				JdbcValuesSourceProcessingState jdbcValuesSourceProcessingState,
-				int position)
-				throws SQLException;
+			SqlSelection sqlSelection) throws SQLException {
+		// not pre-resolved; resolve just for this read
+		return resolve( jdbcValuesSourceProcessingState.getPersistenceContext().getFactory() ).read(
+				resultSet,
+				jdbcValuesSourceProcessingState,
+				sqlSelection
+		);
 	}
 
-	static class JdbcTypeCodeReaderImpl implements Reader {
-		private final int jdbcTypeCode;
-
-		public JdbcTypeCodeReaderImpl(int jdbcTypeCode) {
-			this.jdbcTypeCode = jdbcTypeCode;
-		}
-
-		@Override
-		public Object read(
-				ResultSet resultSet,
-				JdbcValuesSourceProcessingState jdbcValuesSourceProcessingState,
-				int position) throws SQLException {
-			final Class<?> javaClassMapping = RecommendedJdbcTypeMappings.INSTANCE.determineJavaClassForJdbcTypeCode(
-					jdbcTypeCode
-			);
-			final JavaTypeDescriptor javaTypeDescriptor = jdbcValuesSourceProcessingState.getPersistenceContext()
-					.getFactory()
-					.getMetamodel()
-					.getTypeDescriptorRegistryAccess()
-					.getJavaTypeDescriptorRegistry()
-					.getDescriptor( javaClassMapping );
-
-			return javaTypeDescriptor.wrap(
-					extractJdbcValue( resultSet, jdbcTypeCode, position ),
-					jdbcValuesSourceProcessingState.getPersistenceContext()
-			);
-		}
-	}
-
-	public static Object extractJdbcValue(ResultSet resultSet, int jdbcTypeCode, int position) throws SQLException {
+	/**
+	 * Resolve the reader specialized for reading values of the given JDBC type
+	 */
+	public static SqlSelectionReader resolveReader(int jdbcTypeCode, JavaTypeDescriptor javaTypeDescriptor) {
 		switch ( jdbcTypeCode ) {
 			case Types.BIGINT: {
-				return resultSet.getBigDecimal( position );
-			}
-			case Types.BIT: {
-				return resultSet.getBoolean( position );
+				return new LongReader( javaTypeDescriptor );
 			}
+			case Types.BIT:
 			case Types.BOOLEAN: {
-				return resultSet.getBoolean( position );
+				return new BooleanReader( javaTypeDescriptor );
 			}
-			case Types.CHAR: {
-				return resultSet.getString( position );
+			case Types.CHAR:
+			case Types.LONGVARCHAR:
+			case Types.VARCHAR: {
+				return new StringReader( javaTypeDescriptor );
 			}
 			case Types.DATE: {
-				return resultSet.getDate( position );
+				return new DateReader( javaTypeDescriptor );
 			}
-			case Types.DECIMAL: {
-				return resultSet.getBigDecimal( position );
+			case Types.DECIMAL:
+			case Types.NUMERIC: {
+				return new BigDecimalReader( javaTypeDescriptor );
 			}
 			case Types.DOUBLE: {
-				return resultSet.getDouble( position );
+				return new DoubleReader( javaTypeDescriptor );
 			}
-			case Types.FLOAT: {
-				return resultSet.getFloat( position );
+			case Types.FLOAT:
+			case Types.REAL: {
+				return new FloatReader( javaTypeDescriptor );
 			}
 			case Types.INTEGER: {
-				return resultSet.getInt( position );
+				return new IntegerReader( javaTypeDescriptor );
 			}
-			case Types.LONGNVARCHAR: {
-				return resultSet.getNString( position );
+			case Types.SMALLINT: {
+				return new ShortReader( javaTypeDescriptor );
 			}
-			case Types.LONGVARCHAR: {
-				return resultSet.getString( position );
-			}
-			case Types.LONGVARBINARY: {
-				return resultSet.getBytes( position );
-			}
-			case Types.NCHAR: {
-				return resultSet.getNString( position );
-			}
-			case Types.NUMERIC: {
-				return resultSet.getBigDecimal( position );
+			case Types.TINYINT: {
+				return new ByteReader( javaTypeDescriptor );
 			}
+			case Types.LONGNVARCHAR:
+			case Types.NCHAR:
 			case Types.NVARCHAR: {
-				return resultSet.getNString( position );
+				return new NStringReader( javaTypeDescriptor );
+			}
+			case Types.BINARY:
+			case Types.VARBINARY:
+			case Types.LONGVARBINARY: {
+				return new BytesReader( javaTypeDescriptor );
 			}
 			case Types.TIME: {
-				return resultSet.getTime( position );
+				return new TimeReader( javaTypeDescriptor );
 			}
 			case Types.TIMESTAMP: {
-				return resultSet.getTimestamp( position );
-			}
-			case Types.VARCHAR: {
-				return resultSet.getString( position );
+				return new TimestampReader( javaTypeDescriptor );
 			}
 			case Types.BLOB: {
-				return resultSet.getBlob( position );
+				return new BlobReader( javaTypeDescriptor );
 			}
 			case Types.CLOB: {
-				return resultSet.getClob( position );
+				return new ClobReader( javaTypeDescriptor );
 			}
 			case Types.NCLOB: {
-				return resultSet.getNClob( position );
+				return new NClobReader( javaTypeDescriptor );
 			}
 		}
 
-		throw new UnsupportedOperationException( "JDBC type [" + jdbcTypeCode + " not supported" );
+		throw new UnsupportedOperationException( "JDBC type [" + jdbcTypeCode + "] not supported" );
 	}
 
-	private class BasicTypeReaderAdapterImpl implements Reader {
-		private final BasicType basicType;
+	/**
+	 * Base support for the JDBC type specific readers.  Subclasses extract the raw JDBC value;
+	 * it is then wrapped into the domain representation via the JavaTypeDescriptor.
+	 */
+	private abstract static class AbstractJdbcTypeReader implements SqlSelectionReader {
+		private final JavaTypeDescriptor javaTypeDescriptor;
 
-		public BasicTypeReaderAdapterImpl(BasicType basicType) {
-			this.basicType = basicType;
+		private AbstractJdbcTypeReader(JavaTypeDescriptor javaTypeDescriptor) {
+			this.javaTypeDescriptor = javaTypeDescriptor;
 		}
 
 		@Override
+		@SuppressWarnings("unchecked")
 		public Object read(
 				ResultSet resultSet,
 				JdbcValuesSourceProcessingState jdbcValuesSourceProcessingState,
-				int position) throws SQLException {
-			// Any more than a single column is an error at this level
-			final int jdbcTypeCode = basicType.sqlTypes( jdbcValuesSourceProcessingState.getPersistenceContext().getFactory() )[0];
-
-			final JavaTypeDescriptor javaTypeDescriptor = jdbcValuesSourceProcessingState.getPersistenceContext()
-					.getFactory()
-					.getMetamodel()
-					.getTypeDescriptorRegistryAccess()
-					.getJavaTypeDescriptorRegistry()
-					.getDescriptor( basicType.getReturnedClass() );
-
-			return javaTypeDescriptor.wrap(
-					extractJdbcValue( resultSet, jdbcTypeCode, position ),
-					jdbcValuesSourceProcessingState.getPersistenceContext()
-			);
+				SqlSelection sqlSelection) throws SQLException {
+			final Object jdbcValue = extract( resultSet, sqlSelection.getJdbcResultSetIndex() );
+			if ( jdbcValue == null ) {
+				return null;
+			}
+			return javaTypeDescriptor.wrap( jdbcValue, jdbcValuesSourceProcessingState.getPersistenceContext() );
+		}
+
+		protected abstract Object extract(ResultSet resultSet, int position) throws SQLException;
+	}
+
+	// NOTE : the readers for primitive getters need to check ResultSet#wasNull
+
+	private static class LongReader extends AbstractJdbcTypeReader {
+		private LongReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			final long value = resultSet.getLong( position );
+			return resultSet.wasNull() ? null : value;
+		}
+	}
+
+	private static class IntegerReader extends AbstractJdbcTypeReader {
+		private IntegerReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			final int value = resultSet.getInt( position );
+			return resultSet.wasNull() ? null : value;
+		}
+	}
+
+	private static class ShortReader extends AbstractJdbcTypeReader {
+		private ShortReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			final short value = resultSet.getShort( position );
+			return resultSet.wasNull() ? null : value;
+		}
+	}
+
+	private static class ByteReader extends AbstractJdbcTypeReader {
+		private ByteReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			final byte value = resultSet.getByte( position );
+			return resultSet.wasNull() ? null : value;
+		}
+	}
+
+	private static class BooleanReader extends AbstractJdbcTypeReader {
+		private BooleanReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			final boolean value = resultSet.getBoolean( position );
+			return resultSet.wasNull() ? null : value;
+		}
+	}
+
+	private static class DoubleReader extends AbstractJdbcTypeReader {
+		private DoubleReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			final double value = resultSet.getDouble( position );
+			return resultSet.wasNull() ? null : value;
+		}
+	}
+
+	private static class FloatReader extends AbstractJdbcTypeReader {
+		private FloatReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			final float value = resultSet.getFloat( position );
+			return resultSet.wasNull() ? null : value;
+		}
+	}
+
+	private static class BigDecimalReader extends AbstractJdbcTypeReader {
+		private BigDecimalReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			return resultSet.getBigDecimal( position );
+		}
+	}
+
+	private static class StringReader extends AbstractJdbcTypeReader {
+		private StringReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			return resultSet.getString( position );
+		}
+	}
+
+	private static class NStringReader extends AbstractJdbcTypeReader {
+		private NStringReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			return resultSet.getNString( position );
+		}
+	}
+
+	private static class BytesReader extends AbstractJdbcTypeReader {
+		private BytesReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			return resultSet.getBytes( position );
+		}
+	}
+
+	private static class DateReader extends AbstractJdbcTypeReader {
+		private DateReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			return resultSet.getDate( position );
+		}
+	}
+
+	private static class TimeReader extends AbstractJdbcTypeReader {
+		private TimeReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			return resultSet.getTime( position );
+		}
+	}
+
+	private static class TimestampReader extends AbstractJdbcTypeReader {
+		private TimestampReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			return resultSet.getTimestamp( position );
+		}
+	}
+
+	private static class BlobReader extends AbstractJdbcTypeReader {
+		private BlobReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			return resultSet.getBlob( position );
+		}
+	}
+
+	private static class ClobReader extends AbstractJdbcTypeReader {
+		private ClobReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			return resultSet.getClob( position );
+		}
+	}
+
+	private static class NClobReader extends AbstractJdbcTypeReader {
+		private NClobReader(JavaTypeDescriptor javaTypeDescriptor) {
+			super( javaTypeDescriptor );
+		}
+
+		@Override
+		protected Object extract(ResultSet resultSet, int position) throws SQLException {
+			return resultSet.getNClob( position );
 		}
 	}
 }
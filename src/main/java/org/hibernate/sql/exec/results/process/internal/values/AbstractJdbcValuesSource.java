@@ -39,6 +39,10 @@ public abstract class AbstractJdbcValuesSource implements JdbcValuesSource {
 
 	protected abstract boolean processNext(RowProcessingState rowProcessingState);
 
+	protected QueryCachePutManager getQueryCachePutManager() {
+		return queryCachePutManager;
+	}
+
 	@Override
 	public final void finishUp() {
 		queryCachePutManager.finishUp();
@@ -37,6 +37,12 @@ public interface JdbcValuesSource {
 	 * Get the JDBC values for the row currently positioned at within
 	 * this source.
 	 *
+	 * <p/>
+	 * NOTE : when requested by the executor, implementations may re-use the same
+	 * array for each row, in which case the array is only valid until the next call
+	 * to {@link #next}.  Anything needing
+	 * to retain the values beyond the current row must copy them.
+	 *
 	 * @return The current row's JDBC values, or {@code null} if the position
 	 * is beyond the end of the available results.
 	 */
@@ -27,17 +27,23 @@ import org.hibernate.sql.exec.results.process.internal.caching.QueryCachePutMana
 import org.hibernate.sql.exec.results.process.internal.caching.QueryCachePutManagerDisabledImpl;
 import org.hibernate.sql.exec.results.process.internal.caching.QueryCachePutManagerEnabledImpl;
 import org.hibernate.sql.exec.results.process.spi.RowProcessingState;
+import org.hibernate.sql.exec.results.process.spi2.SqlSelectionReader;
 import org.hibernate.sql.exec.spi.PreparedStatementCreator;
 import org.hibernate.sql.exec.spi.PreparedStatementExecutor;
+import org.hibernate.sql.exec.spi.SqlAstSelectInterpreter;
 import org.hibernate.sql.exec.spi.SqlSelectInterpretation;
 import org.hibernate.sql.spi.ParameterBinder;
 
+import org.jboss.logging.Logger;
+
 /**
  * JdbcValuesSource implementation for a JDBC ResultSet as the source
  *
  * @author Steve Ebersole
  */
 public class JdbcValuesSourceResultSetImpl extends AbstractJdbcValuesSource {
+	private static final Logger log = Logger.getLogger( JdbcValuesSourceResultSetImpl.class );
+
 	// todo : re-purpose PreparedStatementExecutor to simply expose access to the ResultSet rather than List/ScrollableResult etc
 	//		^^ that is the job of org.hibernate.sql.exec.spi.SqlTreeExecutor
 
@@ -47,14 +53,24 @@ public class JdbcValuesSourceResultSetImpl extends AbstractJdbcValuesSource {
 	private final PreparedStatementCreator statementCreator;
 	private final PreparedStatementExecutor preparedStatementExecutor;
 	private final QueryParameterBindings queryParameterBindings;
-	private final List<SqlSelection> sqlSelections;
+	private final SqlSelection[] sqlSelections;
+	private final SqlSelectionReader[] sqlSelectionReaders;
+
+	// limit/offset still to be applied while processing the results (i.e. not applied in the SQL)
 	private final int numberOfRowsToProcess;
+	private final int numberOfRowsToSkip;
 
 	private PreparedStatement preparedStatement;
 	private ResultSet resultSet;
 
+	// the array re-used for reading the JDBC values of each row, or null if each row
+	// needs its own array (re-use was not requested, or the QueryCachePutManager holds
+	// on to the rows)
+	private final Object[] rowValuesBuffer;
+
 	private Object[] currentRowJdbcValues;
-	private int position = -1;
+	private boolean initialized;
+	private int numberOfRowsProcessed;
 
 	public JdbcValuesSourceResultSetImpl(
 			SharedSessionContractImplementor persistenceContext,
@@ -64,6 +80,33 @@ public class JdbcValuesSourceResultSetImpl extends AbstractJdbcValuesSource {
 			PreparedStatementExecutor preparedStatementExecutor,
 			QueryParameterBindings queryParameterBindings,
 			List<SqlSelection> sqlSelections) {
+		this(
+				persistenceContext,
+				sqlSelectInterpretation,
+				queryOptions,
+				statementCreator,
+				preparedStatementExecutor,
+				queryParameterBindings,
+				sqlSelections,
+				false
+		);
+	}
+
+	/**
+	 * @param reuseRowValuesBuffer Whether the JDBC values of every row may be read into the
+	 * same array (see {@link JdbcValuesSource#getCurrentRowJdbcValues}).  Only safe when
+	 * nothing holds on to the values array beyond the processing of its row.  Ignored when
+	 * the results are put into the query cache.
+	 */
+	public JdbcValuesSourceResultSetImpl(
+			SharedSessionContractImplementor persistenceContext,
+			SqlSelectInterpretation sqlSelectInterpretation,
+			QueryOptions queryOptions,
+			PreparedStatementCreator statementCreator,
+			PreparedStatementExecutor preparedStatementExecutor,
+			QueryParameterBindings queryParameterBindings,
+			List<SqlSelection> sqlSelections,
+			boolean reuseRowValuesBuffer) {
 		super( resolveQueryCachePutManager( persistenceContext, queryOptions ) );
 		this.persistenceContext = persistenceContext;
 		this.sqlSelectInterpretation = sqlSelectInterpretation;
@@ -71,12 +114,34 @@ public class JdbcValuesSourceResultSetImpl extends AbstractJdbcValuesSource {
 		this.statementCreator = statementCreator;
 		this.preparedStatementExecutor = preparedStatementExecutor;
 		this.queryParameterBindings = queryParameterBindings;
-		this.sqlSelections = sqlSelections;
+		this.sqlSelections = sqlSelections.toArray( new SqlSelection[ sqlSelections.size() ] );
+		this.sqlSelectionReaders = resolveSqlSelectionReaders( persistenceContext, sqlSelectInterpretation, sqlSelections );
+		this.rowValuesBuffer = reuseRowValuesBuffer && getQueryCachePutManager() instanceof QueryCachePutManagerDisabledImpl
+				? new Object[ this.sqlSelections.length ]
+				: null;
+
+		this.numberOfRowsToProcess = interpretNumberOfRowsToProcess( queryOptions, sqlSelectInterpretation );
+		this.numberOfRowsToSkip = interpretNumberOfRowsToSkip( queryOptions, sqlSelectInterpretation );
+	}
 
-		this.numberOfRowsToProcess = interpretNumberOfRowsToProcess( queryOptions );
+	private static SqlSelectionReader[] resolveSqlSelectionReaders(
+			SharedSessionContractImplementor persistenceContext,
+			SqlSelectInterpretation sqlSelectInterpretation,
+			List<SqlSelection> sqlSelections) {
+		List<SqlSelectionReader> readers = sqlSelectInterpretation.getSqlSelectionReaders();
+		if ( readers == null || readers.size() != sqlSelections.size() ) {
+			// the interpretation did not pre-resolve the readers
+			readers = SqlAstSelectInterpreter.resolveSqlSelectionReaders( sqlSelections, persistenceContext.getFactory() );
+		}
+		return readers.toArray( new SqlSelectionReader[ readers.size() ] );
 	}
 
-	private static int interpretNumberOfRowsToProcess(QueryOptions queryOptions) {
+	private static int interpretNumberOfRowsToProcess(
+			QueryOptions queryOptions,
+			SqlSelectInterpretation sqlSelectInterpretation) {
+		if ( sqlSelectInterpretation.isMaxRowsAppliedInSql() ) {
+			return -1;
+		}
 		if ( queryOptions.getLimit() == null ) {
 			return -1;
 		}
@@ -88,6 +153,19 @@ public class JdbcValuesSourceResultSetImpl extends AbstractJdbcValuesSource {
 		return limit.getMaxRows();
 	}
 
+	private static int interpretNumberOfRowsToSkip(
+			QueryOptions queryOptions,
+			SqlSelectInterpretation sqlSelectInterpretation) {
+		if ( sqlSelectInterpretation.isFirstRowAppliedInSql() ) {
+			return 0;
+		}
+		if ( queryOptions.getLimit() == null || queryOptions.getLimit().getFirstRow() == null ) {
+			return 0;
+		}
+
+		return Math.max( 0, queryOptions.getLimit().getFirstRow() );
+	}
+
 	private static QueryCachePutManager resolveQueryCachePutManager(
 			SharedSessionContractImplementor persistenceContext,
 			QueryOptions queryOptions) {
@@ -110,28 +188,20 @@ public class JdbcValuesSourceResultSetImpl extends AbstractJdbcValuesSource {
 
 	@Override
 	protected final boolean processNext(RowProcessingState rowProcessingState) {
-		if ( position == 0 ) {
-			return false;
-		}
-		else if ( position <= -1 ) {
+		if ( !initialized ) {
 			initializeState();
-			position = -1;
+			initialized = true;
 		}
 
-		if ( numberOfRowsToProcess != -1 && position > numberOfRowsToProcess ) {
-			currentRowJdbcValues = null;
-			return false;
-		}
-
-		position++;
-
-		if ( numberOfRowsToProcess != -1 && position > numberOfRowsToProcess ) {
+		if ( resultSet == null
+				|| ( numberOfRowsToProcess != -1 && numberOfRowsProcessed >= numberOfRowsToProcess ) ) {
 			currentRowJdbcValues = null;
 			return false;
 		}
 
 		try {
 			if ( !resultSet.next() ) {
+				currentRowJdbcValues = null;
 				return false;
 			}
 		}
@@ -139,6 +209,8 @@ public class JdbcValuesSourceResultSetImpl extends AbstractJdbcValuesSource {
 			throw makeExecutionException( "Error advancing JDBC ResultSet", e );
 		}
 
+		numberOfRowsProcessed++;
+
 		try {
 			currentRowJdbcValues = readCurrentRowValues( rowProcessingState );
 		}
@@ -160,13 +232,13 @@ public class JdbcValuesSourceResultSetImpl extends AbstractJdbcValuesSource {
 	}
 
 	private Object[] readCurrentRowValues(RowProcessingState rowProcessingState) throws SQLException {
-		final int numberOfSqlSelections = sqlSelections.size();
-		final Object[] row = new Object[numberOfSqlSelections];
+		final int numberOfSqlSelections = sqlSelections.length;
+		final Object[] row = rowValuesBuffer != null ? rowValuesBuffer : new Object[numberOfSqlSelections];
 		for ( int i = 0; i < numberOfSqlSelections; i++ ) {
-			row[i] = sqlSelections.get( i ).getSqlSelectable().getSqlSelectionReader().read(
+			row[i] = sqlSelectionReaders[i].read(
 					resultSet,
 					rowProcessingState.getJdbcValuesSourceProcessingState(),
-					sqlSelections.get( i )
+					sqlSelections[i]
 			);
 		}
 		return row;
@@ -194,8 +266,14 @@ public class JdbcValuesSourceResultSetImpl extends AbstractJdbcValuesSource {
 				preparedStatement.setQueryTimeout( queryOptions.getTimeout() );
 			}
 
-			// todo : limit/offset
-
+			// NOTE : limit/offset (if rendered into the SQL) are bound as part of the ParameterBinders
+			if ( numberOfRowsToProcess != -1 ) {
+				// the limit could not be applied in the SQL; at least let the driver know.  The sum is
+				// computed as a long since a large limit (e.g. Integer.MAX_VALUE) would otherwise overflow
+				preparedStatement.setMaxRows(
+						(int) Math.min( (long) numberOfRowsToProcess + numberOfRowsToSkip, Integer.MAX_VALUE )
+				);
+			}
 
 			// bind parameters
 			// 		todo : validate that all query parameters were bound?
@@ -205,6 +283,7 @@ public class JdbcValuesSourceResultSetImpl extends AbstractJdbcValuesSource {
 						preparedStatement,
 						paramBindingPosition,
 						queryParameterBindings,
+						queryOptions,
 						persistenceContext
 				);
 			}
@@ -212,6 +291,10 @@ public class JdbcValuesSourceResultSetImpl extends AbstractJdbcValuesSource {
 			resultSet = preparedStatementExecutor.execute( preparedStatement, queryOptions, persistenceContext );
 			logicalConnection.getResourceRegistry().register( resultSet, preparedStatement );
 
+			if ( numberOfRowsToSkip > 0 ) {
+				skipRows();
+			}
+
 		}
 		catch (SQLException e) {
 			throw jdbcServices.getSqlExceptionHelper().convert(
@@ -225,6 +308,21 @@ public class JdbcValuesSourceResultSetImpl extends AbstractJdbcValuesSource {
 
 	}
 
+	private void skipRows() throws SQLException {
+		// the offset could not be applied in the SQL, so position the ResultSet just before the first-row
+		log.debugf( "Skipping %s rows as first-row could not be applied in the SQL", numberOfRowsToSkip );
+		if ( resultSet.getType() != ResultSet.TYPE_FORWARD_ONLY ) {
+			resultSet.absolute( numberOfRowsToSkip );
+		}
+		else {
+			for ( int i = 0; i < numberOfRowsToSkip; i++ ) {
+				if ( !resultSet.next() ) {
+					break;
+				}
+			}
+		}
+	}
+
 	@Override
 	protected void release() {
 		if ( resultSet != null ) {
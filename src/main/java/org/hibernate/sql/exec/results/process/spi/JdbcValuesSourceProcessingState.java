@@ -39,5 +39,13 @@ public interface JdbcValuesSourceProcessingState {
 
 	void registerLoadingEntity(EntityKey entityKey, ImprovedEntityPersister persister, Object entityInstance, Object[] hydratedState);
 
+	/**
+	 * Locate the instance of an entity registered as loading (via {@link #registerLoadingEntity})
+	 * as part of this processing
+	 *
+	 * @return The entity instance, or {@code null} if the entity is not being loaded here
+	 */
+	Object findLoadingEntityInstance(EntityKey entityKey);
+
 	void finishUp();
 }
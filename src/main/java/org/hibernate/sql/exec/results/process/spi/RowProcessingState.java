@@ -20,6 +20,11 @@ public interface RowProcessingState {
 	JdbcValuesSourceProcessingState getJdbcValuesSourceProcessingState();
 
 //	boolean next() throws SQLException;
+
+	/**
+	 * The JDBC values for the current row.  The array may be re-used for subsequent
+	 * rows, so it should not be retained beyond processing of the current row.
+	 */
 	Object[] getJdbcValues();
 
 	void registerNonExists(EntityFetch fetch);
@@ -29,5 +34,17 @@ public interface RowProcessingState {
 	EntityReferenceProcessingState getProcessingState(DomainReferenceExpression expression);
 	EntityReferenceProcessingState getOwnerProcessingState(Fetch fetch);
 
+	/**
+	 * Access to the per-execution state of the Initializer which was assigned the
+	 * given state position when the Return graph was built.  The Initializers (and
+	 * Returns in general) are immutable and shareable across executions; any state
+	 * they need while processing rows is kept here instead.
+	 *
+	 * @return The registered state, or {@code null} if none registered yet
+	 */
+	Object getInitializerState(int statePosition);
+
+	void registerInitializerState(int statePosition, Object state);
+
 	void finishRowProcessing();
 }
@@ -15,7 +15,10 @@ import org.hibernate.sql.exec.results.process.spi.RowProcessingState;
 public interface EntityReferenceInitializer extends Initializer, InitializerParent {
 	EntityReference getEntityReference();
 
-	Object getEntityInstance();
+	/**
+	 * The entity instance resolved for the row currently being processed
+	 */
+	Object getEntityInstance(RowProcessingState rowProcessingState);
 
 	void hydrateIdentifier(RowProcessingState rowProcessingState);
 
@@ -18,4 +18,12 @@ import org.hibernate.sql.exec.results.process.spi.RowProcessingState;
  */
 public interface Initializer {
 	void finishUpRow(RowProcessingState rowProcessingState);
+
+	/**
+	 * Does this initializer have anything to do in {@link #finishUpRow}?  Initializers
+	 * which do not are not called for each row.
+	 */
+	default boolean hasRowStateToFinishUp() {
+		return true;
+	}
 }
@@ -9,6 +9,7 @@ package org.hibernate.sql.exec.results.process.spi2;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.sql.ast.select.SqlSelection;
 import org.hibernate.sql.exec.results.process.spi.JdbcValuesSourceProcessingState;
 
@@ -16,6 +17,16 @@ import org.hibernate.sql.exec.results.process.spi.JdbcValuesSourceProcessingStat
  * @author Steve Ebersole
  */
 public interface SqlSelectionReader {
+	/**
+	 * Resolve the reader to use for reading values for the duration of a query
+	 * interpretation.  Called once when the query is interpreted, allowing the
+	 * reader to resolve anything it needs (JDBC type, JavaTypeDescriptor, etc)
+	 * up front rather than for each value read.
+	 */
+	default SqlSelectionReader resolve(SessionFactoryImplementor sessionFactory) {
+		return this;
+	}
+
 	Object read(
 			ResultSet resultSet,
 			JdbcValuesSourceProcessingState jdbcValuesSourceProcessingState,
@@ -7,16 +7,30 @@
 package org.hibernate.sql.exec.spi;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
+import org.hibernate.NullPrecedence;
 import org.hibernate.QueryException;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.pagination.LimitHandler;
+import org.hibernate.dialect.pagination.LimitHelper;
+import org.hibernate.engine.spi.RowSelection;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.common.internal.UnionSubclassTable;
+import org.hibernate.query.proposed.Limit;
+import org.hibernate.query.proposed.QueryOptions;
 import org.hibernate.query.proposed.spi.ExecutionContext;
+import org.hibernate.query.proposed.spi.QueryParameterBinding;
 import org.hibernate.query.proposed.spi.QueryParameterBindings;
 import org.hibernate.sql.NotYetImplementedException;
 import org.hibernate.sql.ast.QuerySpec;
 import org.hibernate.sql.ast.SelectQuery;
+import org.hibernate.sql.ast.expression.AbstractParameter;
 import org.hibernate.sql.ast.expression.AvgFunction;
 import org.hibernate.sql.ast.expression.BinaryArithmeticExpression;
 import org.hibernate.sql.ast.expression.CaseSearchedExpression;
@@ -36,6 +50,7 @@ import org.hibernate.sql.ast.expression.PositionalParameter;
 import org.hibernate.sql.ast.expression.QueryLiteral;
 import org.hibernate.sql.ast.expression.SumFunction;
 import org.hibernate.sql.ast.expression.UnaryOperationExpression;
+import org.hibernate.sql.ast.expression.domain.DomainReferenceExpression;
 import org.hibernate.sql.ast.expression.domain.EntityReferenceExpression;
 import org.hibernate.sql.ast.expression.domain.PluralAttributeElementReferenceExpression;
 import org.hibernate.sql.ast.expression.domain.PluralAttributeIndexReferenceExpression;
@@ -62,10 +77,17 @@ import org.hibernate.sql.ast.predicate.Predicate;
 import org.hibernate.sql.ast.predicate.RelationalPredicate;
 import org.hibernate.sql.ast.select.SelectClause;
 import org.hibernate.sql.ast.select.SqlSelection;
+import org.hibernate.sql.ast.sort.SortSpecification;
 import org.hibernate.sql.convert.spi.ConversionHelper;
 import org.hibernate.sql.convert.spi.SqmSelectInterpretation;
+import org.hibernate.sql.exec.internal.LimitOffsetParameterBinder;
+import org.hibernate.sql.exec.internal.LimitShape;
+import org.hibernate.sql.exec.internal.LimitValues;
+import org.hibernate.sql.exec.internal.SqlAstSelectInterpreterFactoryResolver;
 import org.hibernate.sql.exec.internal.SqlSelectInterpretationImpl;
+import org.hibernate.sql.exec.results.process.spi2.SqlSelectionReader;
 import org.hibernate.sql.spi.ParameterBinder;
+import org.hibernate.sqm.query.order.SortOrder;
 import org.hibernate.type.LiteralType;
 import org.hibernate.type.Type;
 
@@ -75,6 +97,10 @@ import org.jboss.logging.Logger;
  * The final phase of query translation.  Here we take the SQL-AST an
  * "interpretation".  For a select query, that means an instance of
  * {@link SqlSelectInterpretation}.
+ * <p/>
+ * The interpreter used is built by the {@link SqlAstSelectInterpreterFactory} resolved
+ * for the SessionFactory, which allows the rendering to be specialized for a particular
+ * database by overriding the appropriate visit methods.
  *
  * @author Steve Ebersole
  */
@@ -98,40 +124,134 @@ public class SqlAstSelectInterpreter {
 			SessionFactoryImplementor sessionFactory,
 			QueryParameterBindings parameterBindings,
 			ExecutionContext executionContext) {
-		final SqlAstSelectInterpreter walker = new SqlAstSelectInterpreter( sessionFactory, parameterBindings, executionContext, shallow );
+		return interpret( sqmSelectInterpretation, shallow, sessionFactory, parameterBindings, null, executionContext );
+	}
+
+	/**
+	 * Perform interpretation of a select query, returning the SqlSelectInterpretation.
+	 * This form additionally accounts for the QueryOptions affecting the rendered
+	 * SQL (limit/offset e.g.).
+	 *
+	 * @return The interpretation result
+	 */
+	public static SqlSelectInterpretation interpret(
+			SqmSelectInterpretation sqmSelectInterpretation,
+			boolean shallow,
+			SessionFactoryImplementor sessionFactory,
+			QueryParameterBindings parameterBindings,
+			QueryOptions queryOptions,
+			ExecutionContext executionContext) {
+		final SqlAstSelectInterpreter walker = sessionFactory.getServiceRegistry()
+				.getService( SqlAstSelectInterpreterFactoryResolver.class )
+				.getSqlAstSelectInterpreterFactory()
+				.buildSelectInterpreter(
+						sessionFactory,
+						parameterBindings,
+						queryOptions,
+						executionContext,
+						shallow
+				);
 		walker.visitSelectQuery( sqmSelectInterpretation.getSqlSelectAst() );
+		walker.applyLimit( queryOptions == null ? null : queryOptions.getLimit() );
+		walker.applyHintsAndComment( queryOptions );
 		return new SqlSelectInterpretationImpl(
 				walker.sqlBuffer.toString(),
 				walker.parameterBinders,
-				sqmSelectInterpretation.getQueryReturns()
+				sqmSelectInterpretation.getQueryReturns(),
+				resolveSqlSelectionReaders(
+						sqmSelectInterpretation.getSqlSelectAst().getQuerySpec().getSelectClause().getSqlSelections(),
+						sessionFactory
+				),
+				walker.parameterColumnSpans,
+				walker.limitShape,
+				walker.maxRowsAppliedInSql,
+				walker.firstRowAppliedInSql,
+				walker.literalLimitValues,
+				walker.appliedComment,
+				walker.appliedDatabaseHints
 		);
 	}
 
+	/**
+	 * Resolve the readers for the SqlSelections up front, so that reading the values
+	 * for each row does not need to resolve the JDBC type / JavaTypeDescriptor again
+	 */
+	public static List<SqlSelectionReader> resolveSqlSelectionReaders(
+			List<SqlSelection> sqlSelections,
+			SessionFactoryImplementor sessionFactory) {
+		final List<SqlSelectionReader> readers = new ArrayList<>( sqlSelections.size() );
+		for ( SqlSelection sqlSelection : sqlSelections ) {
+			readers.add( sqlSelection.getSqlSelectable().getSqlSelectionReader().resolve( sessionFactory ) );
+		}
+		return readers;
+	}
+
 	// pre-req state
 	private final SessionFactoryImplementor sessionFactory;
 	private final QueryParameterBindings parameterBindings;
+	private final QueryOptions queryOptions;
 	private final ExecutionContext executionContext;
 	private final boolean shallow;
 
 	// In-flight state
 	private final StringBuilder sqlBuffer = new StringBuilder();
 	private final List<ParameterBinder> parameterBinders = new ArrayList<>();
+	private final Map<AbstractParameter,Integer> parameterColumnSpans = new LinkedHashMap<>();
+	private LimitShape limitShape = LimitShape.NONE;
+	private boolean maxRowsAppliedInSql;
+	private boolean firstRowAppliedInSql;
+	private LimitValues literalLimitValues;
+	private String appliedComment;
+	private List<String> appliedDatabaseHints = Collections.emptyList();
+
+	// the JDBC position of each expression (by its rendered SQL) in the select-clause of
+	// the query being rendered, for referring to them from the order-by clause
+	private Map<String,Integer> selectedExpressionPositions = Collections.emptyMap();
 
 	// rendering expressions often has to be done differently if it occurs in certain contexts
 	private boolean currentlyInPredicate;
 	private boolean currentlyInSelections;
 
-	private SqlAstSelectInterpreter(
+	protected SqlAstSelectInterpreter(
 			SessionFactoryImplementor sessionFactory,
 			QueryParameterBindings parameterBindings,
+			QueryOptions queryOptions,
 			ExecutionContext executionContext,
 			boolean shallow) {
 		this.sessionFactory = sessionFactory;
 		this.parameterBindings = parameterBindings;
+		this.queryOptions = queryOptions;
 		this.executionContext = executionContext;
 		this.shallow = shallow;
 	}
 
+	protected SessionFactoryImplementor getSessionFactory() {
+		return sessionFactory;
+	}
+
+	protected Dialect getDialect() {
+		return sessionFactory.getJdbcServices().getJdbcEnvironment().getDialect();
+	}
+
+	protected QueryParameterBindings getParameterBindings() {
+		return parameterBindings;
+	}
+
+	/**
+	 * The options for the query being rendered; may be {@code null}
+	 */
+	protected QueryOptions getQueryOptions() {
+		return queryOptions;
+	}
+
+	protected ExecutionContext getExecutionContext() {
+		return executionContext;
+	}
+
+	protected boolean isShallow() {
+		return shallow;
+	}
+
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// for now, for tests
 	public String getSql() {
@@ -142,30 +262,217 @@ public class SqlAstSelectInterpreter {
 	}
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
-	private void appendSql(String fragment) {
+	protected void appendSql(String fragment) {
 		sqlBuffer.append( fragment );
 	}
 
+	/**
+	 * Apply the limit/offset to the rendered SQL.  By default this is delegated to the
+	 * Dialect's {@link LimitHandler}; the limit/offset values are bound as parameters
+	 * (see {@link LimitOffsetParameterBinder}), or rendered as literals for Dialects which
+	 * do not support a variable limit.  A specialized interpreter applying the
+	 * limit itself should record it through {@link #markLimitApplied}.
+	 */
+	protected void applyLimit(Limit limit) {
+		final LimitShape shape = LimitShape.fromLimit( limit );
+		if ( shape == LimitShape.NONE ) {
+			return;
+		}
+
+		limitShape = shape;
+
+		final Dialect dialect = sessionFactory.getJdbcServices().getJdbcEnvironment().getDialect();
+		final LimitHandler limitHandler = dialect.getLimitHandler();
+		final RowSelection rowSelection = LimitOffsetParameterBinder.buildRowSelection( limit );
+		if ( !LimitHelper.useLimit( limitHandler, rowSelection ) ) {
+			// either the Dialect does not support limits at all or only first-row was
+			// specified; either way the limit is applied while processing the results
+			return;
+		}
+
+		maxRowsAppliedInSql = true;
+		// if the Dialect cannot handle offsets, the LimitHandler renders a limit of
+		// (first-row + max-rows) and the preceding rows are skipped while processing results
+		firstRowAppliedInSql = limitHandler.supportsLimitOffset();
+
+		final String sql = limitHandler.processSql( sqlBuffer.toString(), rowSelection );
+		sqlBuffer.setLength( 0 );
+		sqlBuffer.append( sql );
+
+		if ( !dialect.supportsVariableLimit() ) {
+			// the LimitHandler rendered the limit/offset values into the SQL as literals, so
+			// the SQL can only be re-used for the same values
+			literalLimitValues = LimitValues.fromLimit( limit );
+			return;
+		}
+
+		// the LimitHandler decides whether any parameters are bound at the start and/or end
+		parameterBinders.add( 0, new LimitOffsetParameterBinder( limitHandler, true ) );
+		parameterBinders.add( new LimitOffsetParameterBinder( limitHandler, false ) );
+	}
+
+	/**
+	 * Apply the database hints and the comment defined by the QueryOptions to the rendered
+	 * SQL.  This is done after the limit has been applied as, depending on the Dialect, the
+	 * hints are placed relative to the start or end of the complete statement.  As with the
+	 * legacy Loaders, the comment is only rendered if SQL comments are enabled.
+	 */
+	protected void applyHintsAndComment(QueryOptions queryOptions) {
+		if ( queryOptions == null ) {
+			return;
+		}
+
+		if ( queryOptions.getDatabaseHints() != null && !queryOptions.getDatabaseHints().isEmpty() ) {
+			appliedDatabaseHints = new ArrayList<>( queryOptions.getDatabaseHints() );
+
+			final String sql = getDialect().getQueryHintString( sqlBuffer.toString(), appliedDatabaseHints );
+			sqlBuffer.setLength( 0 );
+			sqlBuffer.append( sql );
+		}
+
+		if ( queryOptions.getComment() != null ) {
+			appliedComment = queryOptions.getComment();
+
+			if ( sessionFactory.getSessionFactoryOptions().isCommentsEnabled() ) {
+				// do not allow the comment to terminate itself early
+				sqlBuffer.insert( 0, "/* " + appliedComment.replace( "*/", "*\\/" ) + " */ " );
+			}
+		}
+	}
+
+	/**
+	 * Record that the limit has been applied to the SQL
+	 *
+	 * @param limitShape The shape of the applied limit, determining whether the rendered SQL can be re-used
+	 * @param firstRowApplied Whether the first-row (offset) was applied as well as the max-rows
+	 */
+	protected void markLimitApplied(LimitShape limitShape, boolean firstRowApplied) {
+		this.limitShape = limitShape;
+		this.maxRowsAppliedInSql = true;
+		this.firstRowAppliedInSql = firstRowApplied;
+	}
+
+	/**
+	 * Access to the SQL rendered so far, for post-processing (applying a limit clause e.g.)
+	 */
+	protected StringBuilder getSqlBuffer() {
+		return sqlBuffer;
+	}
+
+	/**
+	 * Register a binder for parameters rendered into the SQL by the interpreter itself
+	 */
+	protected void addParameterBinder(ParameterBinder parameterBinder) {
+		parameterBinders.add( parameterBinder );
+	}
+
 	public void visitSelectQuery(SelectQuery selectQuery) {
 		visitQuerySpec( selectQuery.getQuerySpec() );
 
+		if ( !selectQuery.getSortSpecifications().isEmpty() ) {
+			appendSql( " order by " );
+
+			String separator = "";
+			for ( SortSpecification sortSpecification : selectQuery.getSortSpecifications() ) {
+				appendSql( separator );
+				visitSortSpecification( sortSpecification );
+				separator = ", ";
+			}
+		}
+	}
+
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// ORDER BY clause
+
+	public void visitSortSpecification(SortSpecification sortSpecification) {
+		// render the sort expression on its own so that the Dialect can decorate it
+		final int expressionStart = sqlBuffer.length();
+		final int parameterBinderCount = parameterBinders.size();
+		sortSpecification.getSortExpression().accept( this );
+		String expression = sqlBuffer.substring( expressionStart );
+		sqlBuffer.setLength( expressionStart );
+
+		final NullPrecedence nullPrecedence = sortSpecification.getNullPrecedence() != null
+				? sortSpecification.getNullPrecedence()
+				: sessionFactory.getSessionFactoryOptions().getDefaultNullPrecedence();
+		if ( parameterBinders.size() == parameterBinderCount
+				&& !isColumnReference( sortSpecification.getSortExpression() )
+				&& sortSpecification.getCollation() == null
+				&& ( nullPrecedence == null || nullPrecedence == NullPrecedence.NONE ) ) {
+			// refer to an identical select expression by its position rather than having
+			// the database evaluate the expression again.  Not done when the expression is
+			// decorated (a collation, or Dialects emulating null precedence reference the
+			// expression more than once), as the position would then be taken as a literal
+			final Integer position = selectedExpressionPositions.get( expression );
+			if ( position != null ) {
+				expression = position.toString();
+			}
+		}
+
+		// the null precedence is made explicit (when configured, or when the results are to be
+		// merged outside of the database - see SortKeyComparator)
+		appendSql(
+				sessionFactory.getJdbcServices().getJdbcEnvironment().getDialect().renderOrderByElement(
+						expression,
+						sortSpecification.getCollation(),
+						sortSpecification.getSortOrder() == SortOrder.DESCENDING ? "desc" : "asc",
+						nullPrecedence
+				)
+		);
+	}
+
+	private static boolean isColumnReference(Expression expression) {
+		// nothing is saved by referring to a plain column by position
+		return expression instanceof ColumnBindingExpression || expression instanceof DomainReferenceExpression;
 	}
 
 	public void visitQuerySpec(QuerySpec querySpec) {
 		visitSelectClause( querySpec.getSelectClause() );
+		// sub-queries in the other clauses render a select-clause of their own
+		final Map<String,Integer> selectedExpressionPositions = this.selectedExpressionPositions;
+
 		visitFromClause( querySpec.getFromClause() );
 
 		if ( querySpec.getWhereClauseRestrictions() != null && !querySpec.getWhereClauseRestrictions().isEmpty() ) {
 			appendSql( " where " );
+			renderPredicate( querySpec.getWhereClauseRestrictions() );
+		}
 
-			boolean wasPreviouslyInPredicate = currentlyInPredicate;
-			currentlyInPredicate = true;
-			try {
-				querySpec.getWhereClauseRestrictions().accept( this );
-			}
-			finally {
-				currentlyInPredicate = wasPreviouslyInPredicate;
-			}
+		if ( !querySpec.getGroupByExpressions().isEmpty() ) {
+			visitGroupByClause( querySpec.getGroupByExpressions() );
+		}
+
+		if ( querySpec.getHavingClauseRestrictions() != null && !querySpec.getHavingClauseRestrictions().isEmpty() ) {
+			appendSql( " having " );
+			renderPredicate( querySpec.getHavingClauseRestrictions() );
+		}
+
+		this.selectedExpressionPositions = selectedExpressionPositions;
+	}
+
+	private void renderPredicate(Predicate predicate) {
+		boolean wasPreviouslyInPredicate = currentlyInPredicate;
+		currentlyInPredicate = true;
+		try {
+			predicate.accept( this );
+		}
+		finally {
+			currentlyInPredicate = wasPreviouslyInPredicate;
+		}
+	}
+
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// GROUP BY clause
+
+	public void visitGroupByClause(List<Expression> groupByExpressions) {
+		appendSql( " group by " );
+
+		String separator = "";
+		for ( Expression groupByExpression : groupByExpressions ) {
+			appendSql( separator );
+			// a multi-column reference (composite, association) groups by each of its columns
+			groupByExpression.accept( this );
+			separator = ", ";
 		}
 	}
 
@@ -182,10 +489,22 @@ public class SqlAstSelectInterpreter {
 				appendSql( "distinct " );
 			}
 
+			selectedExpressionPositions = new HashMap<>();
+
 			String separator = "";
 			for ( SqlSelection sqlSelection : selectClause.getSqlSelections() ) {
 				appendSql( separator );
+
+				final int selectionStart = sqlBuffer.length();
+				final int parameterBinderCount = parameterBinders.size();
 				sqlSelection.accept( this );
+				if ( parameterBinders.size() == parameterBinderCount ) {
+					selectedExpressionPositions.putIfAbsent(
+							sqlBuffer.substring( selectionStart ),
+							sqlSelection.getJdbcResultSetIndex()
+					);
+				}
+
 				separator = ", ";
 			}
 		}
@@ -248,7 +567,19 @@ public class SqlAstSelectInterpreter {
 	}
 
 	public void visitTableBinding(TableBinding tableBinding) {
-		appendSql( tableBinding.getTable().getTableExpression() + " as " + tableBinding.getIdentificationVariable() );
+		if ( tableBinding.getTable() instanceof UnionSubclassTable && tableBinding.getConcreteTableNames() != null ) {
+			appendSql(
+					( (UnionSubclassTable) tableBinding.getTable() ).getTableExpression(
+							tableBinding.getConcreteTableNames(),
+							tableBinding.isConcreteTypeRequired()
+					)
+			);
+			appendSql( " as " );
+		}
+		else {
+			appendSql( tableBinding.getTableReferenceFragment() );
+		}
+		appendSql( tableBinding.getIdentificationVariable() );
 	}
 
 
@@ -268,8 +599,11 @@ public class SqlAstSelectInterpreter {
 			appendSql( "(" );
 		}
 
+		String separator = "";
 		for ( ColumnBinding columnBinding : columnBindings ) {
-			appendSql( columnBinding.getColumn().render( columnBinding.getIdentificationVariable() ) );
+			appendSql( separator );
+			appendSql( columnBinding.getRenderedColumn() );
+			separator = ", ";
 		}
 
 		if ( currentlyInPredicate && columnBindings.size() > 1 ) {
@@ -291,7 +625,7 @@ public class SqlAstSelectInterpreter {
 	}
 
 	public void visitColumnBinding(ColumnBinding columnBinding) {
-		appendSql( columnBinding.getColumn().render( columnBinding.getIdentificationVariable() ) );
+		appendSql( columnBinding.getRenderedColumn() );
 	}
 
 	public void visitAvgFunction(AvgFunction avgFunction) {
@@ -338,7 +672,7 @@ public class SqlAstSelectInterpreter {
 	public void visitColumnBindingExpression(ColumnBindingExpression columnBindingExpression) {
 		// need to find a better way to do this
 		final ColumnBinding columnBinding = columnBindingExpression.getColumnBinding();
-		appendSql( columnBinding.getColumn().render( columnBinding.getIdentificationVariable() ) );
+		appendSql( columnBinding.getRenderedColumn() );
 	}
 
 	public void visitCoalesceExpression(CoalesceExpression coalesceExpression) {
@@ -407,23 +741,40 @@ public class SqlAstSelectInterpreter {
 		parameterBinders.add( namedParameter.getParameterBinder() );
 
 		final Type type = ConversionHelper.resolveType( namedParameter, parameterBindings, executionContext );
+		renderParameter( namedParameter, type, parameterBindings.getBinding( namedParameter.getName() ) );
+	}
 
+	private void renderParameter(AbstractParameter parameter, Type type, QueryParameterBinding binding) {
 		final int columnCount = type.getColumnSpan( sessionFactory );
+		// multi-valued bindings render a (padded) number of values
+		final int valueCount = ConversionHelper.determineRenderedValueCount(
+				binding,
+				sessionFactory.getJdbcServices().getJdbcEnvironment().getDialect()
+		);
 		final boolean needsParens = currentlyInPredicate && columnCount > 1;
 
-		if ( needsParens ) {
-			appendSql( "(" );
-		}
+		parameterColumnSpans.put( parameter, columnCount * valueCount );
 
-		String separator = "";
-		for ( int i = 0; i < columnCount; i++ ) {
-			appendSql( separator );
-			appendSql( "?" );
-			separator = ", ";
-		}
+		String valueSeparator = "";
+		for ( int v = 0; v < valueCount; v++ ) {
+			appendSql( valueSeparator );
 
-		if ( needsParens ) {
-			appendSql( ")" );
+			if ( needsParens ) {
+				appendSql( "(" );
+			}
+
+			String separator = "";
+			for ( int i = 0; i < columnCount; i++ ) {
+				appendSql( separator );
+				appendSql( "?" );
+				separator = ", ";
+			}
+
+			if ( needsParens ) {
+				appendSql( ")" );
+			}
+
+			valueSeparator = ", ";
 		}
 	}
 
@@ -454,24 +805,7 @@ public class SqlAstSelectInterpreter {
 		parameterBinders.add( positionalParameter.getParameterBinder() );
 
 		final Type type = ConversionHelper.resolveType( positionalParameter, parameterBindings, executionContext );
-
-		final int columnCount = type.getColumnSpan( sessionFactory );
-		final boolean needsParens = currentlyInPredicate && columnCount > 1;
-
-		if ( needsParens ) {
-			appendSql( "(" );
-		}
-
-		String separator = "";
-		for ( int i = 0; i < columnCount; i++ ) {
-			appendSql( separator );
-			appendSql( "?" );
-			separator = ", ";
-		}
-
-		if ( needsParens ) {
-			appendSql( ")" );
-		}
+		renderParameter( positionalParameter, type, parameterBindings.getBinding( positionalParameter.getPosition() ) );
 	}
 
 	public void visitQueryLiteral(QueryLiteral queryLiteral) {
@@ -0,0 +1,65 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.exec.spi;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.spi.ExecutionContext;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+
+/**
+ * Builds the {@link SqlAstSelectInterpreter} used to render a select query's SQL AST,
+ * allowing the SQL to be tailored to a particular database (limit syntax, concatenation,
+ * hints, etc).
+ * <p/>
+ * The factory used is, in order of precedence :<ol>
+ *     <li>the one named by the {@value #INTERPRETER_FACTORY} setting</li>
+ *     <li>
+ *         the first one discovered as a Java service (META-INF/services) which
+ *         {@linkplain #appliesTo applies to} the SessionFactory's Dialect
+ *     </li>
+ *     <li>{@link #STANDARD}</li>
+ * </ol>
+ * The factory is resolved once for the SessionFactory's ServiceRegistry - see
+ * {@link org.hibernate.sql.exec.internal.SqlAstSelectInterpreterFactoryResolver}.
+ *
+ * @author Steve Ebersole
+ */
+@FunctionalInterface
+public interface SqlAstSelectInterpreterFactory {
+	/**
+	 * Setting naming the SqlAstSelectInterpreterFactory to use, regardless of Dialect.  May
+	 * be the factory's class name, Class or an instance.
+	 */
+	String INTERPRETER_FACTORY = "hibernate.query.sql_ast_interpreter_factory";
+
+	/**
+	 * Builds the standard (ANSI-oriented) interpreter
+	 */
+	SqlAstSelectInterpreterFactory STANDARD = SqlAstSelectInterpreter::new;
+
+	/**
+	 * Whether this factory should be used for the given Dialect.  Only consulted for
+	 * factories discovered as Java services.
+	 */
+	default boolean appliesTo(Dialect dialect) {
+		return true;
+	}
+
+	/**
+	 * Build the interpreter for rendering a single select query
+	 *
+	 * @param queryOptions The options for the query; may be {@code null}
+	 */
+	SqlAstSelectInterpreter buildSelectInterpreter(
+			SessionFactoryImplementor sessionFactory,
+			QueryParameterBindings parameterBindings,
+			QueryOptions queryOptions,
+			ExecutionContext executionContext,
+			boolean shallow);
+}
@@ -9,6 +9,7 @@ package org.hibernate.sql.exec.spi;
 import java.util.List;
 
 import org.hibernate.sql.convert.results.spi.Return;
+import org.hibernate.sql.exec.results.process.spi2.SqlSelectionReader;
 import org.hibernate.sql.spi.ParameterBinder;
 
 /**
@@ -28,4 +29,24 @@ public interface SqlSelectInterpretation {
 
 	List<Return> getReturns();
 
+	/**
+	 * The (resolved) readers for each of the query's SqlSelections, in the same order.
+	 *
+	 * @see SqlSelectionReader#resolve
+	 */
+	List<SqlSelectionReader> getSqlSelectionReaders();
+
+	/**
+	 * Was the query's max-rows applied in the rendered SQL (via the Dialect's LimitHandler)?
+	 * If not, it needs to be applied while processing the results.
+	 */
+	boolean isMaxRowsAppliedInSql();
+
+	/**
+	 * Was the query's first-row (offset) applied in the rendered SQL (via the Dialect's
+	 * LimitHandler)?  If not, the rows preceding the first-row need to be skipped while
+	 * processing the results.
+	 */
+	boolean isFirstRowAppliedInSql();
+
 }
@@ -11,6 +11,7 @@ import java.sql.SQLException;
 import org.hibernate.Incubating;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.spi.CloseableIterator;
 import org.hibernate.query.proposed.spi.ExecutionContext;
 import org.hibernate.query.proposed.spi.QueryParameterBindings;
 import org.hibernate.result.Outputs;
@@ -66,6 +67,41 @@ public interface SqlTreeExecutor {
 			SharedSessionContractImplementor persistenceContext,
 			ExecutionContext executionContext) throws SQLException;
 
+	/**
+	 * Form of {@link #executeSelect(SqmSelectInterpretation, PreparedStatementCreator, PreparedStatementExecutor, QueryOptions, QueryParameterBindings, RowTransformer, Callback, SharedSessionContractImplementor, ExecutionContext)}
+	 * accepting an already rendered SqlSelectInterpretation, e.g. one cached by a query plan
+	 * and re-used across executions.
+	 */
+	<R,T> R executeSelect(
+			SqmSelectInterpretation sqmSelectInterpretation,
+			SqlSelectInterpretation sqlSelectInterpretation,
+			PreparedStatementCreator statementCreator,
+			PreparedStatementExecutor preparedStatementExecutor,
+			QueryOptions queryOptions,
+			QueryParameterBindings queryParameterBindings,
+			RowTransformer<T> rowTransformer,
+			Callback callback,
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext) throws SQLException;
+
+	/**
+	 * Execute the select lazily, returning a cursor over the (transformed) results.
+	 * Rows are read from the JDBC ResultSet only as the cursor is advanced, which
+	 * allows processing very large results in constant memory.  The caller is
+	 * responsible for closing the cursor if it does not read all of the results.
+	 */
+	<T> CloseableIterator<T> executeSelectStreaming(
+			SqmSelectInterpretation sqmSelectInterpretation,
+			SqlSelectInterpretation sqlSelectInterpretation,
+			PreparedStatementCreator statementCreator,
+			PreparedStatementExecutor preparedStatementExecutor,
+			QueryOptions queryOptions,
+			QueryParameterBindings queryParameterBindings,
+			RowTransformer<T> rowTransformer,
+			Callback callback,
+			SharedSessionContractImplementor persistenceContext,
+			ExecutionContext executionContext);
+
 	Object[] executeInsert(
 			Object sqlTree,
 			PreparedStatementCreator statementCreator,
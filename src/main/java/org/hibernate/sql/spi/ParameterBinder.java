@@ -10,6 +10,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.proposed.QueryOptions;
 import org.hibernate.query.proposed.spi.QueryParameterBindings;
 
 /**
@@ -24,4 +25,18 @@ public interface ParameterBinder {
 			int startPosition,
 			QueryParameterBindings queryParameterBindings,
 			SharedSessionContractImplementor session) throws SQLException;
+
+	/**
+	 * Form of binding used during query execution, additionally giving access to the
+	 * QueryOptions for binders whose values come from the options rather than the
+	 * parameter bindings (limit/offset e.g.).
+	 */
+	default int bindParameterValue(
+			PreparedStatement statement,
+			int startPosition,
+			QueryParameterBindings queryParameterBindings,
+			QueryOptions queryOptions,
+			SharedSessionContractImplementor session) throws SQLException {
+		return bindParameterValue( statement, startPosition, queryParameterBindings, session );
+	}
 }
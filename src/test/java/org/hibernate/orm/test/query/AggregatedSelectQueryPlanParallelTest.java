@@ -0,0 +1,205 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.query;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.orm.test.sql.BaseUnitTest;
+import org.hibernate.orm.test.sql.support.ExecutionContextTestingImpl;
+import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.internal.QueryOptionsImpl;
+import org.hibernate.query.proposed.internal.sqm.AggregatedQueryExecutorService;
+import org.hibernate.query.proposed.internal.sqm.AggregatedSelectQueryPlanImpl;
+import org.hibernate.query.proposed.spi.ExecutionContext;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+import org.hibernate.query.proposed.spi.ScrollableResultsImplementor;
+import org.hibernate.query.proposed.spi.SelectQueryPlan;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Steve Ebersole
+ */
+public class AggregatedSelectQueryPlanParallelTest extends BaseUnitTest {
+	private final AtomicInteger executing = new AtomicInteger();
+	private final AtomicInteger maxExecuting = new AtomicInteger();
+
+	@Override
+	protected void applySettings(StandardServiceRegistryBuilder ssrBuilder) {
+		ssrBuilder.applySetting( AggregatedQueryExecutorService.MAX_THREADS, "2" );
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( Person.class );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSubPlansExecutedConcurrently() {
+		final SharedSessionContractImplementor session =
+				(SharedSessionContractImplementor) getSessionFactory().openStatelessSession();
+		try {
+			final SelectQueryPlanStub plan1 = new SelectQueryPlanStub( "a", "b" );
+			final SelectQueryPlanStub plan2 = new SelectQueryPlanStub( "c" );
+			final SelectQueryPlanStub plan3 = new SelectQueryPlanStub( "d", "e" );
+			final SelectQueryPlanStub plan4 = new SelectQueryPlanStub();
+			final AggregatedSelectQueryPlanImpl<String> aggregatedPlan = new AggregatedSelectQueryPlanImpl<>(
+					new SelectQueryPlan[] { plan1, plan2, plan3, plan4 },
+					true
+			);
+
+			final List<String> results = aggregatedPlan.performList(
+					session,
+					new ExecutionContextTestingImpl( session ),
+					new QueryOptionsImpl(),
+					null
+			);
+
+			// the results are aggregated in sub-plan order
+			assertThat( results, is( Arrays.asList( "a", "b", "c", "d", "e" ) ) );
+
+			for ( SelectQueryPlanStub plan : Arrays.asList( plan1, plan2, plan3, plan4 ) ) {
+				assertTrue( plan.executingThread.getName().startsWith( "hibernate-aggregated-query-" ) );
+				// each sub-plan is executed using its own StatelessSession
+				assertThat( plan.executingSession, not( sameInstance( session ) ) );
+				assertThat( plan.executingSession.isClosed(), is( true ) );
+			}
+
+			// bounded by the configured number of threads
+			assertTrue( maxExecuting.get() <= 2 );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSubPlanFailurePropagated() {
+		final SharedSessionContractImplementor session =
+				(SharedSessionContractImplementor) getSessionFactory().openStatelessSession();
+		try {
+			final AggregatedSelectQueryPlanImpl<String> aggregatedPlan = new AggregatedSelectQueryPlanImpl<>(
+					new SelectQueryPlan[] { new SelectQueryPlanStub( "a" ), new FailingSelectQueryPlanStub() },
+					true
+			);
+
+			try {
+				aggregatedPlan.performList( session, new ExecutionContextTestingImpl( session ), new QueryOptionsImpl(), null );
+				fail( "Expecting the failure of the sub-plan to be propagated" );
+			}
+			catch (HibernateException expected) {
+				assertThat( expected.getMessage(), is( "sub-plan failure" ) );
+			}
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Test
+	public void testExecutorStoppedWithSessionFactory() {
+		final AggregatedQueryExecutorService service = getSessionFactory().getServiceRegistry()
+				.getService( AggregatedQueryExecutorService.class );
+		assertThat( service.getMaxThreads(), is( 2 ) );
+
+		final ExecutorService executor = service.getExecutor();
+		assertThat( service.getExecutor(), sameInstance( executor ) );
+
+		getSessionFactory().close();
+		assertThat( executor.isShutdown(), is( true ) );
+	}
+
+	private class SelectQueryPlanStub implements SelectQueryPlan<String> {
+		private final List<String> results;
+
+		private Thread executingThread;
+		private SharedSessionContractImplementor executingSession;
+
+		private SelectQueryPlanStub(String... results) {
+			this.results = Arrays.asList( results );
+		}
+
+		@Override
+		public List<String> performList(
+				SharedSessionContractImplementor persistenceContext,
+				ExecutionContext executionContext,
+				QueryOptions queryOptions,
+				QueryParameterBindings inputParameterBindings) {
+			final int count = executing.incrementAndGet();
+			maxExecuting.accumulateAndGet( count, Math::max );
+			try {
+				executingThread = Thread.currentThread();
+				executingSession = persistenceContext;
+				Thread.sleep( 50 );
+				return results;
+			}
+			catch (InterruptedException e) {
+				throw new RuntimeException( e );
+			}
+			finally {
+				executing.decrementAndGet();
+			}
+		}
+
+		@Override
+		public Iterator<String> performIterate(
+				SharedSessionContractImplementor persistenceContext,
+				ExecutionContext executionContext,
+				QueryOptions queryOptions,
+				QueryParameterBindings inputParameterBindings) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public ScrollableResultsImplementor performScroll(
+				SharedSessionContractImplementor persistenceContext,
+				ExecutionContext executionContext,
+				QueryOptions queryOptions,
+				QueryParameterBindings inputParameterBindings,
+				ScrollMode scrollMode) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private class FailingSelectQueryPlanStub extends SelectQueryPlanStub {
+		@Override
+		public List<String> performList(
+				SharedSessionContractImplementor persistenceContext,
+				ExecutionContext executionContext,
+				QueryOptions queryOptions,
+				QueryParameterBindings inputParameterBindings) {
+			throw new HibernateException( "sub-plan failure" );
+		}
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		Integer id;
+		String name;
+	}
+}
@@ -0,0 +1,255 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.query;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.proposed.Limit;
+import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.internal.QueryOptionsImpl;
+import org.hibernate.query.proposed.internal.sqm.AggregatedSelectQueryPlanImpl;
+import org.hibernate.query.proposed.spi.CloseableIterator;
+import org.hibernate.query.proposed.spi.ExecutionContext;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+import org.hibernate.query.proposed.spi.ScrollableResultsImplementor;
+import org.hibernate.query.proposed.spi.SelectQueryPlan;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Steve Ebersole
+ */
+public class AggregatedSelectQueryPlanTest {
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testLimitAppliedToAggregatedResults() {
+		final SelectQueryPlanStub plan1 = new SelectQueryPlanStub( "a", "b", "c" );
+		final SelectQueryPlanStub plan2 = new SelectQueryPlanStub( "d", "e" );
+		final AggregatedSelectQueryPlanImpl<String> aggregatedPlan = new AggregatedSelectQueryPlanImpl<>(
+				new SelectQueryPlan[] { plan1, plan2 }
+		);
+
+		final QueryOptionsImpl queryOptions = new QueryOptionsImpl();
+		queryOptions.getLimit().setFirstRow( 1 );
+		queryOptions.getLimit().setMaxRows( 3 );
+
+		final List<String> results = aggregatedPlan.performList( null, null, queryOptions, null );
+		assertThat( results, is( Arrays.asList( "b", "c", "d" ) ) );
+
+		// each sub-plan is limited to first-row + max-rows
+		assertThat( plan1.executedLimit.getFirstRow(), nullValue() );
+		assertThat( plan1.executedLimit.getMaxRows(), is( 4 ) );
+		assertThat( plan2.executedLimit.getMaxRows(), is( 4 ) );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSubPlansExecutedLazily() {
+		final SelectQueryPlanStub plan1 = new SelectQueryPlanStub( "a", "b" );
+		final SelectQueryPlanStub plan2 = new SelectQueryPlanStub( "c" );
+		final AggregatedSelectQueryPlanImpl<String> aggregatedPlan = new AggregatedSelectQueryPlanImpl<>(
+				new SelectQueryPlan[] { plan1, plan2 }
+		);
+
+		final QueryOptionsImpl queryOptions = new QueryOptionsImpl();
+		queryOptions.getLimit().setMaxRows( 2 );
+
+		final List<String> results = aggregatedPlan.performList( null, null, queryOptions, null );
+		assertThat( results, is( Arrays.asList( "a", "b" ) ) );
+
+		// the page was filled from the first sub-plan, the second should not have been executed
+		assertThat( plan2.executedLimit, nullValue() );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSubPlansIteratedOneAfterAnother() {
+		final SelectQueryPlanStub plan1 = new SelectQueryPlanStub( "a", "b" );
+		final SelectQueryPlanStub plan2 = new SelectQueryPlanStub();
+		final SelectQueryPlanStub plan3 = new SelectQueryPlanStub( "c", "d" );
+		final AggregatedSelectQueryPlanImpl<String> aggregatedPlan = new AggregatedSelectQueryPlanImpl<>(
+				new SelectQueryPlan[] { plan1, plan2, plan3 }
+		);
+
+		final CloseableIterator<String> results = aggregatedPlan.performIterate( null, null, new QueryOptionsImpl(), null );
+		assertThat( results.next(), is( "a" ) );
+		assertThat( results.next(), is( "b" ) );
+		assertThat( plan2.executedLimit, nullValue() );
+
+		// the empty sub-plan is skipped over, the exhausted ones are closed
+		assertThat( results.next(), is( "c" ) );
+		assertThat( plan1.closed, is( true ) );
+		assertThat( plan2.closed, is( true ) );
+		assertThat( plan3.closed, is( false ) );
+
+		// closing the aggregated results closes the sub-plan currently being read
+		results.close();
+		assertThat( plan3.closed, is( true ) );
+		assertThat( results.hasNext(), is( false ) );
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	@SuppressWarnings("unchecked")
+	public void testExhaustedSubPlans() {
+		final AggregatedSelectQueryPlanImpl<String> aggregatedPlan = new AggregatedSelectQueryPlanImpl<>(
+				new SelectQueryPlan[] { new SelectQueryPlanStub( "a" ), new SelectQueryPlanStub() }
+		);
+
+		final CloseableIterator<String> results = aggregatedPlan.performIterate( null, null, new QueryOptionsImpl(), null );
+		assertThat( results.next(), is( "a" ) );
+		assertThat( results.hasNext(), is( false ) );
+		results.next();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testForwardOnlyScroll() {
+		final SelectQueryPlanStub plan1 = new SelectQueryPlanStub( "a", "b", "c" );
+		final SelectQueryPlanStub plan2 = new SelectQueryPlanStub( "d", "e" );
+		final AggregatedSelectQueryPlanImpl<String> aggregatedPlan = new AggregatedSelectQueryPlanImpl<>(
+				new SelectQueryPlan[] { plan1, plan2 }
+		);
+
+		final QueryOptionsImpl queryOptions = new QueryOptionsImpl();
+		queryOptions.getLimit().setFirstRow( 1 );
+		queryOptions.getLimit().setMaxRows( 3 );
+
+		final ScrollableResultsImplementor results = aggregatedPlan.performScroll(
+				null,
+				null,
+				queryOptions,
+				null,
+				ScrollMode.FORWARD_ONLY
+		);
+		assertThat( results.getNumberOfTypes(), is( 1 ) );
+		assertThat( results.next(), is( true ) );
+		assertThat( results.get( 0 ), is( "b" ) );
+		assertThat( results.isFirst(), is( true ) );
+
+		// the second sub-plan is only executed once its rows are needed
+		assertThat( plan2.executedLimit, nullValue() );
+		assertThat( results.scroll( 2 ), is( true ) );
+		assertThat( results.get( 0 ), is( "d" ) );
+		assertThat( results.getRowNumber(), is( 2 ) );
+		assertThat( results.isLast(), is( true ) );
+
+		try {
+			results.previous();
+			fail( "Expecting forward-only ScrollableResults to not move backwards" );
+		}
+		catch (HibernateException expected) {
+		}
+
+		assertThat( results.next(), is( false ) );
+		results.close();
+		assertThat( results.isClosed(), is( true ) );
+		assertThat( plan2.closed, is( true ) );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testScrollInsensitive() {
+		final AggregatedSelectQueryPlanImpl<String> aggregatedPlan = new AggregatedSelectQueryPlanImpl<>(
+				new SelectQueryPlan[] { new SelectQueryPlanStub( "a", "b" ), new SelectQueryPlanStub( "c" ) }
+		);
+
+		final ScrollableResultsImplementor results = aggregatedPlan.performScroll(
+				null,
+				null,
+				new QueryOptionsImpl(),
+				null,
+				ScrollMode.SCROLL_INSENSITIVE
+		);
+		assertThat( results.last(), is( true ) );
+		assertThat( results.get( 0 ), is( "c" ) );
+		assertThat( results.getRowNumber(), is( 2 ) );
+
+		assertThat( results.previous(), is( true ) );
+		assertThat( results.get( 0 ), is( "b" ) );
+		assertThat( results.first(), is( true ) );
+		assertThat( results.get( 0 ), is( "a" ) );
+		assertThat( results.setRowNumber( -1 ), is( true ) );
+		assertThat( results.get( 0 ), is( "c" ) );
+
+		results.afterLast();
+		assertThat( results.getRowNumber(), is( -1 ) );
+		assertThat( results.previous(), is( true ) );
+		assertThat( results.get( 0 ), is( "c" ) );
+
+		results.beforeFirst();
+		assertThat( results.next(), is( true ) );
+		assertThat( results.get( 0 ), is( "a" ) );
+		results.close();
+	}
+
+	private static class SelectQueryPlanStub implements SelectQueryPlan<String> {
+		private final List<String> results;
+		private Limit executedLimit;
+		private boolean closed;
+
+		private SelectQueryPlanStub(String... results) {
+			this.results = Arrays.asList( results );
+		}
+
+		@Override
+		public List<String> performList(
+				SharedSessionContractImplementor persistenceContext,
+				ExecutionContext executionContext,
+				QueryOptions queryOptions,
+				QueryParameterBindings inputParameterBindings) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Iterator<String> performIterate(
+				SharedSessionContractImplementor persistenceContext,
+				ExecutionContext executionContext,
+				QueryOptions queryOptions,
+				QueryParameterBindings inputParameterBindings) {
+			executedLimit = queryOptions.getLimit();
+			final int maxRows = executedLimit.getMaxRowsJpa();
+			final Iterator<String> iterator = results.subList( 0, Math.min( maxRows, results.size() ) ).iterator();
+			return new CloseableIterator<String>() {
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public String next() {
+					return iterator.next();
+				}
+
+				@Override
+				public void close() {
+					closed = true;
+				}
+			};
+		}
+
+		@Override
+		public ScrollableResultsImplementor performScroll(
+				SharedSessionContractImplementor persistenceContext,
+				ExecutionContext executionContext,
+				QueryOptions queryOptions,
+				QueryParameterBindings inputParameterBindings,
+				ScrollMode scrollMode) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.query;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.internal.QueryInterpretationsImpl;
+import org.hibernate.query.proposed.spi.ExecutionContext;
+import org.hibernate.query.proposed.spi.QueryInterpretations;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+import org.hibernate.query.proposed.spi.ScrollableResultsImplementor;
+import org.hibernate.query.proposed.spi.SelectQueryPlan;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class QueryInterpretationsImplTest {
+	@Test
+	public void testHitsAndMisses() {
+		final QueryInterpretationsImpl interpretations = new QueryInterpretationsImpl( 10, 10 );
+		final QueryInterpretations.Key key = new KeyImpl( "a" );
+
+		final SelectQueryPlan plan = interpretations.resolveSelectQueryPlan( key, SelectQueryPlanStub::new );
+		assertThat( plan, notNullValue() );
+		assertThat( interpretations.resolveSelectQueryPlan( key, SelectQueryPlanStub::new ), sameInstance( plan ) );
+
+		assertThat( interpretations.getMissCount(), is( 1L ) );
+		assertThat( interpretations.getHitCount(), is( 1L ) );
+		assertThat( interpretations.getPlanLoadCount(), is( 1L ) );
+	}
+
+	@Test
+	public void testEntryBound() {
+		final QueryInterpretationsImpl interpretations = new QueryInterpretationsImpl( 4, 100, 1, QueryInterpretationsImpl.DEFAULT_WEIGHER );
+
+		for ( int i = 0; i < 10; i++ ) {
+			interpretations.cacheSelectQueryPlan( new KeyImpl( "key-" + i ), new SelectQueryPlanStub() );
+		}
+
+		assertThat( interpretations.getSize(), is( 4 ) );
+		assertThat( interpretations.getEvictionCount(), is( 6L ) );
+	}
+
+	@Test
+	public void testWeightBound() {
+		final QueryInterpretationsImpl interpretations = new QueryInterpretationsImpl(
+				100,
+				10,
+				1,
+				(key, plan) -> 4
+		);
+
+		for ( int i = 0; i < 5; i++ ) {
+			interpretations.cacheSelectQueryPlan( new KeyImpl( "key-" + i ), new SelectQueryPlanStub() );
+		}
+
+		assertThat( interpretations.getSize(), is( 2 ) );
+		assertThat( interpretations.getWeight(), is( 8L ) );
+	}
+
+	@Test
+	public void testFrequentlyUsedEntriesSurviveScan() {
+		final QueryInterpretationsImpl interpretations = new QueryInterpretationsImpl( 10, 100, 1, QueryInterpretationsImpl.DEFAULT_WEIGHER );
+
+		final QueryInterpretations.Key hotKey = new KeyImpl( "hot" );
+		interpretations.cacheSelectQueryPlan( hotKey, new SelectQueryPlanStub() );
+		// second access promotes the entry to the protected segment
+		interpretations.getSelectQueryPlan( hotKey );
+
+		// a scan of one-off queries should not flush the frequently used one
+		for ( int i = 0; i < 50; i++ ) {
+			interpretations.cacheSelectQueryPlan( new KeyImpl( "one-off-" + i ), new SelectQueryPlanStub() );
+		}
+
+		assertThat( interpretations.getSelectQueryPlan( hotKey ), notNullValue() );
+		assertThat( interpretations.getSelectQueryPlan( new KeyImpl( "one-off-0" ) ), nullValue() );
+	}
+
+	private static class KeyImpl implements QueryInterpretations.Key {
+		private final String name;
+
+		private KeyImpl(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof KeyImpl && name.equals( ( (KeyImpl) o ).name );
+		}
+
+		@Override
+		public int hashCode() {
+			return name.hashCode();
+		}
+	}
+
+	private static class SelectQueryPlanStub implements SelectQueryPlan {
+		@Override
+		public List performList(
+				SharedSessionContractImplementor persistenceContext,
+				ExecutionContext executionContext,
+				QueryOptions queryOptions,
+				QueryParameterBindings inputParameterBindings) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Iterator performIterate(
+				SharedSessionContractImplementor persistenceContext,
+				ExecutionContext executionContext,
+				QueryOptions queryOptions,
+				QueryParameterBindings inputParameterBindings) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public ScrollableResultsImplementor performScroll(
+				SharedSessionContractImplementor persistenceContext,
+				ExecutionContext executionContext,
+				QueryOptions queryOptions,
+				QueryParameterBindings inputParameterBindings,
+				ScrollMode scrollMode) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.query;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.orm.test.sql.BaseUnitTest;
+import org.hibernate.query.proposed.internal.QueryInterpretationsImpl;
+import org.hibernate.query.proposed.internal.sqm.AggregatedSelectQueryPlanImpl;
+import org.hibernate.query.proposed.internal.sqm.ConcreteSqmSelectQueryPlan;
+import org.hibernate.query.proposed.spi.SelectQueryPlan;
+import org.hibernate.sqm.query.SqmSelectStatement;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Steve Ebersole
+ */
+public class QueryPlanWeightTest extends BaseUnitTest {
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( Person.class );
+		metadataSources.addAnnotatedClass( Role.class );
+	}
+
+	@Test
+	public void testWeightReflectsQuerySize() {
+		final ConcreteSqmSelectQueryPlan<Object> scalarPlan = buildPlan( "select p.name from Person p" );
+		final ConcreteSqmSelectQueryPlan<Object> entityPlan = buildPlan( "select p from Person p" );
+		final ConcreteSqmSelectQueryPlan<Object> joinedPlan = buildPlan(
+				"select p.name, r.name from Person p join p.role r order by p.name"
+		);
+
+		assertTrue( entityPlan.getEstimatedWeight() > scalarPlan.getEstimatedWeight() );
+		assertTrue( joinedPlan.getEstimatedWeight() > scalarPlan.getEstimatedWeight() );
+
+		assertThat( QueryInterpretationsImpl.DEFAULT_WEIGHER.applyAsInt( null, entityPlan ), is( entityPlan.getEstimatedWeight() ) );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testAggregatedPlanWeighsAsMuchAsItsPlans() {
+		final ConcreteSqmSelectQueryPlan<Object> scalarPlan = buildPlan( "select p.name from Person p" );
+		final ConcreteSqmSelectQueryPlan<Object> entityPlan = buildPlan( "select p from Person p" );
+
+		final AggregatedSelectQueryPlanImpl<Object> aggregatedPlan = new AggregatedSelectQueryPlanImpl<>(
+				new SelectQueryPlan[] { scalarPlan, entityPlan }
+		);
+		assertThat(
+				QueryInterpretationsImpl.DEFAULT_WEIGHER.applyAsInt( null, aggregatedPlan ),
+				is( scalarPlan.getEstimatedWeight() + entityPlan.getEstimatedWeight() )
+		);
+	}
+
+	private ConcreteSqmSelectQueryPlan<Object> buildPlan(String hql) {
+		return new ConcreteSqmSelectQueryPlan<>(
+				(SqmSelectStatement) interpret( hql ),
+				getConsumerContext().getDomainMetamodel(),
+				null,
+				null,
+				queryOptions()
+		);
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		Integer id;
+		String name;
+		int age;
+
+		@ManyToOne
+		Role role;
+	}
+
+	@Entity(name = "Role")
+	public static class Role {
+		@Id
+		Integer id;
+		String name;
+	}
+}
@@ -38,11 +38,12 @@ public abstract class BaseUnitTest extends org.hibernate.testing.junit4.BaseUnit
 
 	@Before
 	public void before() throws Exception {
-		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+		final StandardServiceRegistryBuilder ssrBuilder = new StandardServiceRegistryBuilder()
 				.applySetting( AvailableSettings.JPAQL_STRICT_COMPLIANCE, strictJpaCompliance() )
 				.applySetting( AvailableSettings.HBM2DDL_AUTO, exportSchema() ? "create-drop" : "none" )
-				.applySetting( PersisterFactoryInitiator.IMPL_NAME, PersisterFactoryImpl.INSTANCE )
-				.build();
+				.applySetting( PersisterFactoryInitiator.IMPL_NAME, PersisterFactoryImpl.INSTANCE );
+		applySettings( ssrBuilder );
+		final StandardServiceRegistry ssr = ssrBuilder.build();
 
 		try {
 			MetadataSources metadataSources = new MetadataSources( ssr );
@@ -73,6 +74,9 @@ public abstract class BaseUnitTest extends org.hibernate.testing.junit4.BaseUnit
 		return false;
 	}
 
+	protected void applySettings(StandardServiceRegistryBuilder ssrBuilder) {
+	}
+
 	protected void applyMetadataSources(MetadataSources metadataSources) {
 	}
 
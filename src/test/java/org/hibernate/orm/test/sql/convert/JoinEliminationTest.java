@@ -0,0 +1,184 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.sql.convert;
+
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.orm.test.sql.BaseUnitTest;
+import org.hibernate.orm.test.sql.support.ExecutionContextConversionTestImpl;
+import org.hibernate.orm.test.sql.support.QueryParameterBindingTypeResolverTestingImpl;
+import org.hibernate.query.proposed.internal.ParameterMetadataImpl;
+import org.hibernate.query.proposed.internal.QueryParameterBindingsImpl;
+import org.hibernate.sql.ast.PredicateSimplifier;
+import org.hibernate.sql.ast.QuerySpec;
+import org.hibernate.sql.ast.expression.domain.SingularAttributeReferenceExpression;
+import org.hibernate.sql.ast.from.ColumnBinding;
+import org.hibernate.sql.ast.from.JoinEliminator;
+import org.hibernate.sql.ast.from.TableSpace;
+import org.hibernate.sql.ast.predicate.GroupedPredicate;
+import org.hibernate.sql.ast.predicate.Junction;
+import org.hibernate.sql.ast.predicate.NullnessPredicate;
+import org.hibernate.sql.convert.spi.SqmSelectInterpretation;
+import org.hibernate.sql.exec.spi.SqlAstSelectInterpreter;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class JoinEliminationTest extends BaseUnitTest {
+	@Test
+	public void testUnreferencedLeftJoinEliminated() {
+		final QuerySpec querySpec = eliminateJoins( "select p.id from Person p left join p.role r" );
+		final TableSpace tableSpace = querySpec.getFromClause().getTableSpaces().get( 0 );
+
+		assertThat( tableSpace.getJoinedTableGroups().size(), is( 0 ) );
+		assertThat( querySpec.getWhereClauseRestrictions(), nullValue() );
+	}
+
+	@Test
+	public void testIdentifierReferenceRewrittenToForeignKey() {
+		final QuerySpec querySpec = eliminateJoins( "select r.id from Person p left join p.role r" );
+		final TableSpace tableSpace = querySpec.getFromClause().getTableSpaces().get( 0 );
+
+		assertThat( tableSpace.getJoinedTableGroups().size(), is( 0 ) );
+
+		final SingularAttributeReferenceExpression selection = (SingularAttributeReferenceExpression) querySpec.getSelectClause()
+				.getSelections()
+				.get( 0 )
+				.getSelectExpression();
+		final ColumnBinding columnBinding = selection.getColumnBindings().get( 0 );
+		assertThat(
+				columnBinding.getIdentificationVariable(),
+				is( tableSpace.getRootTableGroup().getRootTableBinding().getIdentificationVariable() )
+		);
+		assertThat( columnBinding.getColumn().getExpression(), is( "role_id" ) );
+	}
+
+	@Test
+	public void testReboundColumnBindingRemainsReachable() {
+		final QuerySpec querySpec = interpretSelectQuery( "select r.id from Person p left join p.role r" )
+				.getSqlSelectAst()
+				.getQuerySpec();
+		final ColumnBinding columnBinding = ( (SingularAttributeReferenceExpression) querySpec.getSelectClause()
+				.getSelections()
+				.get( 0 )
+				.getSelectExpression() ).getColumnBindings().get( 0 );
+
+		final Set<ColumnBinding> columnBindings = new HashSet<>();
+		columnBindings.add( columnBinding );
+
+		JoinEliminator.eliminateUnusedJoins( querySpec );
+
+		// the binding was re-pointed at the FK column
+		assertThat( columnBinding.getColumn().getExpression(), is( "role_id" ) );
+		assertThat( columnBindings.contains( columnBinding ), is( true ) );
+	}
+
+	@Test
+	public void testInnerJoinReplacedByNotNullRestriction() {
+		final QuerySpec querySpec = eliminateJoins( "select p.id from Person p join p.role r" );
+
+		assertThat( querySpec.getFromClause().getTableSpaces().get( 0 ).getJoinedTableGroups().size(), is( 0 ) );
+		assertThat( querySpec.getWhereClauseRestrictions(), instanceOf( NullnessPredicate.class ) );
+		assertThat( ( (NullnessPredicate) querySpec.getWhereClauseRestrictions() ).isNegated(), is( true ) );
+	}
+
+	@Test
+	public void testDisjunctionGroupedWithNotNullRestriction() {
+		final SqmSelectInterpretation interpretation = interpretSelectQuery(
+				"select p.id from Person p join p.role r where p.name = 'a' or p.name = 'b'"
+		);
+		final QuerySpec querySpec = interpretation.getSqlSelectAst().getQuerySpec();
+		PredicateSimplifier.simplifyPredicates( querySpec );
+		JoinEliminator.eliminateUnusedJoins( querySpec );
+
+		assertThat( querySpec.getFromClause().getTableSpaces().get( 0 ).getJoinedTableGroups().size(), is( 0 ) );
+
+		final Junction restrictions = (Junction) querySpec.getWhereClauseRestrictions();
+		assertThat( restrictions.getNature(), is( Junction.Nature.CONJUNCTION ) );
+		assertThat( restrictions.getPredicates().get( 0 ), instanceOf( GroupedPredicate.class ) );
+		assertThat( restrictions.getPredicates().get( 1 ), instanceOf( NullnessPredicate.class ) );
+
+		final String sql = SqlAstSelectInterpreter.interpret(
+				interpretation,
+				false,
+				getSessionFactory(),
+				QueryParameterBindingsImpl.from(
+						new ParameterMetadataImpl( null, null ),
+						new QueryParameterBindingTypeResolverTestingImpl( getSessionFactory() )
+				),
+				new ExecutionContextConversionTestImpl( getSessionFactory() )
+		).getSql();
+		assertThat( sql, containsString( "where (" ) );
+		assertThat( sql, containsString( ") and " ) );
+		assertThat( sql, endsWith( "is not null" ) );
+	}
+
+	@Test
+	public void testReferencedJoinsKept() {
+		QuerySpec querySpec = eliminateJoins( "select r.name from Person p left join p.role r" );
+		assertThat( querySpec.getFromClause().getTableSpaces().get( 0 ).getJoinedTableGroups().size(), is( 1 ) );
+
+		// to-many joins affect the number of rows
+		querySpec = eliminateJoins( "select p.id from Person p left join p.nicknames n" );
+		assertThat( querySpec.getFromClause().getTableSpaces().get( 0 ).getJoinedTableGroups().size(), is( 1 ) );
+	}
+
+	private QuerySpec eliminateJoins(String hql) {
+		final QuerySpec querySpec = interpretSelectQuery( hql ).getSqlSelectAst().getQuerySpec();
+		JoinEliminator.eliminateUnusedJoins( querySpec );
+		return querySpec;
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( Person.class );
+		metadataSources.addAnnotatedClass( Role.class );
+		metadataSources.addAnnotatedClass( Nickname.class );
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		Integer id;
+		String name;
+
+		@ManyToOne
+		Role role;
+
+		@OneToMany
+		Set<Nickname> nicknames = new HashSet<>();
+	}
+
+	@Entity(name = "Role")
+	public static class Role {
+		@Id
+		Integer id;
+		String name;
+	}
+
+	@Entity(name = "Nickname")
+	public static class Nickname {
+		@Id
+		Integer id;
+		String value;
+	}
+}
@@ -6,6 +6,7 @@
  */
 package org.hibernate.orm.test.sql.convert;
 
+import java.util.List;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Inheritance;
@@ -14,7 +15,10 @@ import javax.persistence.Table;
 
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.persister.common.internal.PhysicalTable;
+import org.hibernate.persister.common.spi.Attribute;
+import org.hibernate.persister.common.spi.SingularAttribute;
 import org.hibernate.persister.entity.JoinedSubclassEntityPersister;
+import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.spi.ImprovedEntityPersister;
 import org.hibernate.sql.ast.QuerySpec;
 import org.hibernate.sql.ast.from.EntityTableGroup;
@@ -22,6 +26,7 @@ import org.hibernate.sql.ast.from.TableBinding;
 import org.hibernate.sql.convert.internal.FromClauseIndex;
 import org.hibernate.sql.convert.internal.SqlAliasBaseManager;
 import org.hibernate.orm.test.sql.BaseUnitTest;
+import org.hibernate.sqm.query.JoinType;
 import org.hibernate.sqm.query.SqmSelectStatement;
 
 import org.junit.Test;
@@ -29,6 +34,8 @@ import org.junit.Test;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 /**
@@ -63,23 +70,89 @@ public class JoinedEntitySimpleTest extends BaseUnitTest {
 		assertThat( tableSpec.getTableName(), equalTo( "joined_entity_base" ) );
 		assertThat( result.getRootTableBinding().getIdentificationVariable(), equalTo( "j1" ) );
 
-		assertThat( result.getTableJoins().size(), equalTo( 2 ) );
+		// the subclass tables are only joined when referenced
+		assertThat( result.getTableJoins().size(), equalTo( 0 ) );
 
-		assertThat(
-				result.getTableJoins().get( 0 ).getJoinedTableBinding().getTable(),
-				instanceOf( PhysicalTable.class )
-		);
+		final ImprovedEntityPersister branchPersister =
+				(ImprovedEntityPersister) getConsumerContext().getDomainMetamodel().resolveEntityReference( "JoinedEntityBranch" );
+		final SingularAttribute branchAttribute = (SingularAttribute) branchPersister.findAttribute( "branchSpecificState" );
+		result.resolveColumnBinding( branchAttribute.getColumns().get( 0 ) );
+
+		assertThat( result.getTableJoins().size(), equalTo( 1 ) );
 		final TableBinding firstSubclassTableBinding = result.getTableJoins().get( 0 ).getJoinedTableBinding();
 		assertThat( firstSubclassTableBinding.getTable().getTableExpression(), equalTo( "joined_entity_branch" ) );
 		assertThat( firstSubclassTableBinding.getIdentificationVariable(), equalTo( "j1_0" ) );
+		assertThat( result.getTableJoins().get( 0 ).getJoinType(), equalTo( JoinType.LEFT ) );
+	}
+
+	@Test
+	public void testSubclassTablesJoinedForDiscriminator() {
+		SqmSelectStatement sqm = (SqmSelectStatement) interpret( "from JoinedEntityBase" );
 
+		final ImprovedEntityPersister improvedEntityPersister =
+				(ImprovedEntityPersister) getConsumerContext().getDomainMetamodel().resolveEntityReference( "JoinedEntityBase" );
+
+		final EntityTableGroup result = improvedEntityPersister.buildTableGroup(
+				sqm.getQuerySpec().getFromClause().getFromElementSpaces().get( 0 ).getRoot(),
+				new QuerySpec().getFromClause().makeTableSpace(),
+				new SqlAliasBaseManager(),
+				new FromClauseIndex()
+		);
+		assertThat( result.getTableJoins().size(), equalTo( 0 ) );
+
+		// determining the concrete type needs all of the subclass tables
+		result.resolveColumnBinding( improvedEntityPersister.getDiscriminatorDescriptor().getColumns().get( 0 ) );
+		assertThat( result.getTableJoins().size(), equalTo( 2 ) );
 		assertThat(
-				result.getTableJoins().get( 1 ).getJoinedTableBinding().getTable(),
-				instanceOf( PhysicalTable.class )
+				result.getTableJoins().get( 0 ).getJoinedTableBinding().getTable().getTableExpression(),
+				equalTo( "joined_entity_branch" )
 		);
-		final TableBinding secondSubclassTableBinding = result.getTableJoins().get( 1 ).getJoinedTableBinding();
-		assertThat( secondSubclassTableBinding.getTable().getTableExpression(), equalTo( "joined_entity_leaf" ) );
-		assertThat( secondSubclassTableBinding.getIdentificationVariable(), equalTo( "j1_1" ) );
+		assertThat(
+				result.getTableJoins().get( 1 ).getJoinedTableBinding().getTable().getTableExpression(),
+				equalTo( "joined_entity_leaf" )
+		);
+	}
+
+	@Test
+	public void testConcreteTypeResolution() {
+		final ImprovedEntityPersister basePersister =
+				(ImprovedEntityPersister) getConsumerContext().getDomainMetamodel().resolveEntityReference( "JoinedEntityBase" );
+		final ImprovedEntityPersister branchPersister =
+				(ImprovedEntityPersister) getConsumerContext().getDomainMetamodel().resolveEntityReference( "JoinedEntityBranch" );
+		final Loadable legacyBasePersister = (Loadable) basePersister.getEntityPersister();
+
+		// without an explicit discriminator the (joined) hierarchy uses the subclass ids
+		for ( int subclassId = 0; subclassId < 3; subclassId++ ) {
+			final ImprovedEntityPersister concretePersister = basePersister.resolveConcreteEntityPersister( subclassId );
+			assertThat( concretePersister, notNullValue() );
+			assertThat(
+					concretePersister.getEntityName(),
+					equalTo( legacyBasePersister.getSubclassForDiscriminatorValue( subclassId ) )
+			);
+		}
+
+		assertThat( basePersister.resolveConcreteEntityPersister( 99 ), nullValue() );
+
+		// a subtype only resolves itself and its own subtypes
+		final Integer baseValue = 0;
+		assertThat( basePersister.resolveConcreteEntityPersister( baseValue ).getEntityName(), equalTo( "JoinedEntityBase" ) );
+		assertThat( branchPersister.resolveConcreteEntityPersister( baseValue ), nullValue() );
+	}
+
+	@Test
+	public void testNonIdentifierAttributesFlattenedOnce() {
+		final ImprovedEntityPersister basePersister =
+				(ImprovedEntityPersister) getConsumerContext().getDomainMetamodel().resolveEntityReference( "JoinedEntityBase" );
+		final ImprovedEntityPersister branchPersister =
+				(ImprovedEntityPersister) getConsumerContext().getDomainMetamodel().resolveEntityReference( "JoinedEntityBranch" );
+
+		final List<Attribute> branchAttributes = branchPersister.getNonIdentifierAttributes();
+		assertThat( branchPersister.getNonIdentifierAttributes(), sameInstance( branchAttributes ) );
+
+		// the super type's attributes come first
+		final List<Attribute> baseAttributes = basePersister.getNonIdentifierAttributes();
+		assertThat( branchAttributes.subList( 0, baseAttributes.size() ), equalTo( baseAttributes ) );
+		assertThat( branchAttributes.contains( branchPersister.findAttribute( "branchSpecificState" ) ), equalTo( true ) );
 	}
 
 	@Test
@@ -110,7 +183,8 @@ public class JoinedEntitySimpleTest extends BaseUnitTest {
 		assertThat( tableBindingSpec.getTable().getTableExpression(), equalTo( "joined_entity_branch" ) );
 		assertThat( tableBindingSpec.getIdentificationVariable(), equalTo( "j1" ) );
 
-		assertThat( result.getTableJoins().size(), equalTo( 2 ) );
+		// the super-type table is always (inner) joined; the subclass table only when referenced
+		assertThat( result.getTableJoins().size(), equalTo( 1 ) );
 
 		assertThat(
 				result.getTableJoins().get( 0 ).getJoinedTableBinding().getTable(),
@@ -119,14 +193,7 @@ public class JoinedEntitySimpleTest extends BaseUnitTest {
 		final TableBinding firstSubclassTableBinding = result.getTableJoins().get( 0 ).getJoinedTableBinding();
 		assertThat( firstSubclassTableBinding.getTable().getTableExpression(), equalTo( "joined_entity_base" ) );
 		assertThat( firstSubclassTableBinding.getIdentificationVariable(), equalTo( "j1_0" ) );
-
-		assertThat(
-				result.getTableJoins().get( 1 ).getJoinedTableBinding().getTable(),
-				instanceOf( PhysicalTable.class )
-		);
-		final TableBinding secondSubclassTableBinding = result.getTableJoins().get( 1 ).getJoinedTableBinding();
-		assertThat( secondSubclassTableBinding.getTable().getTableExpression(), equalTo( "joined_entity_leaf" ) );
-		assertThat( secondSubclassTableBinding.getIdentificationVariable(), equalTo( "j1_1" ) );
+		assertThat( result.getTableJoins().get( 0 ).getJoinType(), equalTo( JoinType.INNER ) );
 	}
 
 	@Test
@@ -174,6 +241,9 @@ public class JoinedEntitySimpleTest extends BaseUnitTest {
 		final TableBinding secondSubclassTableBinding = result.getTableJoins().get( 1 ).getJoinedTableBinding();
 		assertThat( secondSubclassTableBinding.getTable().getTableExpression(), equalTo( "joined_entity_base" ) );
 		assertThat( secondSubclassTableBinding.getIdentificationVariable(), equalTo( "j1_1" ) );
+
+		assertThat( result.getTableJoins().get( 0 ).getJoinType(), equalTo( JoinType.INNER ) );
+		assertThat( result.getTableJoins().get( 1 ).getJoinType(), equalTo( JoinType.INNER ) );
 	}
 
 
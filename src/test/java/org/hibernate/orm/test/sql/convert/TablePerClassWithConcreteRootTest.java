@@ -6,7 +6,11 @@
  */
 package org.hibernate.orm.test.sql.convert;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Inheritance;
@@ -14,13 +18,21 @@ import javax.persistence.InheritanceType;
 
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.orm.test.sql.BaseUnitTest;
+import org.hibernate.orm.test.sql.support.ExecutionContextConversionTestImpl;
+import org.hibernate.orm.test.sql.support.QueryParameterBindingTypeResolverTestingImpl;
 import org.hibernate.persister.common.internal.UnionSubclassTable;
 import org.hibernate.persister.common.spi.Table;
+import org.hibernate.persister.entity.spi.ImprovedEntityPersister;
+import org.hibernate.query.proposed.internal.ParameterMetadataImpl;
+import org.hibernate.query.proposed.internal.QueryParameterBindingsImpl;
 import org.hibernate.sql.ast.QuerySpec;
 import org.hibernate.sql.ast.SelectQuery;
+import org.hibernate.sql.ast.from.EntityTableGroup;
 import org.hibernate.sql.ast.from.FromClause;
 import org.hibernate.sql.ast.from.TableBinding;
 import org.hibernate.sql.ast.from.TableSpace;
+import org.hibernate.sql.convert.spi.SqmSelectInterpretation;
+import org.hibernate.sql.exec.spi.SqlAstSelectInterpreter;
 
 import org.junit.Test;
 
@@ -28,6 +40,7 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNot.not;
 import static org.hamcrest.core.IsNull.notNullValue;
 
 /**
@@ -57,6 +70,97 @@ public class TablePerClassWithConcreteRootTest extends BaseUnitTest {
 		assertThat( tableSpace.getRootTableGroup().getTableJoins().size(), is( 0 ) );
 	}
 
+	@Test
+	public void restrictUnionToConcreteTables() {
+		final QuerySpec querySpec = getQuerySpec( "from RootEntity" );
+		final UnionSubclassTable table = (UnionSubclassTable) querySpec.getFromClause()
+				.getTableSpaces()
+				.get( 0 )
+				.getRootTableGroup()
+				.getRootTableBinding()
+				.getTable();
+
+		assertThat( table.getConcreteTableNames().size(), is( 3 ) );
+		assertThat( table.getConcreteTableNames().contains( "first_child" ), is( true ) );
+
+		// a single remaining table is referenced directly, unless the concrete type is needed
+		final Set<String> firstChild = new HashSet<>( Arrays.asList( "first_child" ) );
+		assertThat( table.getTableExpression( firstChild, false ), is( "first_child" ) );
+		assertThat( table.getTableExpression( firstChild, true ), containsString( "clazz_ from first_child" ) );
+		assertThat( table.getTableExpression( firstChild, true ), not( containsString( "union" ) ) );
+
+		final Set<String> children = new HashSet<>( Arrays.asList( "first_child", "second_child" ) );
+		final String childrenExpression = table.getTableExpression( children, false );
+		assertThat( childrenExpression, containsString( "from first_child union all" ) );
+		assertThat( childrenExpression, containsString( "from second_child" ) );
+		assertThat( childrenExpression, not( containsString( "from RootEntity" ) ) );
+
+		assertThat( table.getTableExpression( null, false ), is( table.getTableExpression() ) );
+	}
+
+	@Test
+	public void restrictUnionWithKeywordsInColumnName() {
+		final QuerySpec querySpec = getQuerySpec( "from RootEntity" );
+		final UnionSubclassTable table = (UnionSubclassTable) querySpec.getFromClause()
+				.getTableSpaces()
+				.get( 0 )
+				.getRootTableGroup()
+				.getRootTableBinding()
+				.getTable();
+
+		assertThat( table.getConcreteTableNames().size(), is( 3 ) );
+		assertThat( table.getConcreteTableNames().contains( "second_child" ), is( true ) );
+
+		final Set<String> secondChild = new HashSet<>( Arrays.asList( "second_child" ) );
+		final String secondChildExpression = table.getTableExpression( secondChild, true );
+		assertThat( secondChildExpression, containsString( "in union from" ) );
+		assertThat( secondChildExpression, containsString( "clazz_ from second_child" ) );
+		assertThat( secondChildExpression, not( containsString( "first_child" ) ) );
+
+		final Set<String> children = new HashSet<>( Arrays.asList( "first_child", "second_child" ) );
+		final String childrenExpression = table.getTableExpression( children, false );
+		assertThat( childrenExpression, containsString( "clazz_ from first_child union all select" ) );
+		assertThat( childrenExpression, containsString( "clazz_ from second_child" ) );
+	}
+
+	@Test
+	public void renderRestrictedUnion() {
+		final SqmSelectInterpretation interpretation = interpretSelectQuery( "select r.name from RootEntity r" );
+		final EntityTableGroup rootTableGroup = (EntityTableGroup) interpretation.getSqlSelectAst()
+				.getQuerySpec()
+				.getFromClause()
+				.getTableSpaces()
+				.get( 0 )
+				.getRootTableGroup();
+
+		// restricting to the root entity itself keeps all of the union
+		rootTableGroup.restrictToSubclass( resolvePersister( "RootEntity" ) );
+		assertThat( render( interpretation ), containsString( "from second_child" ) );
+
+		rootTableGroup.restrictToSubclass( resolvePersister( "FirstChild" ) );
+		final String sql = render( interpretation );
+		assertThat( sql, containsString( "from first_child as " ) );
+		assertThat( sql, not( containsString( "union" ) ) );
+		assertThat( sql, not( containsString( "second_child" ) ) );
+	}
+
+	private ImprovedEntityPersister resolvePersister(String entityName) {
+		return (ImprovedEntityPersister) getConsumerContext().getDomainMetamodel().resolveEntityReference( entityName );
+	}
+
+	private String render(SqmSelectInterpretation interpretation) {
+		return SqlAstSelectInterpreter.interpret(
+				interpretation,
+				false,
+				getSessionFactory(),
+				QueryParameterBindingsImpl.from(
+						new ParameterMetadataImpl( null, null ),
+						new QueryParameterBindingTypeResolverTestingImpl( getSessionFactory() )
+				),
+				new ExecutionContextConversionTestImpl( getSessionFactory() )
+		).getSql();
+	}
+
 	@Test
 	public void selectChild() {
 		final QuerySpec querySpec = getQuerySpec( "from FirstChild" );
@@ -102,6 +206,9 @@ public class TablePerClassWithConcreteRootTest extends BaseUnitTest {
 	@javax.persistence.Table(name = "second_child")
 	public static class SecondChild extends RootEntity {
 		public String child2;
+		// a column name which looks like part of the union query
+		@Column(name = "`in union from`")
+		public String partner;
 	}
 
 	private QuerySpec getQuerySpec(String hql) {
@@ -0,0 +1,141 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.sql.exec;
+
+import java.util.List;
+import javax.persistence.DiscriminatorColumn;
+import javax.persistence.DiscriminatorValue;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+
+import org.hibernate.Session;
+import org.hibernate.WrongClassException;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.orm.test.sql.BaseExecutionTest;
+import org.hibernate.query.proposed.internal.sqm.QuerySqmImpl;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests resolving the concrete type of each entity row (from the discriminator) when
+ * querying for the root of an inheritance hierarchy
+ *
+ * @author Steve Ebersole
+ */
+public class ConcreteEntityTypeExecutionTest extends BaseExecutionTest {
+
+	@Test
+	public void testSubclassRowLoadedAsSubclass() {
+		doInSession(
+				session -> {
+					final QuerySqmImpl<Animal> query = generateQueryImpl(
+							session,
+							"select a from Animal a order by a.id",
+							Animal.class
+					);
+
+					final List<Animal> results = query.list();
+					assertThat( results.size(), is( 2 ) );
+
+					assertThat( results.get( 0 ).getClass(), sameInstance( (Object) Animal.class ) );
+					assertThat( results.get( 0 ).name, is( "Generic" ) );
+
+					assertThat( results.get( 1 ), instanceOf( Dog.class ) );
+					final Dog dog = (Dog) results.get( 1 );
+					assertThat( dog.name, is( "Rex" ) );
+					assertThat( dog.barkVolume, is( 11 ) );
+				}
+		);
+	}
+
+	@Test
+	public void testUnknownDiscriminatorValue() {
+		Session session = getSessionFactory().openSession();
+		session.beginTransaction();
+		session.createNativeQuery( "insert into Animal (animal_type, id, name) values ('Cat', 3, 'Tom')" ).executeUpdate();
+		session.getTransaction().commit();
+		session.close();
+
+		doInSession(
+				querySession -> {
+					final QuerySqmImpl<Animal> query = generateQueryImpl(
+							querySession,
+							"select a from Animal a where a.id = 3",
+							Animal.class
+					);
+
+					try {
+						query.list();
+						fail( "Expecting a WrongClassException for the unknown discriminator value" );
+					}
+					catch (Exception e) {
+						assertThat( findWrongClassException( e ), instanceOf( WrongClassException.class ) );
+					}
+				}
+		);
+	}
+
+	private static Throwable findWrongClassException(Throwable e) {
+		Throwable cause = e;
+		while ( cause != null && !( cause instanceof WrongClassException ) ) {
+			cause = cause.getCause();
+		}
+		return cause;
+	}
+
+	@Override
+	public void before() throws Exception {
+		super.before();
+
+		final Animal animal = new Animal();
+		animal.id = 1;
+		animal.name = "Generic";
+
+		final Dog dog = new Dog();
+		dog.id = 2;
+		dog.name = "Rex";
+		dog.barkVolume = 11;
+
+		Session session = getSessionFactory().openSession();
+		session.beginTransaction();
+		session.persist( animal );
+		session.persist( dog );
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		super.applyMetadataSources( metadataSources );
+		metadataSources.addAnnotatedClass( Animal.class );
+		metadataSources.addAnnotatedClass( Dog.class );
+	}
+
+	@Entity(name = "Animal")
+	@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+	@DiscriminatorColumn(name = "animal_type")
+	@DiscriminatorValue("Animal")
+	public static class Animal {
+		@Id
+		public Integer id;
+		public String name;
+	}
+
+	@Entity(name = "Dog")
+	@DiscriminatorValue("Dog")
+	public static class Dog extends Animal {
+		public Integer barkVolume;
+	}
+}
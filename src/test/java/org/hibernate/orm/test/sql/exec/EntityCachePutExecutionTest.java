@@ -0,0 +1,97 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.sql.exec;
+
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.orm.test.sql.BaseExecutionTest;
+import org.hibernate.query.proposed.internal.sqm.QuerySqmImpl;
+import org.hibernate.testing.cache.CachingRegionFactory;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class EntityCachePutExecutionTest extends BaseExecutionTest {
+	@Override
+	protected void applySettings(StandardServiceRegistryBuilder ssrBuilder) {
+		ssrBuilder.applySetting( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		ssrBuilder.applySetting( AvailableSettings.CACHE_REGION_FACTORY, CachingRegionFactory.class.getName() );
+		ssrBuilder.applySetting( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		super.applyMetadataSources( metadataSources );
+		metadataSources.addAnnotatedClass( Person.class );
+	}
+
+	@Override
+	public void before() throws Exception {
+		super.before();
+
+		Session session = getSessionFactory().openSession();
+		session.beginTransaction();
+		session.persist( new Person( 1, "Cosmo G. Spacely" ) );
+		session.persist( new Person( 2, "George Jetson" ) );
+		session.persist( new Person( 3, "Jane Jetson" ) );
+		session.getTransaction().commit();
+		session.close();
+
+		getSessionFactory().getCache().evictEntityRegion( Person.class );
+		getSessionFactory().getStatistics().clear();
+	}
+
+	@Test
+	public void testLoadedEntitiesPutIntoCache() {
+		doInSession(
+				session -> {
+					final QuerySqmImpl<Person> query = generateQueryImpl(
+							session,
+							"select p from Person p",
+							Person.class
+					);
+
+					final List<Person> results = query.list();
+					assertThat( results.size(), is( 3 ) );
+				}
+		);
+
+		assertThat( getSessionFactory().getStatistics().getSecondLevelCachePutCount(), is( 3L ) );
+		for ( int id = 1; id <= 3; id++ ) {
+			assertThat( getSessionFactory().getCache().containsEntity( Person.class, id ), is( true ) );
+		}
+	}
+
+	@Entity(name = "Person")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Person {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Person() {
+		}
+
+		public Person(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
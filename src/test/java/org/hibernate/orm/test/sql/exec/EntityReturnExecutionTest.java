@@ -6,7 +6,9 @@
  */
 package org.hibernate.orm.test.sql.exec;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
@@ -14,6 +16,8 @@ import javax.persistence.ManyToOne;
 import org.hibernate.Hibernate;
 import org.hibernate.Session;
 import org.hibernate.boot.MetadataSources;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.Status;
 import org.hibernate.orm.test.sql.BaseExecutionTest;
 import org.hibernate.query.proposed.internal.sqm.QuerySqmImpl;
 
@@ -21,6 +25,8 @@ import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -57,6 +63,58 @@ public class EntityReturnExecutionTest extends BaseExecutionTest {
 		);
 	}
 
+	@Test
+	public void testManagedEntityNotRehydrated() {
+		doInSession(
+				session -> {
+					final Employee managed = session.get( Employee.class, 2 );
+					// a pending change, which re-hydrating the row would overwrite
+					managed.name = "Jane Jetson";
+
+					final QuerySqmImpl<Employee> query = generateQueryImpl(
+							session,
+							"select e from Employee e where e.id = :id",
+							Employee.class
+					);
+
+					query.setParameter( "id", 2 );
+					final List<Employee> results = query.list();
+
+					assertThat( results.size(), is( 1 ) );
+					assertThat( results.get( 0 ), sameInstance( managed ) );
+					assertThat( results.get( 0 ).name, is( "Jane Jetson" ) );
+				}
+		);
+	}
+
+	@Test
+	public void testStreamedEntitiesInitialized() {
+		doInSession(
+				session -> {
+					final QuerySqmImpl<Employee> query = generateQueryImpl(
+							session,
+							"select e from Employee e",
+							Employee.class
+					);
+
+					final List<Integer> ids = new ArrayList<>();
+					try ( Stream<Employee> results = query.stream() ) {
+						results.forEach(
+								employee -> {
+									// loading has completed by the time each result is handed out
+									final EntityEntry entry = session.getPersistenceContext().getEntry( employee );
+									assertThat( entry.getStatus(), is( Status.MANAGED ) );
+									assertThat( employee.name, notNullValue() );
+									ids.add( employee.id );
+								}
+						);
+					}
+
+					assertThat( ids.size(), is( 2 ) );
+				}
+		);
+	}
+
 	@Override
 	public void before() throws Exception {
 		super.before();
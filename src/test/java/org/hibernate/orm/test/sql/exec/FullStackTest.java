@@ -7,8 +7,12 @@
 package org.hibernate.orm.test.sql.exec;
 
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
 import javax.persistence.Id;
@@ -19,6 +23,7 @@ import org.hibernate.Session;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.orm.test.sql.BaseExecutionTest;
 import org.hibernate.query.proposed.internal.sqm.QuerySqmImpl;
+import org.hibernate.query.proposed.spi.CloseableIterator;
 
 import org.junit.Test;
 
@@ -224,6 +229,46 @@ public class FullStackTest extends BaseExecutionTest {
 		);
 	}
 
+	@Test
+	public void testFullStackIterate() throws SQLException {
+		doInSession(
+				session -> {
+					final QuerySqmImpl<String> query = generateQueryImpl(
+							session,
+							"select p.name from Person p where p.age >= 20 and p.age <= ?1",
+							String.class
+					);
+
+					query.setParameter( 1, 39 );
+
+					final Iterator<String> results = query.iterate();
+					assertThat( results, instanceOf( CloseableIterator.class ) );
+					assertThat( results.hasNext(), is( true ) );
+					assertThat( results.next(), is( "Steve" ) );
+					assertThat( results.hasNext(), is( false ) );
+				}
+		);
+	}
+
+	@Test
+	public void testFullStackStream() throws SQLException {
+		doInSession(
+				session -> {
+					final QuerySqmImpl<String> query = generateQueryImpl(
+							session,
+							"select p.name from Person p where p.age >= 20 and p.age <= ?1",
+							String.class
+					);
+
+					query.setParameter( 1, 39 );
+
+					try ( Stream<String> results = query.stream() ) {
+						assertThat( results.collect( Collectors.toList() ), is( Collections.singletonList( "Steve" ) ) );
+					}
+				}
+		);
+	}
+
 	@Entity(name="Person")
 	@SuppressWarnings({"WeakerAccess", "unused"})
 	public static class Person {
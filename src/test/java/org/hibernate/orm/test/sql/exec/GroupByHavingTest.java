@@ -0,0 +1,96 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.sql.exec;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.orm.test.sql.BaseUnitTest;
+import org.hibernate.orm.test.sql.support.ExecutionContextConversionTestImpl;
+import org.hibernate.orm.test.sql.support.QueryParameterBindingTypeResolverTestingImpl;
+import org.hibernate.query.proposed.internal.ParameterMetadataImpl;
+import org.hibernate.query.proposed.internal.QueryParameterBindingsImpl;
+import org.hibernate.sql.ast.QuerySpec;
+import org.hibernate.sql.convert.spi.SqmSelectInterpretation;
+import org.hibernate.sql.exec.spi.SqlAstSelectInterpreter;
+import org.hibernate.sql.exec.spi.SqlSelectInterpretation;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class GroupByHavingTest extends BaseUnitTest {
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( Person.class );
+		metadataSources.addAnnotatedClass( Role.class );
+	}
+
+	@Test
+	public void testGroupBy() {
+		final SqmSelectInterpretation interpretation = interpretSelectQuery(
+				"select p.name, count(p.id) from Person p group by p.name"
+		);
+		final QuerySpec querySpec = interpretation.getSqlSelectAst().getQuerySpec();
+		assertThat( querySpec.getGroupByExpressions().size(), is( 1 ) );
+
+		assertThat( render( interpretation ).getSql(), endsWith( " group by p1.name" ) );
+	}
+
+	@Test
+	public void testGroupByJoinedPathWithHaving() {
+		final SqmSelectInterpretation interpretation = interpretSelectQuery(
+				"select r.name, avg(p.age) from Person p join p.role r group by r.name having max(p.age) > 50"
+		);
+		final QuerySpec querySpec = interpretation.getSqlSelectAst().getQuerySpec();
+		assertThat( querySpec.getGroupByExpressions().size(), is( 1 ) );
+		assertThat( querySpec.getHavingClauseRestrictions(), notNullValue() );
+
+		final SqlSelectInterpretation sqlInterpretation = render( interpretation );
+		assertThat( sqlInterpretation.getSql(), endsWith( " group by r1.name having max(p1.age)>?" ) );
+		assertThat( sqlInterpretation.getParameterBinders().size(), is( 1 ) );
+	}
+
+	private SqlSelectInterpretation render(SqmSelectInterpretation interpretation) {
+		return SqlAstSelectInterpreter.interpret(
+				interpretation,
+				false,
+				getSessionFactory(),
+				QueryParameterBindingsImpl.from(
+						new ParameterMetadataImpl( null, null ),
+						new QueryParameterBindingTypeResolverTestingImpl( getSessionFactory() )
+				),
+				new ExecutionContextConversionTestImpl( getSessionFactory() )
+		);
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		Integer id;
+		String name;
+		int age;
+
+		@ManyToOne
+		Role role;
+	}
+
+	@Entity(name = "Role")
+	public static class Role {
+		@Id
+		Integer id;
+		String name;
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.sql.exec;
+
+import java.io.Serializable;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Session;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.orm.test.sql.BaseExecutionTest;
+import org.hibernate.orm.test.sql.support.ExecutionContextConversionTestImpl;
+import org.hibernate.orm.test.sql.support.QueryParameterBindingTypeResolverTestingImpl;
+import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.internal.ParameterMetadataImpl;
+import org.hibernate.query.proposed.internal.QueryParameterBindingsImpl;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+import org.hibernate.sql.convert.spi.SqmSelectInterpretation;
+import org.hibernate.sql.convert.spi.SqmSelectToSqlAstConverter;
+import org.hibernate.sql.exec.internal.PreparedStatementCreatorStandardImpl;
+import org.hibernate.sql.exec.internal.PreparedStatementExecutorNormalImpl;
+import org.hibernate.sql.exec.results.process.internal.JdbcValuesSourceProcessingStateStandardImpl;
+import org.hibernate.sql.exec.results.process.internal.RowProcessingStateStandardImpl;
+import org.hibernate.sql.exec.results.process.internal.values.JdbcValuesSourceResultSetImpl;
+import org.hibernate.sql.exec.results.process.spi.JdbcValuesSourceProcessingOptions;
+import org.hibernate.sql.exec.spi.SqlAstSelectInterpreter;
+import org.hibernate.sql.exec.spi.SqlSelectInterpretation;
+import org.hibernate.sqm.query.SqmSelectStatement;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the re-use of a single array for the JDBC values of every row read by
+ * {@link JdbcValuesSourceResultSetImpl}
+ *
+ * @author Steve Ebersole
+ */
+public class JdbcValuesSourceRowBufferTest extends BaseExecutionTest {
+	private static final int NUMBER_OF_ROWS = 5;
+
+	@Test
+	public void testRowValuesArrayReused() {
+		doInSession(
+				session -> {
+					final List<Object[]> rows = readRows( session, true );
+					assertThat( rows.size(), is( NUMBER_OF_ROWS ) );
+
+					// no array is allocated per row...
+					assertThat( countDistinctArrays( rows ), is( 1 ) );
+				}
+		);
+	}
+
+	@Test
+	public void testRowValuesArrayPerRowByDefault() {
+		doInSession(
+				session -> {
+					final List<Object[]> rows = readRows( session, false );
+					assertThat( rows.size(), is( NUMBER_OF_ROWS ) );
+
+					// ...unless re-use was not requested, in which case each row may be retained
+					assertThat( countDistinctArrays( rows ), is( NUMBER_OF_ROWS ) );
+					for ( int i = 0; i < NUMBER_OF_ROWS; i++ ) {
+						assertThat( rows.get( i )[0], is( "person-" + i ) );
+					}
+				}
+		);
+	}
+
+	private List<Object[]> readRows(SharedSessionContractImplementor session, boolean reuseRowValuesBuffer) {
+		final SqmSelectStatement statement = (SqmSelectStatement) interpret( "select p.name from Person p order by p.id" );
+		final QueryOptions queryOptions = queryOptions();
+		final SqmSelectInterpretation sqmInterpretation = SqmSelectToSqlAstConverter.interpret(
+				statement,
+				getSessionFactory(),
+				getConsumerContext().getDomainMetamodel(),
+				queryOptions,
+				false,
+				callBack()
+		);
+		final QueryParameterBindings parameterBindings = QueryParameterBindingsImpl.from(
+				new ParameterMetadataImpl( null, null ),
+				new QueryParameterBindingTypeResolverTestingImpl( getSessionFactory() )
+		);
+		final SqlSelectInterpretation sqlInterpretation = SqlAstSelectInterpreter.interpret(
+				sqmInterpretation,
+				false,
+				getSessionFactory(),
+				parameterBindings,
+				new ExecutionContextConversionTestImpl( getSessionFactory() )
+		);
+
+		final JdbcValuesSourceResultSetImpl jdbcValuesSource = new JdbcValuesSourceResultSetImpl(
+				session,
+				sqlInterpretation,
+				queryOptions,
+				PreparedStatementCreatorStandardImpl.INSTANCE,
+				PreparedStatementExecutorNormalImpl.INSTANCE,
+				parameterBindings,
+				sqmInterpretation.getSqlSelectAst().getQuerySpec().getSelectClause().getSqlSelections(),
+				reuseRowValuesBuffer
+		);
+		final RowProcessingStateStandardImpl rowProcessingState = new RowProcessingStateStandardImpl(
+				new JdbcValuesSourceProcessingStateStandardImpl(
+						jdbcValuesSource,
+						queryOptions,
+						new ProcessingOptionsImpl(),
+						session
+				),
+				queryOptions,
+				jdbcValuesSource,
+				sqmInterpretation.getNumberOfInitializerStates()
+		);
+
+		final List<Object[]> rows = new ArrayList<>();
+		try {
+			while ( rowProcessingState.next() ) {
+				rows.add( rowProcessingState.getJdbcValues() );
+			}
+		}
+		catch (SQLException e) {
+			throw new RuntimeException( e );
+		}
+		finally {
+			jdbcValuesSource.finishUp();
+		}
+		return rows;
+	}
+
+	private static int countDistinctArrays(List<Object[]> rows) {
+		final Set<Object[]> distinctArrays = Collections.newSetFromMap( new IdentityHashMap<>() );
+		distinctArrays.addAll( rows );
+		return distinctArrays.size();
+	}
+
+	@Override
+	public void before() throws Exception {
+		super.before();
+
+		Session session = getSessionFactory().openSession();
+		session.beginTransaction();
+		for ( int i = 0; i < NUMBER_OF_ROWS; i++ ) {
+			session.persist( new Person( i, "person-" + i ) );
+		}
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		super.applyMetadataSources( metadataSources );
+		metadataSources.addAnnotatedClass( Person.class );
+	}
+
+	private static class ProcessingOptionsImpl implements JdbcValuesSourceProcessingOptions {
+		@Override
+		public Object getEffectiveOptionalObject() {
+			return null;
+		}
+
+		@Override
+		public String getEffectiveOptionalEntityName() {
+			return null;
+		}
+
+		@Override
+		public Serializable getEffectiveOptionalId() {
+			return null;
+		}
+
+		@Override
+		public boolean shouldReturnProxies() {
+			return true;
+		}
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Person() {
+		}
+
+		public Person(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.sql.exec;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.pagination.LegacyLimitHandler;
+import org.hibernate.dialect.pagination.LimitHandler;
+import org.hibernate.orm.test.sql.BaseUnitTest;
+import org.hibernate.orm.test.sql.support.ExecutionContextConversionTestImpl;
+import org.hibernate.orm.test.sql.support.QueryParameterBindingTypeResolverTestingImpl;
+import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.internal.ParameterMetadataImpl;
+import org.hibernate.query.proposed.internal.QueryOptionsImpl;
+import org.hibernate.query.proposed.internal.QueryParameterBindingsImpl;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+import org.hibernate.sql.convert.spi.SqmSelectToSqlAstConverter;
+import org.hibernate.sql.exec.internal.SqlSelectInterpretationImpl;
+import org.hibernate.sql.exec.spi.SqlAstSelectInterpreter;
+import org.hibernate.sqm.query.SqmSelectStatement;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class LiteralLimitTest extends BaseUnitTest {
+	@Override
+	protected void applySettings(StandardServiceRegistryBuilder ssrBuilder) {
+		ssrBuilder.applySetting( AvailableSettings.DIALECT, LiteralLimitDialect.class.getName() );
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( Person.class );
+	}
+
+	@Test
+	public void testLimitRenderedAsLiterals() {
+		final QueryOptionsImpl queryOptions = new QueryOptionsImpl();
+		queryOptions.getLimit().setFirstRow( 10 );
+		queryOptions.getLimit().setMaxRows( 5 );
+
+		final SqlSelectInterpretationImpl interpretation = interpret( "select p.name from Person p", queryOptions );
+		assertThat( interpretation.getSql(), endsWith( " limit 5 offset 10" ) );
+		assertThat( interpretation.isMaxRowsAppliedInSql(), is( true ) );
+		assertThat( interpretation.isFirstRowAppliedInSql(), is( true ) );
+		assertThat( interpretation.getParameterBinders().size(), is( 0 ) );
+
+		assertThat( isCompatible( interpretation, queryOptions ), is( true ) );
+
+		// the SQL cannot be re-used for another page
+		queryOptions.getLimit().setFirstRow( 20 );
+		assertThat( isCompatible( interpretation, queryOptions ), is( false ) );
+		assertThat(
+				interpret( "select p.name from Person p", queryOptions ).getSql(),
+				endsWith( " limit 5 offset 20" )
+		);
+	}
+
+	private SqlSelectInterpretationImpl interpret(String hql, QueryOptions queryOptions) {
+		final SqmSelectStatement statement = (SqmSelectStatement) interpret( hql );
+		return (SqlSelectInterpretationImpl) SqlAstSelectInterpreter.interpret(
+				SqmSelectToSqlAstConverter.interpret(
+						statement,
+						getSessionFactory(),
+						getConsumerContext().getDomainMetamodel(),
+						queryOptions,
+						false,
+						callBack()
+				),
+				false,
+				getSessionFactory(),
+				parameterBindings(),
+				queryOptions,
+				new ExecutionContextConversionTestImpl( getSessionFactory() )
+		);
+	}
+
+	private boolean isCompatible(SqlSelectInterpretationImpl interpretation, QueryOptions queryOptions) {
+		return interpretation.isCompatibleWith(
+				parameterBindings(),
+				queryOptions,
+				getSessionFactory(),
+				new ExecutionContextConversionTestImpl( getSessionFactory() )
+		);
+	}
+
+	private QueryParameterBindings parameterBindings() {
+		return QueryParameterBindingsImpl.from(
+				new ParameterMetadataImpl( null, null ),
+				new QueryParameterBindingTypeResolverTestingImpl( getSessionFactory() )
+		);
+	}
+
+	/**
+	 * A Dialect which can limit in the database, but only using literal values
+	 */
+	public static class LiteralLimitDialect extends H2Dialect {
+		@Override
+		public LimitHandler getLimitHandler() {
+			return new LegacyLimitHandler( this );
+		}
+
+		@Override
+		public boolean supportsLimit() {
+			return true;
+		}
+
+		@Override
+		public boolean supportsLimitOffset() {
+			return true;
+		}
+
+		@Override
+		public boolean supportsVariableLimit() {
+			return false;
+		}
+
+		@Override
+		public String getLimitString(String sql, int offset, int limit) {
+			return sql + " limit " + limit + ( offset > 0 ? " offset " + offset : "" );
+		}
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		Integer id;
+		String name;
+	}
+}
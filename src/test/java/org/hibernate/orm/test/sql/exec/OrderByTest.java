@@ -0,0 +1,72 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.sql.exec;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.orm.test.sql.BaseUnitTest;
+import org.hibernate.orm.test.sql.support.ExecutionContextConversionTestImpl;
+import org.hibernate.orm.test.sql.support.QueryParameterBindingTypeResolverTestingImpl;
+import org.hibernate.query.proposed.internal.ParameterMetadataImpl;
+import org.hibernate.query.proposed.internal.QueryParameterBindingsImpl;
+import org.hibernate.sql.convert.spi.SqmSelectInterpretation;
+import org.hibernate.sql.exec.spi.SqlAstSelectInterpreter;
+import org.hibernate.sql.exec.spi.SqlSelectInterpretation;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.endsWith;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class OrderByTest extends BaseUnitTest {
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( Person.class );
+	}
+
+	@Test
+	public void testSelectedExpressionReferencedByPosition() {
+		final SqlSelectInterpretation interpretation = render(
+				interpretSelectQuery( "select p.name, p.age * p.id from Person p order by p.age * p.id desc" )
+		);
+		assertThat( interpretation.getSql(), endsWith( " order by 2 desc" ) );
+	}
+
+	@Test
+	public void testColumnReferenceRenderedAsIs() {
+		final SqlSelectInterpretation interpretation = render(
+				interpretSelectQuery( "select p.name from Person p order by p.name" )
+		);
+		assertThat( interpretation.getSql(), endsWith( " order by p1.name asc" ) );
+	}
+
+	private SqlSelectInterpretation render(SqmSelectInterpretation interpretation) {
+		return SqlAstSelectInterpreter.interpret(
+				interpretation,
+				false,
+				getSessionFactory(),
+				QueryParameterBindingsImpl.from(
+						new ParameterMetadataImpl( null, null ),
+						new QueryParameterBindingTypeResolverTestingImpl( getSessionFactory() )
+				),
+				new ExecutionContextConversionTestImpl( getSessionFactory() )
+		);
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		Integer id;
+		String name;
+		int age;
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.sql.exec;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.orm.test.sql.BaseUnitTest;
+import org.hibernate.orm.test.sql.support.ExecutionContextConversionTestImpl;
+import org.hibernate.orm.test.sql.support.QueryParameterBindingTypeResolverTestingImpl;
+import org.hibernate.query.proposed.internal.ParameterMetadataImpl;
+import org.hibernate.query.proposed.internal.QueryParameterBindingsImpl;
+import org.hibernate.sql.ast.PredicateSimplifier;
+import org.hibernate.sql.convert.spi.SqmSelectInterpretation;
+import org.hibernate.sql.convert.spi.SqmSelectToSqlAstConverter;
+import org.hibernate.sql.exec.spi.SqlAstSelectInterpreter;
+import org.hibernate.sql.exec.spi.SqlSelectInterpretation;
+import org.hibernate.sqm.query.SqmSelectStatement;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class PredicateSimplificationTest extends BaseUnitTest {
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( Person.class );
+	}
+
+	@Test
+	public void testTautologyRemoved() {
+		SqlSelectInterpretation interpretation = buildSimplifiedInterpretation( "select p.name from Person p where 1 = 1 and p.age = 20" );
+		assertThat( interpretation.getSql(), endsWith( " where p1.age=?" ) );
+		assertThat( interpretation.getParameterBinders().size(), is( 1 ) );
+
+		interpretation = buildSimplifiedInterpretation( "select p.name from Person p where 1 = 1" );
+		assertThat( interpretation.getSql(), not( containsString( " where " ) ) );
+		assertThat( interpretation.getParameterBinders().size(), is( 0 ) );
+	}
+
+	@Test
+	public void testContradictionFolded() {
+		final SqlSelectInterpretation interpretation = buildSimplifiedInterpretation(
+				"select p.name from Person p where p.age = 20 and 1 = 2"
+		);
+		assertThat( interpretation.getSql(), endsWith( " where ?=?" ) );
+	}
+
+	@Test
+	public void testNestedJunctionsFlattened() {
+		final SqlSelectInterpretation interpretation = buildSimplifiedInterpretation(
+				"select p.name from Person p where p.age = 1 or (p.age = 2 or (p.age = 3))"
+		);
+		assertThat( interpretation.getSql(), endsWith( " where p1.age=? or p1.age=? or p1.age=?" ) );
+	}
+
+	@Test
+	public void testNegationPushedInward() {
+		SqlSelectInterpretation interpretation = buildSimplifiedInterpretation(
+				"select p.name from Person p where not ( not ( p.age = 20 ) )"
+		);
+		assertThat( interpretation.getSql(), endsWith( " where p1.age=?" ) );
+
+		interpretation = buildSimplifiedInterpretation(
+				"select p.name from Person p where not ( p.age > 20 and p.name is null )"
+		);
+		assertThat( interpretation.getSql(), endsWith( " where p1.age<=? or p1.name is not null" ) );
+
+		interpretation = buildSimplifiedInterpretation(
+				"select p.name from Person p where p.id = 1 and not ( p.age > 20 and p.name is null )"
+		);
+		assertThat( interpretation.getSql(), endsWith( " where p1.id=? and (p1.age<=? or p1.name is not null)" ) );
+	}
+
+	@Test
+	public void testSingleElementInList() {
+		SqlSelectInterpretation interpretation = buildSimplifiedInterpretation(
+				"select p.name from Person p where p.age in (20)"
+		);
+		assertThat( interpretation.getSql(), endsWith( " where p1.age=?" ) );
+
+		interpretation = buildSimplifiedInterpretation(
+				"select p.name from Person p where p.age not in (20)"
+		);
+		assertThat( interpretation.getSql(), endsWith( " where p1.age<>?" ) );
+	}
+
+	private SqlSelectInterpretation buildSimplifiedInterpretation(String queryString) {
+		final SqmSelectStatement statement = (SqmSelectStatement) interpret( queryString );
+
+		final SqmSelectInterpretation interpretation = SqmSelectToSqlAstConverter.interpret(
+				statement,
+				getSessionFactory(),
+				getConsumerContext().getDomainMetamodel(),
+				queryOptions(),
+				false,
+				callBack()
+		);
+
+		PredicateSimplifier.simplifyPredicates( interpretation.getSqlSelectAst().getQuerySpec() );
+
+		return SqlAstSelectInterpreter.interpret(
+				interpretation,
+				false,
+				getSessionFactory(),
+				QueryParameterBindingsImpl.from(
+						new ParameterMetadataImpl( null, null ),
+						new QueryParameterBindingTypeResolverTestingImpl( getSessionFactory() )
+				),
+				new ExecutionContextConversionTestImpl( getSessionFactory() )
+		);
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		Integer id;
+		String name;
+		int age;
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.sql.exec;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.orm.test.sql.BaseUnitTest;
+import org.hibernate.orm.test.sql.support.ExecutionContextConversionTestImpl;
+import org.hibernate.orm.test.sql.support.QueryOptionsTestingImpl;
+import org.hibernate.orm.test.sql.support.QueryParameterBindingTypeResolverTestingImpl;
+import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.internal.ParameterMetadataImpl;
+import org.hibernate.query.proposed.internal.QueryParameterBindingsImpl;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+import org.hibernate.sql.convert.spi.SqmSelectToSqlAstConverter;
+import org.hibernate.sql.exec.internal.SqlSelectInterpretationImpl;
+import org.hibernate.sql.exec.spi.SqlAstSelectInterpreter;
+import org.hibernate.sqm.query.SqmSelectStatement;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class QueryHintsAndCommentTest extends BaseUnitTest {
+	@Override
+	protected void applySettings(StandardServiceRegistryBuilder ssrBuilder) {
+		ssrBuilder.applySetting( AvailableSettings.USE_SQL_COMMENTS, "true" );
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( Person.class );
+	}
+
+	@Test
+	public void testCommentRendered() {
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		queryOptions.setComment( "find names" );
+
+		final SqlSelectInterpretationImpl interpretation = interpret( "select p.name from Person p", queryOptions );
+		assertThat( interpretation.getSql(), startsWith( "/* find names */ select " ) );
+	}
+
+	@Test
+	public void testCommentAndHintsAffectCompatibility() {
+		final QueryOptionsTestingImpl queryOptions = new QueryOptionsTestingImpl();
+		queryOptions.setComment( "find names" );
+
+		final SqlSelectInterpretationImpl interpretation = interpret( "select p.name from Person p", queryOptions );
+		assertThat( isCompatible( interpretation, queryOptions ), is( true ) );
+
+		final QueryOptionsTestingImpl otherComment = new QueryOptionsTestingImpl();
+		otherComment.setComment( "find other names" );
+		assertThat( isCompatible( interpretation, otherComment ), is( false ) );
+
+		final QueryOptionsTestingImpl hinted = new QueryOptionsTestingImpl();
+		hinted.setComment( "find names" );
+		hinted.addDatabaseHint( "INDEX(p1 person_name_idx)" );
+		assertThat( isCompatible( interpretation, hinted ), is( false ) );
+		assertThat( isCompatible( interpret( "select p.name from Person p", hinted ), hinted ), is( true ) );
+	}
+
+	private SqlSelectInterpretationImpl interpret(String hql, QueryOptions queryOptions) {
+		final SqmSelectStatement statement = (SqmSelectStatement) interpret( hql );
+		return (SqlSelectInterpretationImpl) SqlAstSelectInterpreter.interpret(
+				SqmSelectToSqlAstConverter.interpret(
+						statement,
+						getSessionFactory(),
+						getConsumerContext().getDomainMetamodel(),
+						queryOptions,
+						false,
+						callBack()
+				),
+				false,
+				getSessionFactory(),
+				parameterBindings(),
+				queryOptions,
+				new ExecutionContextConversionTestImpl( getSessionFactory() )
+		);
+	}
+
+	private boolean isCompatible(SqlSelectInterpretationImpl interpretation, QueryOptions queryOptions) {
+		return interpretation.isCompatibleWith(
+				parameterBindings(),
+				queryOptions,
+				getSessionFactory(),
+				new ExecutionContextConversionTestImpl( getSessionFactory() )
+		);
+	}
+
+	private QueryParameterBindings parameterBindings() {
+		return QueryParameterBindingsImpl.from(
+				new ParameterMetadataImpl( null, null ),
+				new QueryParameterBindingTypeResolverTestingImpl( getSessionFactory() )
+		);
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		Integer id;
+		String name;
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.sql.exec;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.orm.test.sql.BaseUnitTest;
+import org.hibernate.orm.test.sql.support.ExecutionContextConversionTestImpl;
+import org.hibernate.orm.test.sql.support.QueryParameterBindingTypeResolverTestingImpl;
+import org.hibernate.query.proposed.internal.ParameterMetadataImpl;
+import org.hibernate.query.proposed.internal.QueryParameterBindingsImpl;
+import org.hibernate.sql.convert.spi.SqmSelectInterpretation;
+import org.hibernate.sql.convert.spi.SqmSelectToSqlAstConverter;
+import org.hibernate.sql.exec.spi.SqlAstSelectInterpreter;
+import org.hibernate.sqm.query.SqmSelectStatement;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class SortKeyResolutionTest extends BaseUnitTest {
+	private static final String QUERY = "select distinct p.name from Person p order by p.age desc";
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( Person.class );
+	}
+
+	@Test
+	public void testSortKeysNotResolvedByDefault() {
+		final SqmSelectInterpretation interpretation = interpret( false );
+
+		// selecting the sort expression would change the meaning of the distinct
+		assertThat( interpretation.getSortKeyReturns(), nullValue() );
+		assertThat( interpretation.getSqlSelectAst().getQuerySpec().getSelectClause().getSqlSelections().size(), is( 1 ) );
+		assertThat( render( interpretation ), not( containsString( "nulls" ) ) );
+	}
+
+	@Test
+	public void testSortKeysResolvedForMerging() {
+		final SqmSelectInterpretation interpretation = interpret( true );
+
+		assertThat( interpretation.getSortKeyReturns().size(), is( 1 ) );
+		assertThat( interpretation.getSqlSelectAst().getQuerySpec().getSelectClause().getSqlSelections().size(), is( 2 ) );
+
+		// nulls are ordered low, regardless of the database's default
+		assertThat( render( interpretation ), containsString( " desc nulls last" ) );
+	}
+
+	private SqmSelectInterpretation interpret(boolean resolveSortKeys) {
+		return SqmSelectToSqlAstConverter.interpret(
+				(SqmSelectStatement) interpret( QUERY ),
+				getSessionFactory(),
+				getConsumerContext().getDomainMetamodel(),
+				queryOptions(),
+				false,
+				resolveSortKeys,
+				callBack()
+		);
+	}
+
+	private String render(SqmSelectInterpretation interpretation) {
+		return SqlAstSelectInterpreter.interpret(
+				interpretation,
+				false,
+				getSessionFactory(),
+				QueryParameterBindingsImpl.from(
+						new ParameterMetadataImpl( null, null ),
+						new QueryParameterBindingTypeResolverTestingImpl( getSessionFactory() )
+				),
+				new ExecutionContextConversionTestImpl( getSessionFactory() )
+		).getSql();
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		Integer id;
+		String name;
+		Integer age;
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.sql.exec;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.orm.test.sql.BaseUnitTest;
+import org.hibernate.orm.test.sql.support.ExecutionContextConversionTestImpl;
+import org.hibernate.orm.test.sql.support.QueryParameterBindingTypeResolverTestingImpl;
+import org.hibernate.query.proposed.QueryOptions;
+import org.hibernate.query.proposed.internal.ParameterMetadataImpl;
+import org.hibernate.query.proposed.internal.QueryParameterBindingsImpl;
+import org.hibernate.query.proposed.spi.ExecutionContext;
+import org.hibernate.query.proposed.spi.QueryParameterBindings;
+import org.hibernate.sql.ast.expression.ConcatExpression;
+import org.hibernate.sql.convert.spi.SqmSelectToSqlAstConverter;
+import org.hibernate.sql.exec.internal.SqlAstSelectInterpreterFactoryResolver;
+import org.hibernate.sql.exec.spi.SqlAstSelectInterpreter;
+import org.hibernate.sql.exec.spi.SqlAstSelectInterpreterFactory;
+import org.hibernate.sql.exec.spi.SqlSelectInterpretation;
+import org.hibernate.sqm.query.SqmSelectStatement;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Steve Ebersole
+ */
+public class SqlAstSelectInterpreterFactoryTest extends BaseUnitTest {
+	@Override
+	protected void applySettings(StandardServiceRegistryBuilder ssrBuilder) {
+		ssrBuilder.applySetting( SqlAstSelectInterpreterFactory.INTERPRETER_FACTORY, AnsiConcatInterpreterFactory.class.getName() );
+	}
+
+	@Override
+	protected void applyMetadataSources(MetadataSources metadataSources) {
+		metadataSources.addAnnotatedClass( Person.class );
+	}
+
+	@Test
+	public void testConfiguredFactoryUsed() {
+		final SqmSelectStatement statement = (SqmSelectStatement) interpret( "select p.name || p.email from Person p" );
+
+		final SqlSelectInterpretation interpretation = SqlAstSelectInterpreter.interpret(
+				SqmSelectToSqlAstConverter.interpret(
+						statement,
+						getSessionFactory(),
+						getConsumerContext().getDomainMetamodel(),
+						queryOptions(),
+						false,
+						callBack()
+				),
+				false,
+				getSessionFactory(),
+				QueryParameterBindingsImpl.from(
+						new ParameterMetadataImpl( null, null ),
+						new QueryParameterBindingTypeResolverTestingImpl( getSessionFactory() )
+				),
+				new ExecutionContextConversionTestImpl( getSessionFactory() )
+		);
+
+		assertThat( interpretation.getSql(), containsString( "p1.name || p1.email" ) );
+		assertThat( interpretation.getSql(), not( containsString( "concat(" ) ) );
+	}
+
+	@Test
+	public void testFactoryResolvedOncePerSessionFactory() {
+		final SqlAstSelectInterpreterFactoryResolver resolver = getSessionFactory().getServiceRegistry()
+				.getService( SqlAstSelectInterpreterFactoryResolver.class );
+		assertThat( resolver.getSqlAstSelectInterpreterFactory(), instanceOf( AnsiConcatInterpreterFactory.class ) );
+		assertThat(
+				getSessionFactory().getServiceRegistry().getService( SqlAstSelectInterpreterFactoryResolver.class ),
+				sameInstance( resolver )
+		);
+	}
+
+	public static class AnsiConcatInterpreterFactory implements SqlAstSelectInterpreterFactory {
+		@Override
+		public SqlAstSelectInterpreter buildSelectInterpreter(
+				SessionFactoryImplementor sessionFactory,
+				QueryParameterBindings parameterBindings,
+				QueryOptions queryOptions,
+				ExecutionContext executionContext,
+				boolean shallow) {
+			return new AnsiConcatInterpreter( sessionFactory, parameterBindings, queryOptions, executionContext, shallow );
+		}
+	}
+
+	public static class AnsiConcatInterpreter extends SqlAstSelectInterpreter {
+		public AnsiConcatInterpreter(
+				SessionFactoryImplementor sessionFactory,
+				QueryParameterBindings parameterBindings,
+				QueryOptions queryOptions,
+				ExecutionContext executionContext,
+				boolean shallow) {
+			super( sessionFactory, parameterBindings, queryOptions, executionContext, shallow );
+		}
+
+		@Override
+		public void visitConcatExpression(ConcatExpression concatExpression) {
+			concatExpression.getLeftHandOperand().accept( this );
+			appendSql( " || " );
+			concatExpression.getRightHandOperand().accept( this );
+		}
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		Integer id;
+		String name;
+		String email;
+	}
+}
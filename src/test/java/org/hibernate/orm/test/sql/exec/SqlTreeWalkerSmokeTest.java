@@ -6,6 +6,7 @@
  */
 package org.hibernate.orm.test.sql.exec;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -21,16 +22,22 @@ import org.hibernate.engine.jdbc.internal.FormatStyle;
 import org.hibernate.orm.test.sql.BaseExecutionTest;
 import org.hibernate.orm.test.sql.support.ExecutionContextConversionTestImpl;
 import org.hibernate.orm.test.sql.support.QueryParameterBindingTypeResolverTestingImpl;
+import org.hibernate.query.proposed.QueryOptions;
 import org.hibernate.query.proposed.QueryParameter;
 import org.hibernate.query.proposed.internal.ParameterMetadataImpl;
+import org.hibernate.query.proposed.internal.QueryOptionsImpl;
 import org.hibernate.query.proposed.internal.QueryParameterBindingsImpl;
 import org.hibernate.query.proposed.internal.QueryParameterNamedImpl;
 import org.hibernate.query.proposed.internal.QueryParameterPositionalImpl;
 import org.hibernate.query.proposed.spi.QueryParameterBindings;
 import org.hibernate.sql.ast.expression.NamedParameter;
 import org.hibernate.sql.ast.expression.PositionalParameter;
+import org.hibernate.sql.convert.spi.ConversionHelper;
 import org.hibernate.sql.convert.spi.SqmSelectInterpretation;
 import org.hibernate.sql.convert.spi.SqmSelectToSqlAstConverter;
+import org.hibernate.sql.exec.internal.LimitOffsetParameterBinder;
+import org.hibernate.sql.exec.results.process.internal.SqlSelectionReaderImpl;
+import org.hibernate.sql.exec.results.process.spi2.SqlSelectionReader;
 import org.hibernate.sql.exec.spi.SqlAstSelectInterpreter;
 import org.hibernate.sql.exec.spi.SqlSelectInterpretation;
 import org.hibernate.sqm.query.SqmSelectStatement;
@@ -40,8 +47,10 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.endsWith;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertThat;
 
@@ -99,6 +108,28 @@ public class SqlTreeWalkerSmokeTest extends BaseExecutionTest {
 		);
 	}
 
+	private SqlSelectInterpretation buildSqlSelectInterpretation(String queryString, QueryOptions queryOptions) {
+		final SqmSelectStatement statement = (SqmSelectStatement) interpret( queryString );
+
+		SqmSelectInterpretation interpretation = SqmSelectToSqlAstConverter.interpret(
+				statement,
+				getSessionFactory(),
+				getConsumerContext().getDomainMetamodel(),
+				queryOptions,
+				false,
+				callBack()
+		);
+
+		return SqlAstSelectInterpreter.interpret(
+				interpretation,
+				false,
+				getSessionFactory(),
+				buildQueryParameterBindings( statement ),
+				queryOptions,
+				executionContext
+		);
+	}
+
 	private QueryParameterBindings buildQueryParameterBindings(SqmSelectStatement statement) {
 		return QueryParameterBindingsImpl.from(
 				buildParameterMetadata( statement ),
@@ -304,6 +335,137 @@ public class SqlTreeWalkerSmokeTest extends BaseExecutionTest {
 		}
 	}
 
+	@Test
+	public void testLimitOffsetParameters() {
+		final QueryOptionsImpl queryOptions = new QueryOptionsImpl();
+		queryOptions.getLimit().setFirstRow( 10 );
+		queryOptions.getLimit().setMaxRows( 5 );
+
+		final SqlSelectInterpretation sqlSelectInterpretation = buildSqlSelectInterpretation(
+				"select p.name from Person p where p.name = :name",
+				queryOptions
+		);
+		System.out.println( FormatStyle.BASIC.getFormatter().format( sqlSelectInterpretation.getSql() ) );
+
+		// the limit and offset are rendered as parameters (the test Dialect is H2)
+		assertThat( sqlSelectInterpretation.getSql(), endsWith( "limit ? offset ?" ) );
+		assertThat( sqlSelectInterpretation.isMaxRowsAppliedInSql(), is( true ) );
+		assertThat( sqlSelectInterpretation.isFirstRowAppliedInSql(), is( true ) );
+		assertThat( sqlSelectInterpretation.getParameterBinders().size(), is( 3 ) );
+		assertThat(
+				sqlSelectInterpretation.getParameterBinders().get( 1 ),
+				instanceOf( NamedParameter.class )
+		);
+		assertThat(
+				sqlSelectInterpretation.getParameterBinders().get( 2 ),
+				instanceOf( LimitOffsetParameterBinder.class )
+		);
+
+		// a different page of the same query produces the same SQL
+		queryOptions.getLimit().setFirstRow( 20 );
+		final SqlSelectInterpretation secondPage = buildSqlSelectInterpretation(
+				"select p.name from Person p where p.name = :name",
+				queryOptions
+		);
+		assertThat( secondPage.getSql(), is( sqlSelectInterpretation.getSql() ) );
+	}
+
+	@Test
+	public void testInListPadding() {
+		final SqmSelectStatement statement = (SqmSelectStatement) interpret( "select p.name from Person p where p.id in (:ids)" );
+		final SqmSelectInterpretation interpretation = SqmSelectToSqlAstConverter.interpret(
+				statement,
+				getSessionFactory(),
+				getConsumerContext().getDomainMetamodel(),
+				queryOptions(),
+				false,
+				callBack()
+		);
+
+		final QueryParameterBindings bindings = buildQueryParameterBindings( statement );
+		bindings.getBinding( "ids" ).setBindValues( Arrays.asList( 1, 2, 3 ) );
+
+		final SqlSelectInterpretation threeValues = SqlAstSelectInterpreter.interpret(
+				interpretation,
+				false,
+				getSessionFactory(),
+				bindings,
+				executionContext
+		);
+		System.out.println( FormatStyle.BASIC.getFormatter().format( threeValues.getSql() ) );
+
+		// 3 values are padded to a bucket of 4
+		assertThat( threeValues.getSql(), containsString( "in(?, ?, ?, ?)" ) );
+
+		bindings.getBinding( "ids" ).setBindValues( Arrays.asList( 1, 2, 3, 4 ) );
+		final SqlSelectInterpretation fourValues = SqlAstSelectInterpreter.interpret(
+				interpretation,
+				false,
+				getSessionFactory(),
+				bindings,
+				executionContext
+		);
+		assertThat( fourValues.getSql(), is( threeValues.getSql() ) );
+
+		bindings.getBinding( "ids" ).setBindValues( Arrays.asList( 1, 2, 3, 4, 5 ) );
+		final SqlSelectInterpretation fiveValues = SqlAstSelectInterpreter.interpret(
+				interpretation,
+				false,
+				getSessionFactory(),
+				bindings,
+				executionContext
+		);
+		assertThat( fiveValues.getSql(), containsString( "in(?, ?, ?, ?, ?, ?, ?, ?)" ) );
+	}
+
+	@Test
+	public void testInListPaddingCappedAtDialectLimit() {
+		// e.g. Oracle limits IN-lists to 1000 values
+		final int limit = 1000;
+
+		// below the limit the padding is unaffected
+		assertThat( ConversionHelper.padInListSize( 3, limit ), is( 4 ) );
+		assertThat( ConversionHelper.padInListSize( 512, limit ), is( 512 ) );
+
+		// near the limit the padding stops at the limit rather than the next power of 2 (1024)
+		assertThat( ConversionHelper.padInListSize( 600, limit ), is( limit ) );
+		assertThat( ConversionHelper.padInListSize( limit, limit ), is( limit ) );
+
+		// a list already exceeding the limit is not padded
+		assertThat( ConversionHelper.padInListSize( 1001, limit ), is( 1001 ) );
+
+		// no limit
+		assertThat( ConversionHelper.padInListSize( 600, 0 ), is( 1024 ) );
+	}
+
+	@Test
+	public void testSqlSelectionReadersResolved() {
+		final SqlSelectInterpretation sqlSelectInterpretation = buildSqlSelectInterpretation( "select p.id, p.name from Person p" );
+
+		// the readers are resolved when interpreting the query, not per value read
+		assertThat( sqlSelectInterpretation.getSqlSelectionReaders().size(), is( 2 ) );
+		for ( SqlSelectionReader reader : sqlSelectInterpretation.getSqlSelectionReaders() ) {
+			assertThat( reader, not( instanceOf( SqlSelectionReaderImpl.class ) ) );
+		}
+	}
+
+	@Test
+	public void testInitializerStatePositions() {
+		final SqmSelectStatement statement = (SqmSelectStatement) interpret( "select p, a from Person p join p.address a" );
+		final SqmSelectInterpretation interpretation = SqmSelectToSqlAstConverter.interpret(
+				statement,
+				getSessionFactory(),
+				getConsumerContext().getDomainMetamodel(),
+				queryOptions(),
+				false,
+				callBack()
+		);
+
+		// each entity Return is assigned its own slot for per-execution Initializer state
+		assertThat( interpretation.getQueryReturns().size(), is( 2 ) );
+		assertThat( interpretation.getNumberOfInitializerStates(), is( 2 ) );
+	}
+
 	@Entity(name="Person")
 	@SuppressWarnings({"WeakerAccess", "unused"})
 	public static class Person {
@@ -0,0 +1,205 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.proposed.internal.sqm;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.NullPrecedence;
+import org.hibernate.query.proposed.spi.CloseableIterator;
+import org.hibernate.sqm.query.order.SortOrder;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for merging ordered sub-plan results : {@link SortedMergeResultsIterator} and
+ * {@link SortKeyComparator}.  Lives in the same package as those (package-private) classes.
+ *
+ * @author Steve Ebersole
+ */
+public class SortedMergeResultsIteratorTest {
+	@Test
+	public void testMerge() {
+		final List<String> merged = merge(
+				new SortKeyComparator( Collections.singletonList( SortOrder.ASCENDING ), null ),
+				Arrays.asList( keyed( "a", 1 ), keyed( "c", 3 ), keyed( "e", 5 ) ),
+				Arrays.asList( keyed( "b", 2 ), keyed( "d", 4 ) ),
+				Collections.emptyList()
+		);
+		assertThat( merged, is( Arrays.asList( "a", "b", "c", "d", "e" ) ) );
+	}
+
+	@Test
+	public void testTiesReturnedInSubPlanOrder() {
+		final List<String> merged = merge(
+				new SortKeyComparator( Collections.singletonList( SortOrder.ASCENDING ), null ),
+				Arrays.asList( keyed( "1a", 1 ), keyed( "2a", 2 ) ),
+				Arrays.asList( keyed( "1b", 1 ), keyed( "2b", 2 ) ),
+				Arrays.asList( keyed( "1c", 1 ) )
+		);
+		assertThat( merged, is( Arrays.asList( "1a", "1b", "1c", "2a", "2b" ) ) );
+	}
+
+	@Test
+	public void testSecondarySortKey() {
+		final List<String> merged = merge(
+				new SortKeyComparator( Arrays.asList( SortOrder.ASCENDING, SortOrder.DESCENDING ), null ),
+				Arrays.asList( keyed( "x", 1, "b" ), keyed( "y", 2, "a" ) ),
+				Arrays.asList( keyed( "z", 1, "c" ) )
+		);
+		assertThat( merged, is( Arrays.asList( "z", "x", "y" ) ) );
+	}
+
+	@Test
+	public void testNullsLowByDefault() {
+		// ascending : nulls first
+		assertThat(
+				merge(
+						new SortKeyComparator( Collections.singletonList( SortOrder.ASCENDING ), NullPrecedence.NONE ),
+						Arrays.asList( keyed( "null", (Object) null ), keyed( "1", 1 ) ),
+						Arrays.asList( keyed( "0", 0 ) )
+				),
+				is( Arrays.asList( "null", "0", "1" ) )
+		);
+
+		// descending : nulls last
+		assertThat(
+				merge(
+						new SortKeyComparator( Collections.singletonList( SortOrder.DESCENDING ), null ),
+						Arrays.asList( keyed( "1", 1 ), keyed( "null", (Object) null ) ),
+						Arrays.asList( keyed( "0", 0 ) )
+				),
+				is( Arrays.asList( "1", "0", "null" ) )
+		);
+	}
+
+	@Test
+	public void testConfiguredNullPrecedence() {
+		assertThat(
+				merge(
+						new SortKeyComparator( Collections.singletonList( SortOrder.ASCENDING ), NullPrecedence.LAST ),
+						Arrays.asList( keyed( "1", 1 ), keyed( "null1", (Object) null ) ),
+						Arrays.asList( keyed( "0", 0 ), keyed( "null2", (Object) null ) )
+				),
+				is( Arrays.asList( "0", "1", "null1", "null2" ) )
+		);
+
+		assertThat(
+				merge(
+						new SortKeyComparator( Collections.singletonList( SortOrder.DESCENDING ), NullPrecedence.FIRST ),
+						Arrays.asList( keyed( "1", 1 ) ),
+						Arrays.asList( keyed( "null", (Object) null ), keyed( "0", 0 ) )
+				),
+				is( Arrays.asList( "null", "1", "0" ) )
+		);
+	}
+
+	@Test
+	public void testNumericKeysOfDifferentTypes() {
+		final List<String> merged = merge(
+				new SortKeyComparator( Collections.singletonList( SortOrder.ASCENDING ), null ),
+				Arrays.asList( keyed( "int1", 1 ), keyed( "int3", 3 ) ),
+				Arrays.asList( keyed( "long2", 2L ), keyed( "long4", 4L ) ),
+				Arrays.asList( keyed( "decimal2.5", new BigDecimal( "2.5" ) ), keyed( "double3.5", 3.5d ) )
+		);
+		assertThat( merged, is( Arrays.asList( "int1", "long2", "decimal2.5", "int3", "double3.5", "long4" ) ) );
+	}
+
+	@Test
+	public void testComparableTypes() {
+		assertTrue( SortKeyComparator.areComparable( Integer.class, Long.class ) );
+		assertTrue( SortKeyComparator.areComparable( BigDecimal.class, Double.class ) );
+		assertTrue( SortKeyComparator.areComparable( Date.class, Date.class ) );
+		assertTrue( SortKeyComparator.areComparable( Timestamp.class, Timestamp.class ) );
+		assertTrue( SortKeyComparator.areComparable( LocalDate.class, LocalDate.class ) );
+		assertThat( SortKeyComparator.areComparable( String.class, Integer.class ), is( false ) );
+		assertThat( SortKeyComparator.areComparable( byte[].class, byte[].class ), is( false ) );
+
+		// ordered by the database according to its collation, or otherwise not as in Java
+		assertThat( SortKeyComparator.areComparable( String.class, String.class ), is( false ) );
+		assertThat( SortKeyComparator.areComparable( Character.class, Character.class ), is( false ) );
+		assertThat( SortKeyComparator.areComparable( UUID.class, UUID.class ), is( false ) );
+		assertThat( SortKeyComparator.areComparable( SortOrder.class, SortOrder.class ), is( false ) );
+	}
+
+	@Test
+	public void testSubPlanResultsClosed() {
+		final ResultsStub results1 = new ResultsStub( Arrays.asList( keyed( "a", 1 ), keyed( "c", 3 ) ) );
+		final ResultsStub results2 = new ResultsStub( Arrays.asList( keyed( "b", 2 ) ) );
+		final SortedMergeResultsIterator<String> merged = new SortedMergeResultsIterator<>(
+				Arrays.asList( results1, results2 ),
+				new SortKeyComparator( Collections.singletonList( SortOrder.ASCENDING ), null )
+		);
+
+		assertThat( merged.next(), is( "a" ) );
+		assertThat( merged.next(), is( "b" ) );
+		// exhausted
+		assertThat( results2.closed, is( true ) );
+		assertThat( results1.closed, is( false ) );
+
+		merged.close();
+		assertThat( results1.closed, is( true ) );
+		assertThat( merged.hasNext(), is( false ) );
+	}
+
+	@SafeVarargs
+	private static List<String> merge(
+			SortKeyComparator comparator,
+			List<SortedMergeResultsIterator.SortKeyedResult<String>>... subPlanResults) {
+		final List<CloseableIterator<SortedMergeResultsIterator.SortKeyedResult<String>>> results = new ArrayList<>();
+		for ( List<SortedMergeResultsIterator.SortKeyedResult<String>> subPlanResult : subPlanResults ) {
+			results.add( new ResultsStub( subPlanResult ) );
+		}
+
+		final SortedMergeResultsIterator<String> merged = new SortedMergeResultsIterator<>( results, comparator );
+		final List<String> mergedResults = new ArrayList<>();
+		while ( merged.hasNext() ) {
+			mergedResults.add( merged.next() );
+		}
+		return mergedResults;
+	}
+
+	private static SortedMergeResultsIterator.SortKeyedResult<String> keyed(String result, Object... sortKeys) {
+		return new SortedMergeResultsIterator.SortKeyedResult<>( result, sortKeys );
+	}
+
+	private static class ResultsStub implements CloseableIterator<SortedMergeResultsIterator.SortKeyedResult<String>> {
+		private final Iterator<SortedMergeResultsIterator.SortKeyedResult<String>> iterator;
+		private boolean closed;
+
+		private ResultsStub(List<SortedMergeResultsIterator.SortKeyedResult<String>> results) {
+			this.iterator = results.iterator();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return iterator.hasNext();
+		}
+
+		@Override
+		public SortedMergeResultsIterator.SortKeyedResult<String> next() {
+			return iterator.next();
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+	}
+}